@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request: from process start until the readiness probe answers 200.
+#
+#   scripts/startup-benchmark.sh [-n runs] [-u url] -- <command that starts the backend>
+#
+# Examples:
+#   scripts/startup-benchmark.sh -n 5 -- java -jar target/flash-card-backend-0.0.1-SNAPSHOT.jar
+#   scripts/startup-benchmark.sh -n 5 -- docker run --rm --env-file .env -p 8081:8081 flash-card-backend
+set -euo pipefail
+
+runs=5
+url="http://localhost:8081/readyz"
+timeout_s=120
+
+while [[ $# -gt 0 ]]; do
+    case "$1" in
+        -n) runs="$2"; shift 2 ;;
+        -u) url="$2"; shift 2 ;;
+        -t) timeout_s="$2"; shift 2 ;;
+        --) shift; break ;;
+        *) echo "unknown option $1" >&2; exit 2 ;;
+    esac
+done
+if [[ $# -eq 0 ]]; then
+    echo "usage: $0 [-n runs] [-u url] [-t timeout_s] -- <command>" >&2
+    exit 2
+fi
+
+now_ms() { date +%s%3N; }
+
+results=()
+for ((i = 1; i <= runs; i++)); do
+    start=$(now_ms)
+    "$@" >/dev/null 2>&1 &
+    pid=$!
+    ready=""
+    while (( $(now_ms) - start < timeout_s * 1000 )); do
+        if curl -fs -o /dev/null "$url"; then
+            ready=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 0.05
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    if [[ -z "$ready" ]]; then
+        echo "run $i: not ready within ${timeout_s}s" >&2
+        exit 1
+    fi
+    echo "run $i: ${ready} ms"
+    results+=("$ready")
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+count=${#sorted[@]}
+echo "time-to-first-request over $count runs: min ${sorted[0]} ms, median ${sorted[$((count / 2))]} ms, max ${sorted[$((count - 1))]} ms"
@@ -0,0 +1,46 @@
+package com.flashcard.backend.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserControllerBenchmark {
+
+    @Param({ "png", "jpeg", "webp", "unknown" })
+    public String type;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = new byte[64 * 1024];
+        byte[] header = switch (type) {
+            case "png" -> new byte[] { (byte) 0x89, 'P', 'N', 'G' };
+            case "jpeg" -> new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+            case "webp" -> new byte[] { 'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P' };
+            default -> new byte[] { 'G', 'I', 'F', '8' };
+        };
+        System.arraycopy(header, 0, data, 0, header.length);
+    }
+
+    @Benchmark
+    public String sniffImageType() {
+        return UserController.sniffImageType(data);
+    }
+}
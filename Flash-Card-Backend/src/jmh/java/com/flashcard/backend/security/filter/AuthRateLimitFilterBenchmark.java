@@ -0,0 +1,63 @@
+package com.flashcard.backend.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code allow} with all threads hammering one client key (a single abusive client) and with
+ * each thread on its own key (many clients behind the same node).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class AuthRateLimitFilterBenchmark {
+
+    private AuthRateLimitFilter filter;
+    private final ConcurrentHashMap<String, AuthRateLimitFilter.WindowCounter> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger nextClient = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Client {
+        String key;
+
+        @Setup
+        public void setUp(AuthRateLimitFilterBenchmark benchmark) {
+            key = "10.0.0." + benchmark.nextClient.incrementAndGet() + "|/api/auth/signin";
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        filter = new AuthRateLimitFilter(new ApiErrorWriter(new ObjectMapper()), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public boolean sharedKey() {
+        return filter.allow(counters, "10.0.0.1|/api/auth/signin", 10);
+    }
+
+    @Benchmark
+    public boolean perThreadKey(Client client) {
+        return filter.allow(counters, client.key, 10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.flashcard.backend.security.jwt;
+
+import com.flashcard.backend.service.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-0123456789";
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String validToken;
+    private String expiredToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "alice", "alice@example.com", null, null, "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        validToken = jwtUtils.generateJwtToken(authentication);
+
+        long now = System.currentTimeMillis();
+        expiredToken = Jwts.builder()
+                .setSubject("alice")
+                .setIssuedAt(new Date(now - 7_200_000))
+                .setExpiration(new Date(now - 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public TokenCheck checkValid() {
+        return jwtUtils.checkJwtToken(validToken);
+    }
+
+    @Benchmark
+    public TokenCheck checkExpired() {
+        return jwtUtils.checkJwtToken(expiredToken);
+    }
+
+    @Benchmark
+    public TokenCheck checkMalformed() {
+        return jwtUtils.checkJwtToken("not-a-jwt");
+    }
+}
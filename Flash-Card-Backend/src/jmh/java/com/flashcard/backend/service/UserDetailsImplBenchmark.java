@@ -0,0 +1,41 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.user.Role;
+import com.flashcard.backend.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserDetailsImplBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User("alice", "alice@example.com", "$2a$10$abcdefghijklmnopqrstuv");
+        user.setId(1L);
+        user.setDisplayName("Alice");
+        user.getRoles().add(new Role(1, "ROLE_USER"));
+        user.getRoles().add(new Role(2, "ROLE_MODERATOR"));
+    }
+
+    @Benchmark
+    public UserDetailsImpl build() {
+        return UserDetailsImpl.build(user);
+    }
+}
@@ -0,0 +1,93 @@
+package com.flashcard.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds) and error counts per scenario, printed as a table and
+ * written as JSON.
+ */
+final class LoadReport {
+
+    private static final long MAX_TRACKABLE_US = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+
+    LoadReport() {
+        for (Scenario scenario : Scenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(MAX_TRACKABLE_US, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, boolean ok) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_US);
+        latencies.get(scenario).recordValue(micros);
+        if (!ok) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    Map<String, Object> summary(long elapsedMs) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Histogram all = new Histogram(MAX_TRACKABLE_US, 3);
+        long allErrors = 0;
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = latencies.get(scenario);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allErrors += errors.get(scenario).sum();
+            result.put(scenario.tag(), stats(histogram, errors.get(scenario).sum(), elapsedMs));
+        }
+        result.put("total", stats(all, allErrors, elapsedMs));
+        return result;
+    }
+
+    void print(long elapsedMs) {
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Object> entry : summary(elapsedMs).entrySet()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> s = (Map<String, Object>) entry.getValue();
+            System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    s.get("requests"), s.get("errors"), s.get("throughputPerSecond"), s.get("p50Ms"),
+                    s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs"));
+        }
+    }
+
+    void writeJson(Path file, Map<String, Object> settings, long elapsedMs) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("settings", settings);
+        document.put("elapsedMs", elapsedMs);
+        document.put("scenarios", summary(elapsedMs));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    private static Map<String, Object> stats(Histogram histogram, long errorCount, long elapsedMs) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("requests", histogram.getTotalCount());
+        s.put("errors", errorCount);
+        s.put("throughputPerSecond", histogram.getTotalCount() * 1000.0 / Math.max(elapsedMs, 1));
+        s.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        s.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+        s.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        s.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+        s.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return s;
+    }
+}
@@ -0,0 +1,327 @@
+package com.flashcard.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.FlashcardBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Self-contained load test: embedded Postgres, stub identity providers and a stub Supabase
+ * storage server on loopback, and the real application in between. Runs a closed-loop scenario
+ * mix and reports throughput and latency percentiles per scenario.
+ *
+ * <pre>
+ * mvn -Ploadtest verify -DskipTests -Dloadtest.args="--duration=60 --concurrency=64 --mix=me=80,signin=20"
+ * </pre>
+ *
+ * Options: {@code --duration} seconds (30), {@code --concurrency} (32), {@code --users} (200),
+ * {@code --mix} (signin=10,apple=5,google=5,me=65,image=15), {@code --storage} supabase|local,
+ * {@code --warmupMs} application warm-up (5000), {@code --report} JSON output path.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final Options options;
+    private final StubIdentityProvider identityProvider;
+    private final HttpClient client;
+    private final List<String> tokens = new ArrayList<>();
+
+    private LoadTest(String baseUrl, Options options, StubIdentityProvider identityProvider) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.identityProvider = identityProvider;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // devtools is on the test classpath; its restarter would relaunch the app in another thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Path storageRoot = Files.createTempDirectory("flashcard-loadtest");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             StubIdentityProvider identityProvider = new StubIdentityProvider();
+             StubSupabaseStorage supabase = new StubSupabaseStorage()) {
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("server.port", 0);
+            properties.put("spring.main.banner-mode", "off");
+            properties.put("logging.level.root", "WARN");
+            properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+            properties.put("spring.datasource.username", "postgres");
+            properties.put("spring.datasource.password", "postgres");
+            properties.put("flashcard.app.jwtSecret", randomSecret());
+            properties.put("flashcard.app.jwtExpirationMs", 3_600_000);
+            properties.put("flashcard.oauth.apple.clientId", StubIdentityProvider.APPLE_CLIENT_ID);
+            properties.put("flashcard.oauth.apple.jwksUrl", identityProvider.jwksUrl());
+            properties.put("flashcard.oauth.google.clientId", StubIdentityProvider.GOOGLE_CLIENT_ID);
+            properties.put("flashcard.oauth.google.jwksUrl", identityProvider.jwksUrl());
+            properties.put("flashcard.oauth.google.tokenUrl", identityProvider.tokenUrl());
+            properties.put("flashcard.supabase.url", supabase.baseUrl());
+            properties.put("flashcard.supabase.key", "loadtest-service-key");
+            properties.put("flashcard.storage.backend", options.storage);
+            properties.put("flashcard.storage.local.root", storageRoot.toString());
+            // Every virtual user comes from loopback; the per-IP limits would turn the test into a 429 test
+            properties.put("flashcard.security.ratelimit.signin.perMinute", Integer.MAX_VALUE);
+            properties.put("flashcard.security.ratelimit.signup.perMinute", Integer.MAX_VALUE);
+            properties.put("flashcard.warmup.durationMs", options.warmupMs);
+
+            // Passed as command-line arguments so they override application.properties
+            String[] appArgs = properties.entrySet().stream()
+                    .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                    .toArray(String[]::new);
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(FlashcardBackendApplication.class)
+                    .run(appArgs);
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                new LoadTest("http://127.0.0.1:" + port, options, identityProvider).execute();
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    private void execute() throws Exception {
+        System.out.printf("Seeding %d users%n", options.users);
+        seed();
+
+        System.out.printf("Running %s for %d s with %d concurrent clients%n",
+                options.mixSpec, options.durationSeconds, options.concurrency);
+        LoadReport report = new LoadReport();
+        long start = System.currentTimeMillis();
+        long deadline = start + options.durationSeconds * 1000L;
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < options.concurrency; i++) {
+            running.add(workers.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    Scenario scenario = options.mix.next();
+                    long begin = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = run(scenario, ThreadLocalRandom.current().nextInt(options.users));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    report.record(scenario, System.nanoTime() - begin, ok);
+                }
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        workers.shutdown();
+        long elapsed = System.currentTimeMillis() - start;
+
+        report.print(elapsed);
+        report.writeJson(Path.of(options.reportPath), options.settings(), elapsed);
+        System.out.printf("%nReport written to %s%n", options.reportPath);
+    }
+
+    private void seed() throws Exception {
+        ExecutorService seeders = Executors.newFixedThreadPool(Math.min(options.concurrency, 16));
+        List<Future<String>> signins = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            int user = i;
+            signins.add(seeders.submit(() -> seedUser(user)));
+        }
+        for (Future<String> signin : signins) {
+            tokens.add(signin.get());
+        }
+        seeders.shutdown();
+    }
+
+    private String seedUser(int user) throws IOException, InterruptedException {
+        String signup = "{\"username\":\"lt" + user + "\",\"email\":\"lt" + user + "@loadtest.invalid\",\"password\":\""
+                + password(user) + "\"}";
+        expectOk(send(post("/api/auth/signup", signup)), "signup");
+        String token = JSON.readTree(expectOk(send(post("/api/auth/signin", signinBody(user))), "signin").body())
+                .path("token").asText();
+
+        if (options.mix.includes(Scenario.IMAGE)) {
+            expectOk(send(multipartImage(token, user)), "image upload");
+        }
+        // First OAuth login creates the account; the measured run should only see returning users
+        if (options.mix.includes(Scenario.APPLE)) {
+            expectOk(send(appleLogin(user)), "apple login");
+        }
+        if (options.mix.includes(Scenario.GOOGLE)) {
+            expectOk(send(googleLogin(user)), "google login");
+        }
+        return token;
+    }
+
+    private boolean run(Scenario scenario, int user) throws IOException, InterruptedException {
+        HttpRequest request = switch (scenario) {
+            case SIGNIN -> post("/api/auth/signin", signinBody(user));
+            case APPLE -> appleLogin(user);
+            case GOOGLE -> googleLogin(user);
+            case ME -> get("/api/user/me", tokens.get(user));
+            case IMAGE -> get("/api/user/profile/image/view", tokens.get(user));
+        };
+        int status = send(request).statusCode();
+        return status >= 200 && status < 400;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static HttpResponse<byte[]> expectOk(HttpResponse<byte[]> response, String step) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException(step + " failed with " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest appleLogin(int user) {
+        try {
+            return post("/api/auth/oauth/apple",
+                    "{\"identityToken\":\"" + identityProvider.appleIdentityToken(user) + "\"}");
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not mint Apple identity token", e);
+        }
+    }
+
+    private HttpRequest googleLogin(int user) {
+        return post("/api/auth/oauth/google", "{\"code\":\"user-" + user
+                + "\",\"codeVerifier\":\"loadtest\",\"redirectUri\":\"http://127.0.0.1/callback\"}");
+    }
+
+    private HttpRequest multipartImage(String token, int user) throws IOException {
+        String boundary = "loadtest" + user;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(syntheticPng(user));
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/profile/image"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    /**
+     * PNG signature followed by filler, about the size of a small avatar. Unique per user so
+     * content deduplication does not collapse the objects.
+     */
+    private static byte[] syntheticPng(int user) {
+        byte[] data = new byte[24 * 1024];
+        new java.util.Random(user).nextBytes(data);
+        data[0] = (byte) 0x89;
+        data[1] = 'P';
+        data[2] = 'N';
+        data[3] = 'G';
+        return data;
+    }
+
+    private static String signinBody(int user) {
+        return "{\"username\":\"lt" + user + "\",\"password\":\"" + password(user) + "\"}";
+    }
+
+    private static String password(int user) {
+        return "loadtest-password-" + user;
+    }
+
+    private static String randomSecret() {
+        byte[] secret = new byte[48];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static final class Options {
+        int durationSeconds = 30;
+        int concurrency = 32;
+        int users = 200;
+        String mixSpec = "signin=10,apple=5,google=5,me=65,image=15";
+        Scenario.Mix mix;
+        String storage = "supabase";
+        long warmupMs = 5000;
+        String reportPath = "target/loadtest-report.json";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (arg.isBlank()) {
+                    continue;
+                }
+                String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                switch (kv[0]) {
+                    case "duration" -> options.durationSeconds = Integer.parseInt(kv[1]);
+                    case "concurrency" -> options.concurrency = Integer.parseInt(kv[1]);
+                    case "users" -> options.users = Integer.parseInt(kv[1]);
+                    case "mix" -> options.mixSpec = kv[1];
+                    case "storage" -> options.storage = kv[1];
+                    case "warmupMs" -> options.warmupMs = Long.parseLong(kv[1]);
+                    case "report" -> options.reportPath = kv[1];
+                    default -> throw new IllegalArgumentException("Unknown option " + kv[0]);
+                }
+            }
+            options.mix = Scenario.Mix.parse(options.mixSpec);
+            return options;
+        }
+
+        Map<String, Object> settings() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("durationSeconds", durationSeconds);
+            settings.put("concurrency", concurrency);
+            settings.put("users", users);
+            settings.put("mix", mixSpec);
+            settings.put("storage", storage);
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.flashcard.backend.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+enum Scenario {
+    SIGNIN, APPLE, GOOGLE, ME, IMAGE;
+
+    String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Weighted scenario picker parsed from {@code signin=10,apple=5,google=5,me=65,image=15}.
+     */
+    static final class Mix {
+
+        private final Scenario[] scenarios;
+        private final int[] cumulativeWeights;
+        private final int total;
+
+        private Mix(Map<Scenario, Integer> weights) {
+            scenarios = weights.keySet().toArray(new Scenario[0]);
+            cumulativeWeights = new int[scenarios.length];
+            int sum = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                sum += weights.get(scenarios[i]);
+                cumulativeWeights[i] = sum;
+            }
+            total = sum;
+        }
+
+        static Mix parse(String spec) {
+            Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Bad mix entry: " + part);
+                }
+                int weight = Integer.parseInt(kv[1].trim());
+                if (weight > 0) {
+                    weights.put(Scenario.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("Scenario mix is empty");
+            }
+            return new Mix(weights);
+        }
+
+        Scenario next() {
+            int r = ThreadLocalRandom.current().nextInt(total);
+            for (int i = 0; i < scenarios.length; i++) {
+                if (r < cumulativeWeights[i]) {
+                    return scenarios[i];
+                }
+            }
+            return scenarios[scenarios.length - 1];
+        }
+
+        boolean includes(Scenario scenario) {
+            for (Scenario s : scenarios) {
+                if (s == scenario) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
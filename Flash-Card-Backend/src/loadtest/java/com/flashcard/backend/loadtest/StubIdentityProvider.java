@@ -0,0 +1,135 @@
+package com.flashcard.backend.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for Apple and Google sign-in. Serves a JWKS for a locally generated RSA key and a
+ * Google-style token endpoint that turns an authorization code of the form {@code user-<n>} into
+ * an id token for that synthetic account. Apple identity tokens are minted directly with
+ * {@link #appleIdentityToken(int)}, the way the iOS client would receive them from Apple.
+ */
+final class StubIdentityProvider implements AutoCloseable {
+
+    static final String APPLE_ISSUER = "https://appleid.apple.com";
+    static final String GOOGLE_ISSUER = "https://accounts.google.com";
+    static final String APPLE_CLIENT_ID = "loadtest.apple.client";
+    static final String GOOGLE_CLIENT_ID = "loadtest.google.client";
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubIdentityProvider() throws IOException, JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        signer = new RSASSASigner(key);
+        byte[] jwks = new JWKSet(key.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/keys", exchange -> {
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            respond(exchange, 200, "application/json", jwks);
+        });
+        server.createContext("/token", this::handleToken);
+        server.start();
+    }
+
+    String jwksUrl() {
+        return baseUrl() + "/keys";
+    }
+
+    String tokenUrl() {
+        return baseUrl() + "/token";
+    }
+
+    String appleIdentityToken(int user) throws JOSEException {
+        return sign(APPLE_ISSUER, APPLE_CLIENT_ID, "apple-" + user, "apple-" + user + "@loadtest.invalid");
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String code = form(body).get("code");
+        if (code == null || !code.startsWith("user-")) {
+            respond(exchange, 400, "application/json", "{\"error\":\"invalid_grant\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            String user = code.substring("user-".length());
+            String idToken = sign(GOOGLE_ISSUER, GOOGLE_CLIENT_ID, "google-" + user, "google-" + user + "@loadtest.invalid");
+            String json = "{\"access_token\":\"stub\",\"token_type\":\"Bearer\",\"expires_in\":3600,\"id_token\":\""
+                    + idToken + "\"}";
+            respond(exchange, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            respond(exchange, 500, "text/plain", e.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String sign(String issuer, String audience, String subject, String email) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .audience(audience)
+                .subject(subject)
+                .claim("email", email)
+                .claim("email_verified", true)
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 600_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static Map<String, String> form(String body) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.flashcard.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.flashcard.backend.loadtest.StubIdentityProvider.respond;
+
+/**
+ * In-memory stand-in for the parts of the Supabase Storage API that SupabaseStorageService calls:
+ * upload, bulk delete, sign, download through a signed URL and the bucket lookup used by the
+ * health check.
+ */
+final class StubSupabaseStorage implements AutoCloseable {
+
+    private static final String PREFIX = "/storage/v1/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    StubSupabaseStorage() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(PREFIX.length());
+
+        if (path.startsWith("bucket/")) {
+            respond(exchange, 200, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+        } else if (path.startsWith("object/sign/") && "POST".equals(method)) {
+            String objectPath = path.substring("object/sign/".length());
+            String signed = "{\"signedURL\":\"/object/sign/" + objectPath + "?token=stub\"}";
+            respond(exchange, 200, "application/json", signed.getBytes(StandardCharsets.UTF_8));
+        } else if (path.startsWith("object/sign/") && "GET".equals(method)) {
+            byte[] data = objects.get(path.substring("object/sign/".length()));
+            if (data == null) {
+                respond(exchange, 404, "application/json", new byte[0]);
+            } else {
+                respond(exchange, 200, "application/octet-stream", data);
+            }
+        } else if (path.startsWith("object/") && "POST".equals(method)) {
+            String objectPath = path.substring("object/".length());
+            objects.put(objectPath, exchange.getRequestBody().readAllBytes());
+            respond(exchange, 200, "application/json",
+                    ("{\"Key\":\"" + objectPath + "\"}").getBytes(StandardCharsets.UTF_8));
+        } else if (path.startsWith("object/") && "DELETE".equals(method)) {
+            // Prefix list is in the body; the load test never reuses deleted objects, so just acknowledge
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 200, "application/json", "[]".getBytes(StandardCharsets.UTF_8));
+        } else {
+            respond(exchange, 404, "application/json", new byte[0]);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
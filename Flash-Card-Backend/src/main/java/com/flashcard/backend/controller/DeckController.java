@@ -0,0 +1,168 @@
+package com.flashcard.backend.controller;
+
+import com.flashcard.backend.exports.ExportFormat;
+import com.flashcard.backend.payload.request.CardBatchRequest;
+import com.flashcard.backend.payload.request.CardRequest;
+import com.flashcard.backend.payload.request.DeckRequest;
+import com.flashcard.backend.payload.response.CardResponse;
+import com.flashcard.backend.payload.response.DeckResponse;
+import com.flashcard.backend.payload.response.ImportJobResponse;
+import com.flashcard.backend.payload.response.PageResponse;
+import com.flashcard.backend.service.DeckExportService;
+import com.flashcard.backend.service.DeckImportService;
+import com.flashcard.backend.service.DeckService;
+import com.flashcard.backend.service.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/api/decks")
+public class DeckController {
+
+    @Autowired
+    DeckService deckService;
+
+    @Autowired
+    DeckImportService deckImportService;
+
+    @Autowired
+    DeckExportService deckExportService;
+
+    @GetMapping
+    @Operation(summary = "List decks", description = "Keyset paginated by id; pass nextCursor as after")
+    public PageResponse<DeckResponse> listDecks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                @RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        return deckService.listDecks(userDetails.getId(), after, limit);
+    }
+
+    @PostMapping
+    public ResponseEntity<DeckResponse> createDeck(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                   @Valid @RequestBody DeckRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(deckService.createDeck(userDetails.getId(), request));
+    }
+
+    @GetMapping("/{deckId}")
+    public DeckResponse getDeck(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId) {
+        return deckService.getDeck(userDetails.getId(), deckId);
+    }
+
+    @PutMapping("/{deckId}")
+    public DeckResponse updateDeck(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId,
+                                   @Valid @RequestBody DeckRequest request) {
+        return deckService.updateDeck(userDetails.getId(), deckId, request);
+    }
+
+    @DeleteMapping("/{deckId}")
+    public ResponseEntity<Void> deleteDeck(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                           @PathVariable Long deckId) {
+        deckService.deleteDeck(userDetails.getId(), deckId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{deckId}/cards")
+    @Operation(summary = "List cards of a deck", description = "Keyset paginated by id; pass nextCursor as after")
+    public PageResponse<CardResponse> listCards(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                @PathVariable Long deckId,
+                                                @RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        return deckService.listCards(userDetails.getId(), deckId, after, limit);
+    }
+
+    @PostMapping("/{deckId}/cards")
+    @Operation(summary = "Add cards", description = "Up to 1000 cards, inserted in JDBC batches")
+    public ResponseEntity<List<CardResponse>> addCards(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                       @PathVariable Long deckId,
+                                                       @Valid @RequestBody CardBatchRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(deckService.addCards(userDetails.getId(), deckId, request.getCards()));
+    }
+
+    @PutMapping("/{deckId}/cards/{cardId}")
+    public CardResponse updateCard(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId,
+                                   @PathVariable Long cardId, @Valid @RequestBody CardRequest request) {
+        return deckService.updateCard(userDetails.getId(), deckId, cardId, request);
+    }
+
+    @DeleteMapping("/{deckId}/cards/{cardId}")
+    public ResponseEntity<Void> deleteCard(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                           @PathVariable Long deckId, @PathVariable Long cardId) {
+        deckService.deleteCard(userDetails.getId(), deckId, cardId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/{deckId}/imports", consumes = "multipart/form-data")
+    @Operation(summary = "Import cards from a file",
+            description = "CSV, TSV or Anki plain-text export (front and back columns), imported in the background; "
+                    + "poll the returned job for progress")
+    public ResponseEntity<ImportJobResponse> importCards(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                         @PathVariable Long deckId,
+                                                         @RequestPart("file") MultipartFile file,
+                                                         @RequestParam(required = false) String format)
+            throws IOException {
+        return ResponseEntity.accepted().body(deckImportService.start(userDetails.getId(), deckId, file, format));
+    }
+
+    @GetMapping("/{deckId}/imports/{jobId}")
+    public ImportJobResponse getImport(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                       @PathVariable Long deckId, @PathVariable Long jobId) {
+        return deckImportService.getJob(userDetails.getId(), deckId, jobId);
+    }
+
+    @GetMapping("/{deckId}/export")
+    @Operation(summary = "Export a deck",
+            description = "csv (front, back; importable) or json (with schedule), streamed and gzip-encoded "
+                    + "when the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportDeck(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                            @PathVariable Long deckId,
+                                                            @RequestParam(required = false) String format,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING,
+                                                                    required = false) String acceptEncoding,
+                                                            NativeWebRequest webRequest) {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        DeckExportService.DeckExport export = deckExportService.export(userDetails.getId(), deckId, exportFormat,
+                gzip);
+        // Runs however the async response ends, also when the body never got to run
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(DeckExportService.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        export.release();
+                    }
+                });
+
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(export.fileName())) {
+            disposition.filename(export.fileName());
+        } else {
+            disposition.filename(export.fileName(), StandardCharsets.UTF_8);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(exportFormat.mediaType), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(export.body());
+    }
+}
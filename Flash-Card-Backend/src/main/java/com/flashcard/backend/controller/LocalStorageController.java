@@ -0,0 +1,50 @@
+package com.flashcard.backend.controller;
+
+import com.flashcard.backend.service.LocalStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Serves objects of the local storage backend through the signed URLs it hands out.
+ * The signature is the authorization, so this path is open in the security config.
+ */
+@RestController
+@ConditionalOnProperty(name = "flashcard.storage.backend", havingValue = "local")
+public class LocalStorageController {
+
+    @Autowired
+    LocalStorageService storageService;
+
+    @GetMapping(LocalStorageService.URL_PREFIX + "**")
+    public ResponseEntity<Void> getObject(@RequestParam("expires") long expires,
+                                          @RequestParam("sig") String signature,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) throws IOException {
+        // Decoded as a path: a literal '+' stays a '+', where URLDecoder would turn it into a space
+        String storedPath = UriUtils.decode(
+                request.getRequestURI().substring(LocalStorageService.URL_PREFIX.length()), StandardCharsets.UTF_8);
+
+        if (!storageService.verifySignature(storedPath, expires, signature)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        Path file = storageService.resolveLocalFile(storedPath);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        LocalFileWriter.write(file, "private, max-age=3600", request, response);
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.flashcard.backend.controller;
+
+import com.flashcard.backend.payload.request.ReviewRequest;
+import com.flashcard.backend.payload.response.PageResponse;
+import com.flashcard.backend.payload.response.ReviewResponse;
+import com.flashcard.backend.payload.response.SharedCardResponse;
+import com.flashcard.backend.payload.response.SharedDeckResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.service.SharedDeckService;
+import com.flashcard.backend.service.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shared")
+public class SharedDeckController {
+
+    @Autowired
+    SharedDeckService sharedDeckService;
+
+    @GetMapping("/decks")
+    @Operation(summary = "Shared deck catalogue", description = "Keyset paginated by id; pass nextCursor as after")
+    public PageResponse<SharedDeckResponse> catalogue(@RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return sharedDeckService.catalogue(after, limit);
+    }
+
+    @PutMapping("/decks/{deckId}")
+    @Operation(summary = "Share an owned deck")
+    public ResponseEntity<Void> share(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId) {
+        sharedDeckService.setShared(userDetails.getId(), deckId, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/decks/{deckId}")
+    @Operation(summary = "Stop sharing an owned deck", description = "Existing subscribers keep access")
+    public ResponseEntity<Void> unshare(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId) {
+        sharedDeckService.setShared(userDetails.getId(), deckId, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/decks/{deckId}/cards")
+    @Operation(summary = "Cards of a shared deck",
+            description = "With the caller's progress when subscribed; keyset paginated by id")
+    public PageResponse<SharedCardResponse> listCards(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                      @PathVariable Long deckId,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return sharedDeckService.listCards(userDetails.getId(), deckId, after, limit);
+    }
+
+    @PostMapping("/decks/{deckId}/subscription")
+    public SharedDeckResponse subscribe(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId) {
+        return sharedDeckService.subscribe(userDetails.getId(), deckId);
+    }
+
+    @DeleteMapping("/decks/{deckId}/subscription")
+    @Operation(summary = "Unsubscribe", description = "Also drops the caller's progress on the deck")
+    public ResponseEntity<Void> unsubscribe(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                            @PathVariable Long deckId) {
+        sharedDeckService.unsubscribe(userDetails.getId(), deckId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/subscriptions")
+    public List<SharedDeckResponse> subscriptions(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return sharedDeckService.subscriptions(userDetails.getId());
+    }
+
+    @GetMapping("/decks/{deckId}/next")
+    @Operation(summary = "Next card of a subscribed deck", description = "204 when nothing is due")
+    public ResponseEntity<StudyCardResponse> nextCard(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                      @PathVariable Long deckId) {
+        return sharedDeckService.nextCard(userDetails.getId(), deckId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/decks/{deckId}/cards/{cardId}/review")
+    public ReviewResponse review(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long deckId,
+                                 @PathVariable Long cardId, @Valid @RequestBody ReviewRequest request) {
+        return sharedDeckService.review(userDetails.getId(), deckId, cardId, request.getRating(),
+                request.getIdempotencyKey());
+    }
+}
@@ -0,0 +1,74 @@
+package com.flashcard.backend.controller;
+
+import com.flashcard.backend.payload.request.ReviewBatchRequest;
+import com.flashcard.backend.payload.request.ReviewRequest;
+import com.flashcard.backend.payload.response.ReviewBatchResponse;
+import com.flashcard.backend.payload.response.ReviewHistoryResponse;
+import com.flashcard.backend.payload.response.ReviewResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.payload.response.StudyStatsResponse;
+import com.flashcard.backend.service.StudyService;
+import com.flashcard.backend.service.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/study")
+public class StudyController {
+
+    @Autowired
+    StudyService studyService;
+
+    @GetMapping("/next")
+    @Operation(summary = "Next due card", description = "204 when nothing is due; served from memory "
+            + "unless the card's text was evicted from the content cache")
+    public ResponseEntity<StudyCardResponse> nextCard(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                      @RequestParam(required = false) Long deckId) {
+        return studyService.nextCard(userDetails.getId(), deckId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/cards/{cardId}/review")
+    public ReviewResponse review(@AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long cardId,
+                                 @Valid @RequestBody ReviewRequest request) {
+        return studyService.review(userDetails.getId(), cardId, request.getRating(), request.getIdempotencyKey());
+    }
+
+    @PostMapping("/reviews")
+    @Operation(summary = "Submit reviews recorded offline",
+            description = "Up to 1000 reviews applied in order in one transaction; retries with the same "
+                    + "idempotency keys are reported as duplicates and not applied again")
+    public ReviewBatchResponse submitReviews(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                             @Valid @RequestBody ReviewBatchRequest request) {
+        return studyService.submitReviews(userDetails.getId(), request.getReviews());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Study statistics",
+            description = "Reviews, retention, time spent and cards learned per UTC day, read from daily "
+                    + "rollups; defaults to the last 30 days, at most 366")
+    public StudyStatsResponse stats(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                    @RequestParam(required = false) Long deckId,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return studyService.stats(userDetails.getId(), deckId, from, to);
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "Recent reviews",
+            description = "Newest first, within the last days days (default 7, at most 90); at most 1000 rows")
+    public List<ReviewHistoryResponse> history(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                               @RequestParam(required = false) Integer days,
+                                               @RequestParam(required = false) Integer limit) {
+        return studyService.history(userDetails.getId(), days, limit);
+    }
+}
@@ -0,0 +1,39 @@
+package com.flashcard.backend.controller;
+
+import com.flashcard.backend.payload.request.SyncPushRequest;
+import com.flashcard.backend.payload.response.SyncChangesResponse;
+import com.flashcard.backend.payload.response.SyncPushResponse;
+import com.flashcard.backend.service.SyncService;
+import com.flashcard.backend.service.UserDetailsImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    SyncService syncService;
+
+    @GetMapping("/changes")
+    @Operation(summary = "Pull changes",
+            description = "Decks, cards and deletions with a change sequence above since, lowest first; "
+                    + "pass cursor as since until hasMore is false")
+    public SyncChangesResponse changes(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                       @RequestParam(required = false) Long since,
+                                       @RequestParam(required = false) Integer limit) {
+        return syncService.changes(userDetails.getId(), since, limit);
+    }
+
+    @PostMapping("/push")
+    @Operation(summary = "Push local changes",
+            description = "Up to 1000 operations applied in order in one transaction, with an outcome per "
+                    + "operation; creates are idempotent by clientId")
+    public SyncPushResponse push(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                 @Valid @RequestBody SyncPushRequest request) {
+        return syncService.push(userDetails.getId(), request.getOperations());
+    }
+}
@@ -4,14 +4,22 @@ import com.flashcard.backend.payload.response.JwtResponse;
 import com.flashcard.backend.service.UserDetailsImpl;
 import com.flashcard.backend.payload.request.ProfileUpdateRequest;
 import com.flashcard.backend.repository.UserRepository;
-import com.flashcard.backend.service.SupabaseStorageService;
+import com.flashcard.backend.service.ProfileService;
+import com.flashcard.backend.service.StorageCleanupService;
+import com.flashcard.backend.service.StoredBlobService;
+import com.flashcard.backend.service.StorageService;
 import com.flashcard.backend.user.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,39 +28,70 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @RestController
 @RequestMapping("/api/user")
 public class UserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     UserRepository userRepository;
 
     @Autowired
-    SupabaseStorageService storageService;
+    StorageService storageService;
+
+    @Autowired
+    StoredBlobService storedBlobService;
+
+    @Autowired
+    ProfileService profileService;
 
     @GetMapping("/me")
-    public JwtResponse getUserProfile(@AuthenticationPrincipal UserDetailsImpl userDetails,
-                                      HttpServletRequest request) {
+    public ResponseEntity<JwtResponse> getUserProfile(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                      HttpServletRequest request) {
         if (userDetails == null) {
             throw new RuntimeException("User not authenticated");
         }
 
-        User user = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+        // The principal is loaded fresh by AuthTokenFilter, so its profile version and roles answer
+        // revalidation polls without another query or serializing a body. Roles are part of the tag
+        // because they can change without a profile version bump (e.g. granted in the database), and
+        // so is the image URL, which for uploaded images is derived from the request's host.
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
+        String etag = profileEtag(userDetails.getId(), userDetails.getProfileVersion(), roles,
+                displayedImageUrl(userDetails.getImageUrl(), request));
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        User user = userRepository.findById(userDetails.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return createJwtResponse(user, roles, request);
+        return ResponseEntity.ok()
+                .eTag(profileEtag(user.getId(), user.getProfileVersion(), roles,
+                        displayedImageUrl(user.getImageUrl(), request)))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(createJwtResponse(user, roles, request));
     }
 
     @Operation(summary = "View profile image (proxy)")
     @GetMapping("/profile/image/view")
-    public ResponseEntity<byte[]> viewProfileImage(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResponseEntity<byte[]> viewProfileImage(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                   HttpServletRequest request,
+                                                   HttpServletResponse response) {
         if (userDetails == null) {
             return ResponseEntity.status(401).build();
         }
@@ -73,21 +112,26 @@ public class UserController {
         }
 
         try {
+            // Objects on this node's disk skip the byte[] copy and go out via sendfile
+            Path localFile = storageService.resolveLocalFile(storedPath);
+            if (localFile != null) {
+                LocalFileWriter.write(localFile, "public, max-age=3600", request, response);
+                return null;
+            }
+
             byte[] imageData = storageService.downloadImage(storedPath);
             if (imageData == null || imageData.length == 0) {
                 return ResponseEntity.notFound().build();
             }
 
-            String contentType = storedPath.endsWith(".jpg") || storedPath.endsWith(".jpeg")
-                    ? "image/jpeg"
-                    : storedPath.endsWith(".webp") ? "image/webp" : "image/png";
+            String contentType = LocalFileWriter.imageContentType(storedPath);
 
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(contentType))
                     .header(HttpHeaders.CACHE_CONTROL, "public, max-age=3600")
                     .body(imageData);
         } catch (Exception e) {
-            System.err.println("Error proxying image: " + e.getMessage());
+            logger.warn("Error proxying image for user {}: {}", userDetails.getId(), e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -104,21 +148,7 @@ public class UserController {
             throw new RuntimeException("User ID not found in session");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (request.getDisplayName() != null) {
-            user.setDisplayName(request.getDisplayName());
-        }
-        
-        // If image URL is updated manually, set source to MANUAL
-        if (request.getImageUrl() != null) {
-            user.setImageUrl(request.getImageUrl());
-            user.setImageSource("MANUAL");
-            user.setImageUpdatedAt(Instant.now());
-        }
-
-        userRepository.save(user);
+        User user = profileService.updateProfile(userId, request.getDisplayName(), request.getImageUrl());
 
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -140,12 +170,13 @@ public class UserController {
             throw new RuntimeException("User ID not found in session");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        byte[] imageData = file.getBytes();
+        StoredBlobService.HashedContent content = storedBlobService.readAndHash(file.getInputStream(), file.getSize());
+        byte[] imageData = content.data();
         String contentType = file.getContentType();
-        System.out.println("Received file upload: name=" + file.getOriginalFilename() + ", size=" + file.getSize() + ", contentType=" + contentType);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received profile image upload", kv("userId", userId), kv("fileName", file.getOriginalFilename()),
+                    kv("sizeBytes", file.getSize()), kv("contentType", contentType));
+        }
 
         // Reject empty files
         if (imageData.length == 0) {
@@ -155,27 +186,24 @@ public class UserController {
         // Sniff actual MIME type from magic bytes if declared type is not an image
         if (contentType == null || !contentType.startsWith("image/")) {
             contentType = sniffImageType(imageData);
-            System.out.println("Sniffed content type from magic bytes: " + contentType);
+            logger.debug("Sniffed content type from magic bytes: {}", contentType);
             if (contentType == null) {
                 throw new RuntimeException("Invalid file type. Only PNG, JPEG, and WebP images are allowed.");
             }
         }
 
+        // The previous object is released to the cleanup queue, so only the upload itself is on the request path.
+        // Re-uploading an identical image reuses the stored object and skips the upload entirely.
+        String imageUrl = null;
+        User user;
         try {
-            // Delete old image if exists (non-critical, won't block upload)
-            String oldImageUrl = user.getImageUrl();
-            if (oldImageUrl != null && !oldImageUrl.isEmpty()) {
-                storageService.deleteOldImage(oldImageUrl);
-            }
-
-            String imageUrl = storageService.uploadProfilePicture(user.getId(), imageData, contentType);
-            
-            user.setImageUrl(imageUrl);
-            user.setImageSource("MANUAL");
-            user.setImageUpdatedAt(Instant.now());
-            userRepository.save(user);
+            imageUrl = storedBlobService.acquire(userId, content, contentType);
+            user = profileService.replaceImage(userId, imageUrl);
         } catch (Exception e) {
-            System.err.println("Upload failed: " + e.getMessage());
+            logger.warn("Profile image upload failed for user {}: {}", userId, e.getMessage());
+            if (imageUrl != null) {
+                storedBlobService.release(userId, imageUrl, StorageCleanupService.REASON_UPLOAD_ABORTED);
+            }
             throw e;
         }
 
@@ -193,18 +221,14 @@ public class UserController {
     private JwtResponse createJwtResponse(User user, List<String> roles, HttpServletRequest request) {
         String imageUrl = user.getImageUrl();
 
-        if (imageUrl != null && !imageUrl.isEmpty() && !imageUrl.startsWith("http")) {
-            // Return backend-proxied URL so iOS app bypasses ATS
-            if (request != null) {
-                String baseUrl = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort();
-                imageUrl = baseUrl + "/api/user/profile/image/view";
-            } else {
-                // Fallback: try signed URL
-                try {
-                    imageUrl = storageService.getSignedUrl(imageUrl);
-                } catch (Exception e) {
-                    System.err.println("Error signing URL: " + e.getMessage());
-                }
+        if (request != null) {
+            imageUrl = displayedImageUrl(imageUrl, request);
+        } else if (imageUrl != null && !imageUrl.isEmpty() && !imageUrl.startsWith("http")) {
+            // Fallback: try signed URL
+            try {
+                imageUrl = storageService.getSignedUrl(imageUrl);
+            } catch (Exception e) {
+                logger.warn("Error signing image URL for user {}: {}", user.getId(), e.getMessage());
             }
         }
 
@@ -219,11 +243,48 @@ public class UserController {
         );
     }
 
+    static String profileEtag(Long userId, long profileVersion, List<String> roles, String imageUrl) {
+        int rolesHash = new TreeSet<>(roles).hashCode();
+        return "\"u" + userId + "-v" + profileVersion + "-r" + Integer.toHexString(rolesHash)
+                + "-i" + Integer.toHexString(Objects.hashCode(imageUrl)) + "\"";
+    }
+
+    /**
+     * The image URL a profile response shows: external URLs as stored, uploaded images through
+     * the backend proxy on the host the request came in on, so the iOS app bypasses ATS.
+     */
+    static String displayedImageUrl(String storedUrl, HttpServletRequest request) {
+        if (storedUrl == null || storedUrl.isEmpty() || storedUrl.startsWith("http")) {
+            return storedUrl;
+        }
+        String baseUrl = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort();
+        return baseUrl + "/api/user/profile/image/view";
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so a W/ prefix on the client's copy still matches.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Detect image MIME type from magic bytes.
      * Returns null if the bytes don't match a known image type.
      */
-    private String sniffImageType(byte[] data) {
+    static String sniffImageType(byte[] data) {
         if (data.length < 4) return null;
 
         // PNG: starts with 0x89 'P' 'N' 'G'
@@ -0,0 +1,102 @@
+package com.flashcard.backend.deck;
+
+import com.flashcard.backend.scheduling.ScheduleState;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A card keeps its owner next to the deck id, so per-user queries never join decks. The
+ * spaced-repetition state is read and written through {@link ScheduleState}.
+ * New cards are written by {@link com.flashcard.backend.repository.CardBatchRepository}.
+ */
+@Entity
+@Table(name = "cards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Card {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "deck_id", nullable = false)
+    private Long deckId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String front;
+
+    @Column(nullable = false)
+    private String back;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt = Instant.now();
+
+    @Column(name = "last_reviewed_at")
+    private Instant lastReviewedAt;
+
+    @Column(nullable = false)
+    private int repetitions;
+
+    @Column(nullable = false)
+    private int lapses;
+
+    @Column(name = "ease_factor", nullable = false)
+    private double easeFactor = 2.5;
+
+    @Column(name = "interval_days", nullable = false)
+    private double intervalDays;
+
+    @Column(nullable = false)
+    private double stability;
+
+    @Column(nullable = false)
+    private double difficulty;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
+    public static Card of(Long userId, Long deckId, String front, String back) {
+        Card card = new Card();
+        card.userId = userId;
+        card.deckId = deckId;
+        card.front = front;
+        card.back = back;
+        card.createdAt = Instant.now();
+        card.updatedAt = card.createdAt;
+        card.dueAt = card.createdAt;
+        card.easeFactor = 2.5;
+        return card;
+    }
+
+    public ScheduleState scheduleState() {
+        return new ScheduleState(repetitions, lapses, easeFactor, intervalDays, stability, difficulty,
+                dueAt, lastReviewedAt);
+    }
+
+    public void applySchedule(ScheduleState state) {
+        repetitions = state.repetitions();
+        lapses = state.lapses();
+        easeFactor = state.easeFactor();
+        intervalDays = state.intervalDays();
+        stability = state.stability();
+        difficulty = state.difficulty();
+        dueAt = state.dueAt();
+        lastReviewedAt = state.lastReviewedAt();
+    }
+}
@@ -0,0 +1,66 @@
+package com.flashcard.backend.deck;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A deck owned by one user. Sharing state and the content version are written only through
+ * {@link com.flashcard.backend.repository.DeckRepository} update queries, so a deck saved by its
+ * owner never overwrites a concurrent subscriber count or version bump.
+ */
+@Entity
+@Table(name = "decks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Deck {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    private String description;
+
+    @Column(name = "card_count", nullable = false)
+    private int cardCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
+    @Column(insertable = false, updatable = false)
+    private boolean shared;
+
+    @Column(name = "content_version", insertable = false, updatable = false)
+    private long contentVersion;
+
+    @Column(name = "subscriber_count", insertable = false, updatable = false)
+    private int subscriberCount;
+
+    public static Deck of(Long userId, String name, String description) {
+        Deck deck = new Deck();
+        deck.userId = userId;
+        deck.name = name;
+        deck.description = description;
+        deck.createdAt = Instant.now();
+        deck.updatedAt = deck.createdAt;
+        return deck;
+    }
+}
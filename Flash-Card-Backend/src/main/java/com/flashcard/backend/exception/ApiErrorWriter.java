@@ -0,0 +1,43 @@
+package com.flashcard.backend.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link ApiError} straight to the response from filters and security handlers,
+ * where the controller advice does not apply. Avoids {@code sendError}, which would run the
+ * request through the container's {@code /error} dispatch and the filter chain again.
+ */
+@Component
+public class ApiErrorWriter {
+
+    private final ObjectWriter writer;
+
+    public ApiErrorWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ApiError.class);
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ApiError body = new ApiError(
+                System.currentTimeMillis(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI(),
+                null);
+        byte[] json = writer.writeValueAsBytes(body);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
+}
@@ -0,0 +1,20 @@
+package com.flashcard.backend.exception;
+
+/**
+ * A bounded background resource (import workers, export streams) is full; maps to 429 with
+ * {@code Retry-After} so clients back off instead of treating it as a bad request.
+ */
+public class CapacityExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int retryAfterSeconds;
+
+    public CapacityExceededException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
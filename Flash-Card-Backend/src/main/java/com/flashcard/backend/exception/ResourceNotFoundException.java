@@ -0,0 +1,12 @@
+package com.flashcard.backend.exception;
+
+/**
+ * A resource that does not exist or is not owned by the caller; both map to 404.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
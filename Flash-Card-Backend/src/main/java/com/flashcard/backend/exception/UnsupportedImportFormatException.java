@@ -0,0 +1,13 @@
+package com.flashcard.backend.exception;
+
+/**
+ * An import file whose format cannot be used; maps to 400 with the message, which tells the
+ * client what to send instead.
+ */
+public class UnsupportedImportFormatException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedImportFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.flashcard.backend.exports;
+
+import java.io.IOException;
+
+/**
+ * Writes cards to an export stream as they are read, holding none of them.
+ */
+public interface CardExportWriter {
+
+    void write(ExportedCard card) throws IOException;
+
+    /**
+     * Close the document and flush; the underlying stream stays open.
+     */
+    void finish() throws IOException;
+}
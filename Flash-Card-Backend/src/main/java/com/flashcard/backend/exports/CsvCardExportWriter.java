@@ -0,0 +1,46 @@
+package com.flashcard.backend.exports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Front and back columns with a header row, quoted per RFC 4180, so the file imports back as is.
+ */
+class CsvCardExportWriter implements CardExportWriter {
+
+    private final Writer out;
+
+    CsvCardExportWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        this.out.write("front,back\r\n");
+    }
+
+    @Override
+    public void write(ExportedCard card) throws IOException {
+        field(card.front());
+        out.write(',');
+        field(card.back());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void field(String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
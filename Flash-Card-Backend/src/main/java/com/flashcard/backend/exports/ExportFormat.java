@@ -0,0 +1,38 @@
+package com.flashcard.backend.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.deck.Deck;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("text/csv", ".csv"), JSON("application/json", ".json");
+
+    public final String mediaType;
+    public final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat resolve(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(requested.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + requested);
+        }
+    }
+
+    public CardExportWriter open(OutputStream out, Deck deck, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvCardExportWriter(out);
+            case JSON -> new JsonCardExportWriter(out, deck, objectMapper);
+        };
+    }
+}
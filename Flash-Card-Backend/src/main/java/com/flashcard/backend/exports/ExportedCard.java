@@ -0,0 +1,10 @@
+package com.flashcard.backend.exports;
+
+import java.time.Instant;
+
+/**
+ * One card as written to an export, read straight off the result set.
+ */
+public record ExportedCard(Long id, String front, String back, Instant createdAt, Instant dueAt, int repetitions,
+                           int lapses, double intervalDays) {
+}
@@ -0,0 +1,49 @@
+package com.flashcard.backend.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.deck.Deck;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@code {"deck": {...}, "cards": [...]}} written with a streaming generator, cards including
+ * their schedule.
+ */
+class JsonCardExportWriter implements CardExportWriter {
+
+    private final JsonGenerator json;
+
+    JsonCardExportWriter(OutputStream out, Deck deck, ObjectMapper objectMapper) throws IOException {
+        json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeObjectFieldStart("deck");
+        json.writeStringField("name", deck.getName());
+        json.writeStringField("description", deck.getDescription());
+        json.writeEndObject();
+        json.writeArrayFieldStart("cards");
+    }
+
+    @Override
+    public void write(ExportedCard card) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", card.id());
+        json.writeStringField("front", card.front());
+        json.writeStringField("back", card.back());
+        json.writeStringField("createdAt", card.createdAt().toString());
+        json.writeStringField("dueAt", card.dueAt().toString());
+        json.writeNumberField("repetitions", card.repetitions());
+        json.writeNumberField("lapses", card.lapses());
+        json.writeNumberField("intervalDays", card.intervalDays());
+        json.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.flashcard.backend.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reuses the last result of an indicator for a short interval, so frequent probes from the
+ * orchestrator do not each take a pool connection or make a network call.
+ */
+public class CachingHealthIndicator implements HealthIndicator {
+
+    private final HealthIndicator delegate;
+    private final long ttlMs;
+
+    private volatile CachedHealth cached;
+
+    public CachingHealthIndicator(HealthIndicator delegate, long ttlMs) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+    }
+
+    @Override
+    public Health health() {
+        CachedHealth current = cached;
+        if (current != null && current.expiresAtEpochMs > System.currentTimeMillis()) {
+            return current.health;
+        }
+        synchronized (this) {
+            current = cached;
+            if (current != null && current.expiresAtEpochMs > System.currentTimeMillis()) {
+                return current.health;
+            }
+            Health health = delegate.health();
+            cached = new CachedHealth(health, System.currentTimeMillis() + ttlMs);
+            return health;
+        }
+    }
+
+    private record CachedHealth(Health health, long expiresAtEpochMs) {
+    }
+}
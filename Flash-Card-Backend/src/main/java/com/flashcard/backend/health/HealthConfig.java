@@ -0,0 +1,47 @@
+package com.flashcard.backend.health;
+
+import com.flashcard.backend.security.oauth.JwksJwtVerifier;
+import com.flashcard.backend.service.StorageService;
+import com.flashcard.backend.warmup.WarmupRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Health indicators behind the readiness probe ({@code /readyz}, or {@code /actuator/health/readiness}
+ * on the management port). Checks that touch the database or the network are cached for
+ * {@code flashcard.health.cacheMs}.
+ */
+@Configuration
+public class HealthConfig {
+
+    @Value("${flashcard.health.cacheMs:5000}")
+    private long cacheMs;
+
+    /**
+     * Replaces Boot's own {@code db} indicator, which runs a validation query on every probe.
+     */
+    @Bean
+    public HealthIndicator dbHealthIndicator(DataSource dataSource) {
+        return new CachingHealthIndicator(new DataSourceHealthIndicator(dataSource), cacheMs);
+    }
+
+    @Bean
+    public HealthIndicator storageHealthIndicator(StorageService storageService) {
+        return new CachingHealthIndicator(new StorageHealthIndicator(storageService), cacheMs);
+    }
+
+    @Bean
+    public HealthIndicator jwksHealthIndicator(JwksJwtVerifier jwksJwtVerifier) {
+        return new JwksHealthIndicator(jwksJwtVerifier);
+    }
+
+    @Bean
+    public HealthIndicator warmupHealthIndicator(WarmupRunner warmupRunner) {
+        return new WarmupHealthIndicator(warmupRunner);
+    }
+}
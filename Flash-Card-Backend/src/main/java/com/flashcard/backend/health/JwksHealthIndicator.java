@@ -0,0 +1,31 @@
+package com.flashcard.backend.health;
+
+import com.flashcard.backend.security.oauth.JwksJwtVerifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.Map;
+
+/**
+ * Out of service while the startup JWKS prefetch is running. A provider whose keys could not be
+ * fetched reports UNKNOWN rather than DOWN: password sign-in still works and the keys are
+ * fetched again on the first OAuth request.
+ */
+public class JwksHealthIndicator implements HealthIndicator {
+
+    private final JwksJwtVerifier jwksJwtVerifier;
+
+    public JwksHealthIndicator(JwksJwtVerifier jwksJwtVerifier) {
+        this.jwksJwtVerifier = jwksJwtVerifier;
+    }
+
+    @Override
+    public Health health() {
+        if (!jwksJwtVerifier.isPrefetchDone()) {
+            return Health.outOfService().withDetail("prefetch", "in progress").build();
+        }
+        Map<String, Boolean> warm = jwksJwtVerifier.warmState();
+        Health.Builder builder = warm.containsValue(false) ? Health.unknown() : Health.up();
+        return builder.withDetail("warm", warm).build();
+    }
+}
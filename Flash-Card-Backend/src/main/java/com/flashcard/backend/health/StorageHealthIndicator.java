@@ -0,0 +1,21 @@
+package com.flashcard.backend.health;
+
+import com.flashcard.backend.service.StorageService;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+public class StorageHealthIndicator extends AbstractHealthIndicator {
+
+    private final StorageService storageService;
+
+    public StorageHealthIndicator(StorageService storageService) {
+        super("Storage health check failed");
+        this.storageService = storageService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        storageService.checkReachable();
+        builder.up();
+    }
+}
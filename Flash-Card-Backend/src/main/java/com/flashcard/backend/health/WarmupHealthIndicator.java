@@ -0,0 +1,33 @@
+package com.flashcard.backend.health;
+
+import com.flashcard.backend.warmup.WarmupRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reports warm-up progress. Readiness itself is held back by the runner; this only makes the
+ * progress visible on {@code /actuator/health}.
+ */
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupHealthIndicator(WarmupRunner warmupRunner) {
+        this.warmupRunner = warmupRunner;
+    }
+
+    @Override
+    public Health health() {
+        WarmupRunner.Progress progress = warmupRunner.progress();
+        Health.Builder builder = switch (progress.state()) {
+            case PENDING, RUNNING -> Health.outOfService();
+            case DONE, DISABLED -> Health.up();
+        };
+        return builder
+                .withDetail("state", progress.state())
+                .withDetail("iterations", progress.iterations())
+                .withDetail("elapsedMs", progress.elapsedMs())
+                .withDetail("durationMs", progress.durationMs())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.flashcard.backend.imports;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads cards from an import file one row at a time. The first two content columns are front
+ * and back; a CSV/TSV header row naming them is skipped, and for Anki exports the columns its
+ * headers mark as guid, notetype, deck or tags are left out.
+ */
+public class CardFileReader implements Closeable {
+
+    /**
+     * One character past the card limit, so oversized fields still fail validation.
+     */
+    public static final int MAX_FIELD_CHARS = 10_001;
+
+    private static final int MAX_FIELDS = 64;
+
+    private final BufferedReader in;
+    private final DelimitedReader rows;
+    private final Set<Integer> skippedColumns;
+    private boolean first = true;
+
+    private CardFileReader(BufferedReader in, char separator, Set<Integer> skippedColumns, int firstLine) {
+        this.in = in;
+        this.rows = new DelimitedReader(in, separator, MAX_FIELD_CHARS, MAX_FIELDS, firstLine);
+        this.skippedColumns = skippedColumns;
+    }
+
+    public static CardFileReader open(InputStream stream, ImportFormat format) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        in.mark(1);
+        if (in.read() != '\uFEFF') {
+            in.reset();
+        }
+
+        char separator = format.separator;
+        Set<Integer> skipped = new HashSet<>();
+        int line = 1;
+        if (format == ImportFormat.ANKI) {
+            while (true) {
+                in.mark(8192);
+                String header = in.readLine();
+                if (header == null || !header.startsWith("#") || header.indexOf(':') < 0) {
+                    in.reset();
+                    break;
+                }
+                line++;
+                int colon = header.indexOf(':');
+                String key = header.substring(1, colon).trim().toLowerCase(Locale.ROOT);
+                String value = header.substring(colon + 1).trim();
+                if (key.equals("separator")) {
+                    separator = ankiSeparator(value);
+                } else if (key.endsWith(" column") && !value.isEmpty()) {
+                    // guid, notetype, deck and tags columns, 1-based
+                    try {
+                        skipped.add(Integer.parseInt(value) - 1);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Bad Anki header: " + header);
+                    }
+                }
+            }
+        }
+        return new CardFileReader(in, separator, skipped, line);
+    }
+
+    /**
+     * The next non-blank row, or null at the end of the file.
+     */
+    public CardRow next() throws IOException {
+        DelimitedReader.Row row;
+        do {
+            row = rows.next();
+            if (row == null) {
+                return null;
+            }
+        } while (row.isBlank());
+
+        String front = null;
+        String back = null;
+        List<String> fields = row.fields();
+        for (int i = 0; i < fields.size() && back == null; i++) {
+            if (skippedColumns.contains(i)) {
+                continue;
+            }
+            if (front == null) {
+                front = fields.get(i);
+            } else {
+                back = fields.get(i);
+            }
+        }
+
+        boolean header = first && front != null && back != null
+                && front.trim().equalsIgnoreCase("front") && back.trim().equalsIgnoreCase("back");
+        first = false;
+        if (header) {
+            return next();
+        }
+        return new CardRow(row.line(), front, back);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static char ankiSeparator(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "tab" -> '\t';
+            case "comma" -> ',';
+            case "semicolon" -> ';';
+            case "space" -> ' ';
+            case "pipe" -> '|';
+            case "colon" -> ':';
+            default -> {
+                if (value.length() != 1) {
+                    throw new IllegalArgumentException("Unsupported Anki separator: " + value);
+                }
+                yield value.charAt(0);
+            }
+        };
+    }
+
+    /**
+     * A row of the file; {@code back} is null when the row has fewer than two content columns.
+     */
+    public record CardRow(int line, String front, String back) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.flashcard.backend.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for delimited text with RFC 4180 quoting: a quoted field may contain
+ * separators, line breaks and doubled quotes. Only the current record is held, and fields and
+ * field counts are capped, so a malformed file cannot grow the heap.
+ */
+public class DelimitedReader {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final char separator;
+    private final int maxFieldChars;
+    private final int maxFields;
+
+    private int line;
+    private int pushedBack = NONE;
+
+    public DelimitedReader(Reader in, char separator, int maxFieldChars, int maxFields, int firstLine) {
+        this.in = in;
+        this.separator = separator;
+        this.maxFieldChars = maxFieldChars;
+        this.maxFields = maxFields;
+        this.line = firstLine;
+    }
+
+    /**
+     * The next record, or null at the end of the input. Fields past the caps are cut.
+     */
+    public Row next() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+
+        int start = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (c != EOF) {
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(field, (char) c);
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == separator) {
+                addField(fields, field);
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                line++;
+                break;
+            } else {
+                append(field, (char) c);
+            }
+            c = read();
+        }
+        addField(fields, field);
+        return new Row(start, fields);
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() < maxFieldChars) {
+            field.append(c);
+        }
+    }
+
+    private void addField(List<String> fields, StringBuilder field) {
+        if (fields.size() < maxFields) {
+            fields.add(field.toString());
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+
+    public record Row(int line, List<String> fields) {
+        public boolean isBlank() {
+            return fields.size() == 1 && fields.get(0).isBlank();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.flashcard.backend.imports;
+
+import com.flashcard.backend.exception.UnsupportedImportFormatException;
+
+import java.util.Locale;
+
+/**
+ * Accepted import files. {@code ANKI} is Anki's "Notes in Plain Text" export: tab separated,
+ * with optional {@code #key:value} header lines describing the separator and extra columns.
+ */
+public enum ImportFormat {
+    CSV(','), TSV('\t'), ANKI('\t');
+
+    final char separator;
+
+    ImportFormat(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * The requested format, or one inferred from the file name.
+     */
+    public static ImportFormat resolve(String requested, String fileName) {
+        if (requested != null && !requested.isBlank()) {
+            try {
+                return valueOf(requested.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedImportFormatException("Unknown import format: " + requested);
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".tsv") || name.endsWith(".tab")) {
+            return TSV;
+        }
+        if (name.endsWith(".txt")) {
+            return ANKI;
+        }
+        if (name.endsWith(".apkg") || name.endsWith(".colpkg")) {
+            throw new UnsupportedImportFormatException(
+                    "Anki packages are not supported; export the deck as Notes in Plain Text (.txt)");
+        }
+        throw new UnsupportedImportFormatException("Cannot tell the import format from the file name; pass format");
+    }
+}
@@ -0,0 +1,85 @@
+package com.flashcard.backend.imports;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deck_id", nullable = false)
+    private Long deckId;
+
+    @Column(nullable = false, length = 10)
+    private String format;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(nullable = false, length = 10)
+    private String status;
+
+    @Column(name = "bytes_total", nullable = false)
+    private long bytesTotal;
+
+    @Column(name = "bytes_read", nullable = false)
+    private long bytesRead;
+
+    @Column(name = "rows_read", nullable = false)
+    private int rowsRead;
+
+    @Column(name = "cards_imported", nullable = false)
+    private int cardsImported;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private int rowsRejected;
+
+    /**
+     * The first few rejected rows with their reason, one per line.
+     */
+    @Column
+    private String rejections;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public static ImportJob of(Long userId, Long deckId, ImportFormat format, String fileName, long bytesTotal) {
+        ImportJob job = new ImportJob();
+        job.userId = userId;
+        job.deckId = deckId;
+        job.format = format.name();
+        job.fileName = fileName;
+        job.status = QUEUED;
+        job.bytesTotal = bytesTotal;
+        job.createdAt = Instant.now();
+        job.updatedAt = job.createdAt;
+        return job;
+    }
+}
@@ -0,0 +1,22 @@
+package com.flashcard.backend.payload.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CardRequest {
+    @NotNull
+    @Size(max = 10000)
+    private String front;
+
+    @NotNull
+    @Size(max = 10000)
+    private String back;
+
+    /**
+     * Id the device gave this object when it was created offline; a repeat is rejected.
+     */
+    @Size(max = 64)
+    private String clientId;
+}
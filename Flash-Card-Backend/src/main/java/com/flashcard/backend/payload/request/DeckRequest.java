@@ -0,0 +1,21 @@
+package com.flashcard.backend.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class DeckRequest {
+    @NotBlank
+    @Size(max = 200)
+    private String name;
+
+    @Size(max = 2000)
+    private String description;
+
+    /**
+     * Id the device gave this object when it was created offline; a repeat is rejected.
+     */
+    @Size(max = 64)
+    private String clientId;
+}
@@ -0,0 +1,31 @@
+package com.flashcard.backend.payload.request;
+
+import com.flashcard.backend.scheduling.Rating;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class ReviewEvent {
+    @NotBlank
+    @Size(max = 64)
+    private String idempotencyKey;
+
+    @NotNull
+    private Long cardId;
+
+    @NotNull
+    private Rating rating;
+
+    /**
+     * When the review happened on the device; defaults to the time the batch arrives.
+     */
+    private Instant reviewedAt;
+
+    @PositiveOrZero
+    private Integer durationMs;
+}
@@ -0,0 +1,18 @@
+package com.flashcard.backend.payload.request;
+
+import com.flashcard.backend.scheduling.Rating;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReviewRequest {
+    @NotNull
+    private Rating rating;
+
+    /**
+     * Optional; a retry with the same key is applied once.
+     */
+    @Size(max = 64)
+    private String idempotencyKey;
+}
@@ -0,0 +1,45 @@
+package com.flashcard.backend.payload.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * One local change. Creates carry the device's {@code clientId}; cards created in the same push
+ * as their deck reference it through {@code deckClientId}. Updates and deletes name the server
+ * {@code id} and may send the {@code baseSeq} the device last saw, so edits made on top of an
+ * older version are reported as conflicts instead of overwriting newer server state.
+ */
+@Data
+public class SyncOperation {
+    public enum Type {
+        CREATE_DECK, UPDATE_DECK, DELETE_DECK, CREATE_CARD, UPDATE_CARD, DELETE_CARD
+    }
+
+    @NotNull
+    private Type op;
+
+    private Long id;
+
+    @Size(max = 64)
+    private String clientId;
+
+    private Long deckId;
+
+    @Size(max = 64)
+    private String deckClientId;
+
+    private Long baseSeq;
+
+    @Size(max = 200)
+    private String name;
+
+    @Size(max = 2000)
+    private String description;
+
+    @Size(max = 10000)
+    private String front;
+
+    @Size(max = 10000)
+    private String back;
+}
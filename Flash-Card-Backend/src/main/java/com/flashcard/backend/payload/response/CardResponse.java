@@ -0,0 +1,25 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class CardResponse {
+    private Long id;
+    private Long deckId;
+    private String front;
+    private String back;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long changeSeq;
+    private String clientId;
+
+    public static CardResponse from(Card card) {
+        return new CardResponse(card.getId(), card.getDeckId(), card.getFront(), card.getBack(),
+                card.getCreatedAt(), card.getUpdatedAt(), card.getChangeSeq(), card.getClientId());
+    }
+}
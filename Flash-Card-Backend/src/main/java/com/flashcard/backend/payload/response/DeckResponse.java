@@ -0,0 +1,25 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Deck;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class DeckResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private int cardCount;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long changeSeq;
+    private String clientId;
+
+    public static DeckResponse from(Deck deck) {
+        return new DeckResponse(deck.getId(), deck.getName(), deck.getDescription(), deck.getCardCount(),
+                deck.getCreatedAt(), deck.getUpdatedAt(), deck.getChangeSeq(), deck.getClientId());
+    }
+}
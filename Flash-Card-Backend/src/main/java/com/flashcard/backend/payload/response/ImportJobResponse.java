@@ -0,0 +1,34 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.imports.ImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportJobResponse {
+    private Long id;
+    private Long deckId;
+    private String format;
+    private String fileName;
+    private String status;
+    private long bytesTotal;
+    private long bytesRead;
+    private int rowsRead;
+    private int cardsImported;
+    private int rowsRejected;
+    private List<String> rejections;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    public static ImportJobResponse from(ImportJob job) {
+        List<String> rejections = job.getRejections() == null ? List.of() : job.getRejections().lines().toList();
+        return new ImportJobResponse(job.getId(), job.getDeckId(), job.getFormat(), job.getFileName(),
+                job.getStatus(), job.getBytesTotal(), job.getBytesRead(), job.getRowsRead(), job.getCardsImported(),
+                job.getRowsRejected(), rejections, job.getError(), job.getCreatedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.flashcard.backend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. {@code nextCursor} is the id to pass as {@code after} for the next page and is
+ * null on the last one.
+ */
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    /**
+     * Build a page from a query that fetched up to {@code limit + 1} rows; the extra row only
+     * signals that another page exists.
+     */
+    public static <E, T> PageResponse<T> of(List<E> fetched, int limit, Function<E, Long> idOf,
+                                            Function<E, T> mapper) {
+        boolean hasMore = fetched.size() > limit;
+        List<E> page = hasMore ? fetched.subList(0, limit) : fetched;
+        Long nextCursor = hasMore ? idOf.apply(page.get(page.size() - 1)) : null;
+        return new PageResponse<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,31 @@
+package com.flashcard.backend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewBatchResponse {
+    private int applied;
+    private int duplicates;
+    private List<Result> results;
+
+    public enum Status {
+        APPLIED, DUPLICATE, CARD_NOT_FOUND
+    }
+
+    /**
+     * Outcome of one event, in request order. {@code schedule} is the card's state after the whole
+     * batch, also for duplicates, and null when the card does not exist.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private String idempotencyKey;
+        private Long cardId;
+        private Status status;
+        private ReviewResponse schedule;
+    }
+}
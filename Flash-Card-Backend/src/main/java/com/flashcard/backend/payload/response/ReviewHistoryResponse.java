@@ -0,0 +1,25 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.scheduling.Rating;
+import com.flashcard.backend.scheduling.ReviewLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class ReviewHistoryResponse {
+    private Long cardId;
+    private Long deckId;
+    private Rating rating;
+    private Instant reviewedAt;
+    private Integer durationMs;
+    private double intervalDays;
+    private Instant dueAt;
+
+    public static ReviewHistoryResponse from(ReviewLogEntry entry) {
+        return new ReviewHistoryResponse(entry.cardId(), entry.deckId(), entry.rating(), entry.reviewedAt(),
+                entry.durationMs(), entry.intervalDays(), entry.dueAt());
+    }
+}
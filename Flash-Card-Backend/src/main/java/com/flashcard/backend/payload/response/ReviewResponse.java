@@ -0,0 +1,31 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.scheduling.ScheduleState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class ReviewResponse {
+    private Long cardId;
+    private Instant dueAt;
+    private double intervalDays;
+    private int repetitions;
+    private int lapses;
+    private double easeFactor;
+    private double stability;
+    private double difficulty;
+
+    public static ReviewResponse from(Card card) {
+        return new ReviewResponse(card.getId(), card.getDueAt(), card.getIntervalDays(), card.getRepetitions(),
+                card.getLapses(), card.getEaseFactor(), card.getStability(), card.getDifficulty());
+    }
+
+    public static ReviewResponse of(Long cardId, ScheduleState state) {
+        return new ReviewResponse(cardId, state.dueAt(), state.intervalDays(), state.repetitions(), state.lapses(),
+                state.easeFactor(), state.stability(), state.difficulty());
+    }
+}
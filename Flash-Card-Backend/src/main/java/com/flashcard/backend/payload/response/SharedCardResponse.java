@@ -0,0 +1,32 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.scheduling.ScheduleState;
+import com.flashcard.backend.shared.SharedCard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A card of a shared deck with the caller's own progress; the progress fields are null for cards
+ * the caller has not reviewed.
+ */
+@Data
+@AllArgsConstructor
+public class SharedCardResponse {
+    private Long id;
+    private String front;
+    private String back;
+    private Instant dueAt;
+    private Instant lastReviewedAt;
+    private Integer repetitions;
+    private Double intervalDays;
+
+    public static SharedCardResponse from(SharedCard card, ScheduleState progress) {
+        if (progress == null) {
+            return new SharedCardResponse(card.id(), card.front(), card.back(), null, null, null, null);
+        }
+        return new SharedCardResponse(card.id(), card.front(), card.back(), progress.dueAt(),
+                progress.lastReviewedAt(), progress.repetitions(), progress.intervalDays());
+    }
+}
@@ -0,0 +1,25 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Deck;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class SharedDeckResponse {
+    private Long id;
+    private Long ownerId;
+    private String name;
+    private String description;
+    private int cardCount;
+    private int subscriberCount;
+    private long contentVersion;
+    private Instant updatedAt;
+
+    public static SharedDeckResponse from(Deck deck) {
+        return new SharedDeckResponse(deck.getId(), deck.getUserId(), deck.getName(), deck.getDescription(),
+                deck.getCardCount(), deck.getSubscriberCount(), deck.getContentVersion(), deck.getUpdatedAt());
+    }
+}
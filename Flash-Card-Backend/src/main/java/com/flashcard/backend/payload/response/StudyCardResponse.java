@@ -0,0 +1,22 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class StudyCardResponse {
+    private Long cardId;
+    private Long deckId;
+    private String front;
+    private String back;
+    private Instant dueAt;
+
+    public static StudyCardResponse from(Card card) {
+        return new StudyCardResponse(card.getId(), card.getDeckId(), card.getFront(), card.getBack(),
+                card.getDueAt());
+    }
+}
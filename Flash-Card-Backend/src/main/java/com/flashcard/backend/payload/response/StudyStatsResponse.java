@@ -0,0 +1,44 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.stats.DailyStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Study totals over a range of UTC days. {@code days} lists only days with reviews.
+ */
+@Data
+@AllArgsConstructor
+public class StudyStatsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Day totals;
+    private List<Day> days;
+
+    public static StudyStatsResponse of(LocalDate from, LocalDate to, List<DailyStats> daily) {
+        DailyStats totals = new DailyStats(null, 0, 0, 0, 0);
+        for (DailyStats day : daily) {
+            totals = totals.plus(day);
+        }
+        return new StudyStatsResponse(from, to, Day.from(totals), daily.stream().map(Day::from).toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate day;
+        private int reviews;
+        private int correct;
+        private double retention;
+        private long timeSpentMs;
+        private int cardsLearned;
+
+        static Day from(DailyStats stats) {
+            return new Day(stats.day(), stats.reviews(), stats.correct(), stats.retention(), stats.timeSpentMs(),
+                    stats.cardsLearned());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.deck.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A card as the change feed carries it: content plus the schedule, since reviews change both.
+ */
+@Data
+@AllArgsConstructor
+public class SyncCardResponse {
+    private Long id;
+    private Long deckId;
+    private String front;
+    private String back;
+    private Instant updatedAt;
+    private Instant dueAt;
+    private Instant lastReviewedAt;
+    private int repetitions;
+    private int lapses;
+    private double intervalDays;
+    private long changeSeq;
+    private String clientId;
+
+    public static SyncCardResponse from(Card card) {
+        return new SyncCardResponse(card.getId(), card.getDeckId(), card.getFront(), card.getBack(),
+                card.getUpdatedAt(), card.getDueAt(), card.getLastReviewedAt(), card.getRepetitions(),
+                card.getLapses(), card.getIntervalDays(), card.getChangeSeq(), card.getClientId());
+    }
+}
@@ -0,0 +1,26 @@
+package com.flashcard.backend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Pass {@code cursor} as {@code since} for the next page. When
+ * {@code resetRequired} is set the cursor predates pruned tombstones: drop local data and pull
+ * again from 0.
+ */
+@Data
+@AllArgsConstructor
+public class SyncChangesResponse {
+    private List<DeckResponse> decks;
+    private List<SyncCardResponse> cards;
+    private List<TombstoneResponse> deletions;
+    private long cursor;
+    private boolean hasMore;
+    private boolean resetRequired;
+
+    public static SyncChangesResponse reset() {
+        return new SyncChangesResponse(List.of(), List.of(), List.of(), 0, false, true);
+    }
+}
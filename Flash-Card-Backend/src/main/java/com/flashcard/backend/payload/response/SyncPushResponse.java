@@ -0,0 +1,31 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.payload.request.SyncOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SyncPushResponse {
+    private int applied;
+    private List<Result> results;
+
+    public enum Status {
+        APPLIED, DUPLICATE, CONFLICT, NOT_FOUND, INVALID
+    }
+
+    /**
+     * Outcome of one operation, in request order. {@code id} is the server id of the object,
+     * also for creates reported as duplicates.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private SyncOperation.Type op;
+        private String clientId;
+        private Long id;
+        private Status status;
+    }
+}
@@ -0,0 +1,17 @@
+package com.flashcard.backend.payload.response;
+
+import com.flashcard.backend.sync.Tombstone;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TombstoneResponse {
+    private String type;
+    private Long id;
+    private long changeSeq;
+
+    public static TombstoneResponse from(Tombstone tombstone) {
+        return new TombstoneResponse(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getChangeSeq());
+    }
+}
@@ -0,0 +1,60 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.deck.Card;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Bulk card inserts through JDBC batching. Ids are reserved from the sequence up front, so the
+ * driver can rewrite each batch into multi-row INSERTs (reWriteBatchedInserts), which it cannot
+ * do for statements that return generated keys.
+ */
+@Repository
+public class CardBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO flashcard.cards " +
+            "(id, deck_id, user_id, front, back, created_at, updated_at, due_at, change_seq, client_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${flashcard.cards.batchSize:500}")
+    private int batchSize = 500;
+
+    private List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval('flashcard.cards_id_seq') FROM generate_series(1, ?)", Long.class, count);
+    }
+
+    /**
+     * Insert new cards, assigning their ids in place.
+     */
+    public void insert(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+        List<Long> ids = reserveIds(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, cards, batchSize, (ps, card) -> {
+            ps.setLong(1, card.getId());
+            ps.setLong(2, card.getDeckId());
+            ps.setLong(3, card.getUserId());
+            ps.setString(4, card.getFront());
+            ps.setString(5, card.getBack());
+            ps.setTimestamp(6, Timestamp.from(card.getCreatedAt()));
+            ps.setTimestamp(7, Timestamp.from(card.getUpdatedAt()));
+            ps.setTimestamp(8, Timestamp.from(card.getDueAt()));
+            ps.setLong(9, card.getChangeSeq());
+            ps.setString(10, card.getClientId());
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.exports.ExportedCard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Reads a deck's cards through a server-side cursor: with a fetch size set inside a transaction,
+ * pgjdbc pulls {@code fetchSize} rows at a time instead of the whole result.
+ */
+@Repository
+public class CardExportRepository {
+
+    private static final String DECK_SQL = "SELECT id, front, back, created_at, due_at, repetitions, lapses, " +
+            "interval_days FROM flashcard.cards WHERE user_id = ? AND deck_id = ? ORDER BY id";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${flashcard.exports.fetchSize:1000}")
+    private int fetchSize = 1000;
+
+    /**
+     * Hand each card of the deck to {@code consumer} in id order. Must run in a transaction.
+     */
+    public void forEachInDeck(Long userId, Long deckId, CardConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(DECK_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, userId);
+            ps.setLong(2, deckId);
+            return ps;
+        }, rs -> {
+            try {
+                consumer.accept(new ExportedCard(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getTimestamp(4).toInstant(), rs.getTimestamp(5).toInstant(), rs.getInt(6), rs.getInt(7),
+                        rs.getDouble(8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface CardConsumer {
+        void accept(ExportedCard card) throws IOException;
+    }
+}
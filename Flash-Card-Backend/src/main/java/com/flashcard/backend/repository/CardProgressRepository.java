@@ -0,0 +1,100 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.scheduling.ScheduleState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A subscriber's scheduling state for cards of a shared deck. Rows exist only for cards the
+ * subscriber has reviewed; every other card is new.
+ */
+@Repository
+public class CardProgressRepository {
+
+    private static final String COLUMNS = "card_id, repetitions, lapses, ease_factor, interval_days, stability, " +
+            "difficulty, due_at, last_reviewed_at";
+
+    private static final RowMapper<ScheduleState> STATE_MAPPER = (rs, rowNum) -> {
+        Timestamp lastReviewedAt = rs.getTimestamp("last_reviewed_at");
+        return new ScheduleState(rs.getInt("repetitions"), rs.getInt("lapses"), rs.getDouble("ease_factor"),
+                rs.getDouble("interval_days"), rs.getDouble("stability"), rs.getDouble("difficulty"),
+                rs.getTimestamp("due_at").toInstant(), lastReviewedAt == null ? null : lastReviewedAt.toInstant());
+    };
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<ScheduleState> find(Long userId, Long cardId) {
+        return namedJdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM flashcard.card_progress WHERE user_id = :userId AND card_id = :cardId",
+                new MapSqlParameterSource().addValue("userId", userId).addValue("cardId", cardId),
+                STATE_MAPPER).stream().findFirst();
+    }
+
+    public Map<Long, ScheduleState> findAll(Long userId, Collection<Long> cardIds) {
+        Map<Long, ScheduleState> states = new HashMap<>();
+        if (cardIds.isEmpty()) {
+            return states;
+        }
+        namedJdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM flashcard.card_progress WHERE user_id = :userId AND card_id IN (:cardIds)",
+                new MapSqlParameterSource().addValue("userId", userId).addValue("cardIds", cardIds),
+                (RowCallbackHandler) rs -> states.put(rs.getLong("card_id"), STATE_MAPPER.mapRow(rs, 0)));
+        return states;
+    }
+
+    /**
+     * The reviewed card due first by {@code until}, served by idx_card_progress_user_deck_due.
+     */
+    public Optional<Due> findFirstDue(Long userId, Long deckId, Instant until) {
+        return namedJdbcTemplate.query(
+                "SELECT card_id, due_at FROM flashcard.card_progress WHERE user_id = :userId AND deck_id = :deckId " +
+                        "AND due_at <= :until ORDER BY due_at, card_id LIMIT 1",
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("deckId", deckId)
+                        .addValue("until", Timestamp.from(until)),
+                (rs, rowNum) -> new Due(rs.getLong("card_id"), rs.getTimestamp("due_at").toInstant()))
+                .stream().findFirst();
+    }
+
+    public void upsert(Long userId, Long deckId, Long cardId, ScheduleState state) {
+        namedJdbcTemplate.update(
+                "INSERT INTO flashcard.card_progress (user_id, card_id, deck_id, " +
+                        "repetitions, lapses, ease_factor, interval_days, stability, difficulty, due_at, last_reviewed_at) " +
+                        "VALUES (:userId, :cardId, :deckId, :repetitions, :lapses, :easeFactor, :intervalDays, " +
+                        ":stability, :difficulty, :dueAt, :lastReviewedAt) " +
+                        "ON CONFLICT (user_id, card_id) DO UPDATE SET repetitions = EXCLUDED.repetitions, " +
+                        "lapses = EXCLUDED.lapses, ease_factor = EXCLUDED.ease_factor, " +
+                        "interval_days = EXCLUDED.interval_days, stability = EXCLUDED.stability, " +
+                        "difficulty = EXCLUDED.difficulty, due_at = EXCLUDED.due_at, " +
+                        "last_reviewed_at = EXCLUDED.last_reviewed_at",
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("cardId", cardId)
+                        .addValue("deckId", deckId)
+                        .addValue("repetitions", state.repetitions())
+                        .addValue("lapses", state.lapses())
+                        .addValue("easeFactor", state.easeFactor())
+                        .addValue("intervalDays", state.intervalDays())
+                        .addValue("stability", state.stability())
+                        .addValue("difficulty", state.difficulty())
+                        .addValue("dueAt", Timestamp.from(state.dueAt()))
+                        .addValue("lastReviewedAt",
+                                state.lastReviewedAt() == null ? null : Timestamp.from(state.lastReviewedAt())));
+    }
+
+    public record Due(Long cardId, Instant dueAt) {
+    }
+}
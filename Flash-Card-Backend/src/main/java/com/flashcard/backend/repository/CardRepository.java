@@ -0,0 +1,68 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.shared.SharedCard;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CardRepository extends JpaRepository<Card, Long> {
+    Optional<Card> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Lock a user's cards in id order, so concurrent batches touching the same cards queue up
+     * instead of deadlocking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.userId = :userId AND c.id IN :ids ORDER BY c.id")
+    List<Card> lockByUserIdAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    Optional<Card> findByIdAndUserIdAndDeckId(Long id, Long userId, Long deckId);
+
+    List<Card> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long since, Limit limit);
+
+    List<Card> findByUserIdAndClientIdIn(Long userId, Collection<String> clientIds);
+
+    /**
+     * Keyset page of a deck, served by idx_cards_user_deck_id.
+     */
+    List<Card> findByUserIdAndDeckIdAndIdGreaterThanOrderByIdAsc(Long userId, Long deckId, Long afterId,
+            Limit limit);
+
+    /**
+     * All cards of a deck in id order, for shared-deck snapshots.
+     */
+    @Query("SELECT new com.flashcard.backend.shared.SharedCard(c.id, c.front, c.back) " +
+            "FROM Card c WHERE c.userId = :userId AND c.deckId = :deckId ORDER BY c.id")
+    List<SharedCard> findSharedCards(@Param("userId") Long userId, @Param("deckId") Long deckId);
+
+    /**
+     * Total characters of a deck's card text, to size a shared-deck snapshot before loading it.
+     */
+    @Query("SELECT COALESCE(SUM(LENGTH(c.front) + LENGTH(c.back)), 0) FROM Card c " +
+            "WHERE c.userId = :userId AND c.deckId = :deckId")
+    long sumTextLength(@Param("userId") Long userId, @Param("deckId") Long deckId);
+
+    /**
+     * Cards due by {@code until} in due order, served by idx_cards_user_due. Read whole so the
+     * queue load also fills the content cache.
+     */
+    @Query("SELECT c FROM Card c WHERE c.userId = :userId AND c.dueAt <= :until ORDER BY c.dueAt, c.id")
+    List<Card> findDueUntil(@Param("userId") Long userId, @Param("until") Instant until, Limit limit);
+
+    @Query("SELECT c FROM Card c WHERE c.userId = :userId AND c.deckId = :deckId AND c.dueAt <= :until " +
+            "ORDER BY c.dueAt, c.id")
+    List<Card> findDue(@Param("userId") Long userId, @Param("deckId") Long deckId,
+            @Param("until") Instant until, Limit limit);
+}
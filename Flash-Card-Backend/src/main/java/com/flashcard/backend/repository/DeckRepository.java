@@ -0,0 +1,59 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.deck.Deck;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeckRepository extends JpaRepository<Deck, Long> {
+    Optional<Deck> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    List<Deck> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long since, Limit limit);
+
+    List<Deck> findByUserIdAndClientIdIn(Long userId, Collection<String> clientIds);
+
+    List<Deck> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit);
+
+    /**
+     * Change the card count; the deck takes {@code changeSeq} so synced clients see the new count,
+     * and a new content version so shared-deck snapshots are rebuilt. The persistence context is
+     * flushed before and cleared after, so a deck loaded earlier in the transaction (e.g. by a sync
+     * push) is re-read instead of being dirty-flushed with its old count and sequence.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deck d SET d.cardCount = d.cardCount + :delta, d.updatedAt = CURRENT_TIMESTAMP, " +
+            "d.changeSeq = :changeSeq, d.contentVersion = d.contentVersion + 1 " +
+            "WHERE d.id = :deckId AND d.userId = :userId")
+    int adjustCardCount(@Param("userId") Long userId, @Param("deckId") Long deckId, @Param("delta") int delta,
+            @Param("changeSeq") long changeSeq);
+
+    /**
+     * Mark the deck's cards or metadata as changed for shared-deck snapshots.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deck d SET d.contentVersion = d.contentVersion + 1 WHERE d.id = :deckId AND d.userId = :userId")
+    int bumpContentVersion(@Param("userId") Long userId, @Param("deckId") Long deckId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deck d SET d.shared = :shared WHERE d.id = :deckId AND d.userId = :userId")
+    int setShared(@Param("userId") Long userId, @Param("deckId") Long deckId, @Param("shared") boolean shared);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Deck d SET d.subscriberCount = d.subscriberCount + :delta WHERE d.id = :deckId")
+    int adjustSubscriberCount(@Param("deckId") Long deckId, @Param("delta") int delta);
+
+    /**
+     * Catalogue page of shared decks, served by idx_decks_shared_id.
+     */
+    List<Deck> findBySharedTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
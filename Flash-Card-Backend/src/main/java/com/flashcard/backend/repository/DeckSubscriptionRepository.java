@@ -0,0 +1,75 @@
+package com.flashcard.backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Subscriptions to shared decks. The row holds the cursor of new cards introduced so far; the
+ * scheduling state of reviewed cards is in {@link CardProgressRepository}.
+ */
+@Repository
+public class DeckSubscriptionRepository {
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Returns whether a subscription was created; subscribing twice is a no-op.
+     */
+    public boolean insert(Long userId, Long deckId) {
+        return namedJdbcTemplate.update(
+                "INSERT INTO flashcard.deck_subscriptions (user_id, deck_id) VALUES (:userId, :deckId) " +
+                        "ON CONFLICT (user_id, deck_id) DO NOTHING",
+                params(userId, deckId)) > 0;
+    }
+
+    public boolean delete(Long userId, Long deckId) {
+        return namedJdbcTemplate.update(
+                "DELETE FROM flashcard.deck_subscriptions WHERE user_id = :userId AND deck_id = :deckId",
+                params(userId, deckId)) > 0;
+    }
+
+    /**
+     * The new-card cursor, or empty when the user is not subscribed.
+     */
+    public Optional<Long> findCursor(Long userId, Long deckId) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT new_card_cursor FROM flashcard.deck_subscriptions WHERE user_id = :userId AND deck_id = :deckId",
+                params(userId, deckId), Long.class).stream().findFirst();
+    }
+
+    /**
+     * Like {@link #findCursor} but locks the subscription, which serialises a user's reviews of
+     * one deck.
+     */
+    public Optional<Long> lockCursor(Long userId, Long deckId) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT new_card_cursor FROM flashcard.deck_subscriptions WHERE user_id = :userId AND deck_id = :deckId " +
+                        "FOR UPDATE",
+                params(userId, deckId), Long.class).stream().findFirst();
+    }
+
+    public void advanceCursor(Long userId, Long deckId, long cardId) {
+        namedJdbcTemplate.update(
+                "UPDATE flashcard.deck_subscriptions SET new_card_cursor = GREATEST(new_card_cursor, :cardId) " +
+                        "WHERE user_id = :userId AND deck_id = :deckId",
+                params(userId, deckId).addValue("cardId", cardId));
+    }
+
+    public List<Long> findDeckIds(Long userId) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT deck_id FROM flashcard.deck_subscriptions WHERE user_id = :userId ORDER BY deck_id",
+                new MapSqlParameterSource("userId", userId), Long.class);
+    }
+
+    private static MapSqlParameterSource params(Long userId, Long deckId) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("deckId", deckId);
+    }
+}
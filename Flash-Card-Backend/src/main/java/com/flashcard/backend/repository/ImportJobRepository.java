@@ -0,0 +1,45 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.imports.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.bytesRead = :bytesRead, j.rowsRead = :rowsRead, " +
+            "j.cardsImported = :cardsImported, j.rowsRejected = :rowsRejected, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("bytesRead") long bytesRead, @Param("rowsRead") int rowsRead,
+            @Param("cardsImported") int cardsImported, @Param("rowsRejected") int rowsRejected);
+
+    /**
+     * Hand a queued job to a worker. Returns 0 when the job is no longer queued, in which case the
+     * worker must not touch it.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = 'RUNNING', j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.status = 'QUEUED'")
+    int claim(@Param("id") Long id);
+
+    /**
+     * Fail running jobs that stopped reporting progress, e.g. because their node restarted. Queued
+     * jobs are left alone: they may still be waiting in a worker queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = 'FAILED', j.error = :error, j.finishedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.status = 'RUNNING' AND j.updatedAt < :cutoff")
+    int failStale(@Param("cutoff") Instant cutoff, @Param("error") String error);
+}
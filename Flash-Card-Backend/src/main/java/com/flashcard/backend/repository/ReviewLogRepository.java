@@ -0,0 +1,86 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.scheduling.Rating;
+import com.flashcard.backend.scheduling.ReviewLogEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Review history, written in JDBC batches. The table is partitioned by month of reviewed_at
+ * (see {@link com.flashcard.backend.service.ReviewLogPartitionService}) and cannot enforce unique
+ * idempotency keys, so callers drop already used keys with {@link #findExistingKeys} while
+ * holding the user row lock.
+ */
+@Repository
+public class ReviewLogRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO flashcard.review_log " +
+            "(user_id, card_id, deck_id, idempotency_key, rating, reviewed_at, duration_ms, interval_days, due_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Set<String> findExistingKeys(Long userId, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("keys", keys);
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT idempotency_key FROM flashcard.review_log WHERE user_id = :userId AND idempotency_key IN (:keys)",
+                params, String.class));
+    }
+
+    /**
+     * A user's reviews since {@code since}, newest first. The reviewed_at bound lets Postgres
+     * prune every partition older than {@code since}.
+     */
+    public List<ReviewLogEntry> findRecent(Long userId, Instant since, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("since", Timestamp.from(since))
+                .addValue("limit", limit);
+        return namedJdbcTemplate.query(
+                "SELECT user_id, card_id, deck_id, idempotency_key, rating, reviewed_at, duration_ms, interval_days, " +
+                        "due_at FROM flashcard.review_log WHERE user_id = :userId AND reviewed_at >= :since " +
+                        "ORDER BY reviewed_at DESC, id DESC LIMIT :limit",
+                params,
+                (rs, rowNum) -> new ReviewLogEntry(rs.getLong("user_id"), rs.getLong("card_id"), rs.getLong("deck_id"),
+                        rs.getString("idempotency_key"), Rating.valueOf(rs.getString("rating")),
+                        rs.getTimestamp("reviewed_at").toInstant(), (Integer) rs.getObject("duration_ms"),
+                        rs.getDouble("interval_days"), rs.getTimestamp("due_at").toInstant()));
+    }
+
+    public void insert(List<ReviewLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.userId());
+            ps.setLong(2, entry.cardId());
+            ps.setLong(3, entry.deckId());
+            ps.setString(4, entry.idempotencyKey());
+            ps.setString(5, entry.rating().name());
+            ps.setTimestamp(6, Timestamp.from(entry.reviewedAt()));
+            if (entry.durationMs() == null) {
+                ps.setNull(7, Types.INTEGER);
+            } else {
+                ps.setInt(7, entry.durationMs());
+            }
+            ps.setDouble(8, entry.intervalDays());
+            ps.setTimestamp(9, Timestamp.from(entry.dueAt()));
+        });
+    }
+}
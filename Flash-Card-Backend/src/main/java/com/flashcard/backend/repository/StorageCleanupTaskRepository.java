@@ -0,0 +1,24 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.storage.StorageCleanupTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface StorageCleanupTaskRepository extends JpaRepository<StorageCleanupTask, Long> {
+
+    /**
+     * Claim due tasks for this worker. Rows locked by another instance are skipped,
+     * so several backend instances can drain the queue concurrently.
+     */
+    @Query(value = "SELECT * FROM flashcard.storage_cleanup_tasks " +
+            "WHERE failed_at IS NULL AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StorageCleanupTask> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,81 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.storage.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    /**
+     * Reference count of a blob whose object the cleanup worker is deleting. Such a blob can no
+     * longer be referenced; it is removed once the delete succeeds, or reset to 0 if it fails.
+     */
+    int DELETING = -1;
+
+    Optional<StoredBlob> findByUserIdAndContentHash(Long userId, String contentHash);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1 " +
+            "WHERE b.userId = :userId AND b.contentHash = :hash AND b.refCount >= 0")
+    int incrementByHash(@Param("userId") Long userId, @Param("hash") String contentHash);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1 " +
+            "WHERE b.objectPath = :path AND b.userId = :userId AND b.refCount > 0")
+    int decrement(@Param("userId") Long userId, @Param("path") String objectPath);
+
+    /**
+     * Track a freshly uploaded object, or take a reference on the user's existing blob with the
+     * same content. The existing row keeps its path, which may differ from {@code path} when the
+     * same bytes were uploaded concurrently under another content type. Returns 0 when that blob
+     * is being deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO flashcard.stored_blobs " +
+            "(object_path, user_id, content_hash, content_type, size_bytes, ref_count, created_at) " +
+            "VALUES (:path, :userId, :hash, :contentType, :size, 1, NOW()) " +
+            "ON CONFLICT (user_id, content_hash) DO UPDATE SET ref_count = flashcard.stored_blobs.ref_count + 1 " +
+            "WHERE flashcard.stored_blobs.ref_count >= 0",
+            nativeQuery = true)
+    int insertOrReference(@Param("path") String objectPath, @Param("userId") Long userId,
+            @Param("hash") String contentHash, @Param("contentType") String contentType,
+            @Param("size") long sizeBytes);
+
+    /**
+     * Lock the tracked blobs among {@code paths} while the cleanup worker decides which of
+     * them to mark as being deleted.
+     */
+    @Query(value = "SELECT * FROM flashcard.stored_blobs WHERE object_path IN (:paths) FOR UPDATE",
+            nativeQuery = true)
+    List<StoredBlob> lockByPaths(@Param("paths") Collection<String> paths);
+
+    /**
+     * Mark the unreferenced blobs among {@code paths} as being deleted, for the cleanup worker.
+     */
+    @Modifying
+    @Query(value = "UPDATE flashcard.stored_blobs SET ref_count = " + DELETING + " " +
+            "WHERE object_path IN (:paths) AND ref_count <= 0", nativeQuery = true)
+    int markDeleting(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query(value = "DELETE FROM flashcard.stored_blobs WHERE object_path IN (:paths) AND ref_count = " + DELETING,
+            nativeQuery = true)
+    int deleteMarked(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query(value = "UPDATE flashcard.stored_blobs SET ref_count = 0 " +
+            "WHERE object_path IN (:paths) AND ref_count = " + DELETING, nativeQuery = true)
+    int unmarkDeleting(@Param("paths") Collection<String> paths);
+}
@@ -0,0 +1,72 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.stats.DailyStats;
+import com.flashcard.backend.stats.StudyStatsDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Daily study rollups. Increments are upserted in the review transaction; reads touch one row
+ * per day and deck instead of the review log.
+ */
+@Repository
+public class StudyStatsRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO flashcard.study_daily_stats " +
+            "(user_id, day, deck_id, reviews, correct, time_spent_ms, cards_learned) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, day, deck_id) DO UPDATE SET " +
+            "reviews = study_daily_stats.reviews + EXCLUDED.reviews, " +
+            "correct = study_daily_stats.correct + EXCLUDED.correct, " +
+            "time_spent_ms = study_daily_stats.time_spent_ms + EXCLUDED.time_spent_ms, " +
+            "cards_learned = study_daily_stats.cards_learned + EXCLUDED.cards_learned";
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void apply(Long userId, StudyStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<StudyStatsDelta.Entry> entries = new ArrayList<>(delta.entries());
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, userId);
+            ps.setDate(2, Date.valueOf(entry.day));
+            ps.setLong(3, entry.deckId);
+            ps.setInt(4, entry.reviews());
+            ps.setInt(5, entry.correct());
+            ps.setLong(6, entry.timeSpentMs());
+            ps.setInt(7, entry.cardsLearned());
+        });
+    }
+
+    /**
+     * Days with activity in {@code [from, to]}, oldest first, for one deck or summed over all.
+     */
+    public List<DailyStats> findDaily(Long userId, Long deckId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        String deckFilter = "";
+        if (deckId != null) {
+            deckFilter = " AND deck_id = :deckId";
+            params.addValue("deckId", deckId);
+        }
+        return namedJdbcTemplate.query(
+                "SELECT day, SUM(reviews) AS reviews, SUM(correct) AS correct, " +
+                        "SUM(time_spent_ms) AS time_spent_ms, SUM(cards_learned) AS cards_learned " +
+                        "FROM flashcard.study_daily_stats " +
+                        "WHERE user_id = :userId AND day BETWEEN :from AND :to" + deckFilter +
+                        " GROUP BY day ORDER BY day",
+                params,
+                (rs, rowNum) -> new DailyStats(rs.getDate("day").toLocalDate(), rs.getInt("reviews"),
+                        rs.getInt("correct"), rs.getLong("time_spent_ms"), rs.getInt("cards_learned")));
+    }
+}
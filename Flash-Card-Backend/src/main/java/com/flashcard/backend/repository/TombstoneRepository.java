@@ -0,0 +1,37 @@
+package com.flashcard.backend.repository;
+
+import com.flashcard.backend.sync.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    List<Tombstone> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long since, Limit limit);
+
+    /**
+     * Raise each affected user's sync floor to the newest tombstone about to be pruned.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE flashcard.users u SET sync_floor_seq = GREATEST(u.sync_floor_seq, t.max_seq) " +
+            "FROM (SELECT user_id, MAX(change_seq) AS max_seq FROM flashcard.sync_tombstones " +
+            "WHERE deleted_at < :cutoff GROUP BY user_id) t WHERE u.id = t.user_id",
+            nativeQuery = true)
+    int raiseSyncFloors(@Param("cutoff") Instant cutoff);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM flashcard.sync_tombstones WHERE deleted_at < :cutoff", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+
+    @Query(value = "SELECT sync_floor_seq FROM flashcard.users WHERE id = :userId", nativeQuery = true)
+    long findSyncFloor(@Param("userId") Long userId);
+}
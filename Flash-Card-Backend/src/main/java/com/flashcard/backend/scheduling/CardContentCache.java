@@ -0,0 +1,103 @@
+package com.flashcard.backend.scheduling;
+
+import com.flashcard.backend.deck.Card;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Front and back of recently queued cards, so the next due card is served without reading it.
+ * An entry is valid for the card's {@code change_seq}, which every edit and review bumps; a
+ * lookup with any other sequence misses. Bounded by the estimated heap size of the text: the
+ * least recently used cards are dropped while the total exceeds {@code maxBytes}, and a miss
+ * falls back to a read by id.
+ */
+@Component
+public class CardContentCache {
+
+    // Per card: the map entry, the record, its boxed key and two String headers with their arrays
+    static final long CARD_OVERHEAD_BYTES = 160;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong bytes;
+
+    @Value("${flashcard.scheduling.contentCache.maxBytes:67108864}")
+    private long maxBytes = 64L << 20;
+
+    // Access-ordered; guarded by its own monitor together with bytes
+    private final LinkedHashMap<Long, CardContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    public record CardContent(long changeSeq, String front, String back) {
+
+        long bytes() {
+            return 2L * (front.length() + back.length()) + CARD_OVERHEAD_BYTES;
+        }
+    }
+
+    public CardContentCache(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("flashcard.study.content", "result", "hit");
+        this.misses = meterRegistry.counter("flashcard.study.content", "result", "miss");
+        this.bytes = meterRegistry.gauge("flashcard.study.content.bytes", new AtomicLong());
+    }
+
+    /**
+     * The cached text of {@code card}, if it was cached at the same change sequence.
+     */
+    public Optional<CardContent> get(DueCard card) {
+        CardContent content;
+        synchronized (contents) {
+            content = contents.get(card.cardId());
+        }
+        if (content != null && content.changeSeq() == card.changeSeq()) {
+            hits.increment();
+            return Optional.of(content);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(Card card) {
+        put(card.getId(), new CardContent(card.getChangeSeq(), card.getFront(), card.getBack()));
+    }
+
+    void put(Long cardId, CardContent content) {
+        long size = content.bytes();
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (contents) {
+            CardContent old = contents.get(cardId);
+            if (old != null && old.changeSeq() > content.changeSeq()) {
+                return;
+            }
+            contents.put(cardId, content);
+            long total = bytes.addAndGet(size - (old == null ? 0 : old.bytes()));
+            // Least recently used first; the new entry is last and fits on its own
+            Iterator<CardContent> eldest = contents.values().iterator();
+            while (total > maxBytes && eldest.hasNext()) {
+                CardContent evicted = eldest.next();
+                if (evicted == content) {
+                    break;
+                }
+                eldest.remove();
+                total = bytes.addAndGet(-evicted.bytes());
+            }
+        }
+    }
+
+    public void remove(Long cardId) {
+        synchronized (contents) {
+            CardContent old = contents.remove(cardId);
+            if (old != null) {
+                bytes.addAndGet(-old.bytes());
+            }
+        }
+    }
+}
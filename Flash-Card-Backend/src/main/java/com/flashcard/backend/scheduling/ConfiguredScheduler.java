@@ -0,0 +1,39 @@
+package com.flashcard.backend.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * The scheduler services inject. Both algorithms are always registered and the property is read
+ * when this bean is created, not through a bean condition, because an AOT-processed context fixes
+ * conditions at build time and would ignore the property at runtime.
+ */
+@Component
+@Primary
+public class ConfiguredScheduler implements Scheduler {
+
+    private final Scheduler delegate;
+
+    public ConfiguredScheduler(Sm2Scheduler sm2, FsrsScheduler fsrs,
+            @Value("${" + PROPERTY + ":sm2}") String algorithm) {
+        this.delegate = switch (algorithm.trim().toLowerCase(Locale.ROOT)) {
+            case "sm2" -> sm2;
+            case "fsrs" -> fsrs;
+            default -> throw new IllegalStateException("Unknown " + PROPERTY + ": " + algorithm);
+        };
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public ScheduleState review(ScheduleState current, Rating rating, Instant now) {
+        return delegate.review(current, rating, now);
+    }
+}
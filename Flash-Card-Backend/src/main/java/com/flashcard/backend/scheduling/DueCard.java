@@ -0,0 +1,21 @@
+package com.flashcard.backend.scheduling;
+
+import com.flashcard.backend.deck.Card;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * A card's place in {@link DueCardQueue}: ids, due time and change sequence only, so a queue
+ * costs the same whatever the card text. The text lives in {@link CardContentCache}, which is
+ * bounded by bytes, under the same change sequence.
+ */
+public record DueCard(Long cardId, Long deckId, Instant dueAt, long changeSeq) {
+
+    static final Comparator<DueCard> DUE_ORDER = Comparator.comparing(DueCard::dueAt)
+            .thenComparing(DueCard::cardId);
+
+    public static DueCard from(Card card) {
+        return new DueCard(card.getId(), card.getDeckId(), card.getDueAt(), card.getChangeSeq());
+    }
+}
@@ -0,0 +1,244 @@
+package com.flashcard.backend.scheduling;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.repository.CardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user due cards in memory, ordered by due time. A user's queue is loaded on first use from
+ * idx_cards_user_due with every card due within {@code horizonMs} (at most {@code capacity} of
+ * them) and is kept current by the write paths, so picking the next card is a lookup in a sorted
+ * set. Entries are ids and due times only; loads and writes hand the card text to
+ * {@link CardContentCache}, which has its own byte budget. Queues idle for {@code idleMs} are
+ * dropped, and past {@code maxUsers} queues the least recently used one is evicted, so memory
+ * stays bounded at roughly {@code maxUsers * capacity} small entries however many users study.
+ *
+ * <p>Invariant: a queue holds exactly the user's cards that sort at or before its boundary: the
+ * horizon when everything fit, otherwise the last loaded card. Anything past the boundary is left
+ * to the next load.
+ */
+@Component
+public class DueCardQueue {
+
+    private final CardRepository cardRepository;
+    private final CardContentCache contentCache;
+    private final Map<Long, UserQueue> queues = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter evictions;
+
+    @Value("${flashcard.scheduling.queue.capacity:500}")
+    private int capacity = 500;
+
+    @Value("${flashcard.scheduling.queue.horizonMs:3600000}")
+    private long horizonMs = 3_600_000;
+
+    @Value("${flashcard.scheduling.queue.idleMs:900000}")
+    private long idleMs = 900_000;
+
+    @Value("${flashcard.scheduling.queue.maxUsers:2000}")
+    private int maxUsers = 2000;
+
+    public DueCardQueue(CardRepository cardRepository, CardContentCache contentCache, MeterRegistry meterRegistry) {
+        this.cardRepository = cardRepository;
+        this.contentCache = contentCache;
+        this.hits = meterRegistry.counter("flashcard.study.queue", "result", "hit");
+        this.loads = meterRegistry.counter("flashcard.study.queue", "result", "load");
+        this.evictions = meterRegistry.counter("flashcard.study.queue", "result", "evicted");
+        meterRegistry.gaugeMapSize("flashcard.study.queue.users", List.of(), queues);
+    }
+
+    /**
+     * The card due first for {@code userId}, optionally within one deck, or empty if nothing is due.
+     */
+    public Optional<DueCard> next(Long userId, Long deckId, Instant now) {
+        UserQueue queue = queues.get(userId);
+        if (queue == null) {
+            queue = queues.computeIfAbsent(userId, id -> new UserQueue());
+            if (queues.size() > maxUsers) {
+                evictLeastRecentlyUsed(userId);
+            }
+        }
+        synchronized (queue) {
+            queue.lastAccessNanos = System.nanoTime();
+            if (queue.needsLoad(now)) {
+                load(userId, queue, now);
+            } else {
+                hits.increment();
+            }
+            for (DueCard card : queue.cards) {
+                if (card.dueAt().isAfter(now)) {
+                    return Optional.empty();
+                }
+                if (deckId == null || deckId.equals(card.deckId())) {
+                    return Optional.of(card);
+                }
+            }
+            if (!queue.complete && deckId != null) {
+                // The deck's first due card lies past what was loaded
+                List<Card> first = cardRepository.findDue(userId, deckId, now, Limit.of(1));
+                if (first.isEmpty()) {
+                    return Optional.empty();
+                }
+                contentCache.put(first.get(0));
+                return Optional.of(DueCard.from(first.get(0)));
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Insert or reposition cards after their content or schedule changed, and cache their text.
+     * Runs after commit when called inside a transaction, so rolled-back writes never reach the
+     * queue.
+     */
+    public void upsert(Long userId, List<Card> changed) {
+        List<DueCard> cards = changed.stream().map(DueCard::from).toList();
+        List<CardContentCache.CardContent> contents = changed.stream()
+                .map(card -> new CardContentCache.CardContent(card.getChangeSeq(), card.getFront(), card.getBack()))
+                .toList();
+        afterCommit(() -> {
+            for (int i = 0; i < cards.size(); i++) {
+                contentCache.put(cards.get(i).cardId(), contents.get(i));
+            }
+            UserQueue queue = queues.get(userId);
+            if (queue == null) {
+                return;
+            }
+            synchronized (queue) {
+                for (DueCard card : cards) {
+                    queue.remove(card.cardId());
+                    queue.offer(card, capacity);
+                }
+            }
+        });
+    }
+
+    public void remove(Long userId, Long cardId) {
+        afterCommit(() -> {
+            contentCache.remove(cardId);
+            UserQueue queue = queues.get(userId);
+            if (queue != null) {
+                synchronized (queue) {
+                    queue.remove(cardId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a user's queue, e.g. after a whole deck was deleted; the next request reloads it.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> queues.remove(userId));
+    }
+
+    @Scheduled(fixedDelayString = "${flashcard.scheduling.queue.evictIntervalMs:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - Duration.ofMillis(idleMs).toNanos();
+        queues.values().removeIf(queue -> queue.lastAccessNanos - cutoff < 0);
+    }
+
+    /**
+     * Drop the queue used longest ago; a scan, but only when a new user's queue overflows the cap.
+     */
+    private void evictLeastRecentlyUsed(Long keep) {
+        Long eldest = null;
+        long eldestAccess = 0;
+        for (Map.Entry<Long, UserQueue> entry : queues.entrySet()) {
+            long access = entry.getValue().lastAccessNanos;
+            if (!entry.getKey().equals(keep) && (eldest == null || access - eldestAccess < 0)) {
+                eldest = entry.getKey();
+                eldestAccess = access;
+            }
+        }
+        if (eldest != null && queues.remove(eldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    private void load(Long userId, UserQueue queue, Instant now) {
+        loads.increment();
+        Instant until = now.plusMillis(horizonMs);
+        List<Card> due = cardRepository.findDueUntil(userId, until, Limit.of(capacity));
+        queue.cards.clear();
+        queue.byId.clear();
+        for (Card loaded : due) {
+            contentCache.put(loaded);
+            DueCard card = DueCard.from(loaded);
+            queue.cards.add(card);
+            queue.byId.put(card.cardId(), card);
+        }
+        queue.loadedUntil = until;
+        queue.complete = due.size() < capacity;
+        queue.loaded = true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class UserQueue {
+        final TreeSet<DueCard> cards = new TreeSet<>(DueCard.DUE_ORDER);
+        final Map<Long, DueCard> byId = new HashMap<>();
+        volatile long lastAccessNanos = System.nanoTime();
+        boolean loaded;
+        boolean complete;
+        Instant loadedUntil;
+
+        boolean needsLoad(Instant now) {
+            // A truncated queue that has been drained cannot tell what comes next
+            return !loaded || now.isAfter(loadedUntil) || (!complete && cards.isEmpty());
+        }
+
+        void remove(Long cardId) {
+            DueCard existing = byId.remove(cardId);
+            if (existing != null) {
+                cards.remove(existing);
+            }
+        }
+
+        void offer(DueCard card, int capacity) {
+            if (!loaded) {
+                return;
+            }
+            boolean withinBoundary = complete
+                    ? !card.dueAt().isAfter(loadedUntil)
+                    : !cards.isEmpty() && DueCard.DUE_ORDER.compare(card, cards.last()) < 0;
+            if (!withinBoundary) {
+                return;
+            }
+            cards.add(card);
+            byId.put(card.cardId(), card);
+            if (cards.size() > capacity) {
+                byId.remove(cards.pollLast().cardId());
+                complete = false;
+            }
+        }
+    }
+}
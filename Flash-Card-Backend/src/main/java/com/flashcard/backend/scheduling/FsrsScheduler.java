@@ -0,0 +1,101 @@
+package com.flashcard.backend.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * FSRS 4.5 with the published default weights. Memory is modelled as stability (days until recall
+ * probability falls to 90%) and difficulty (1-10); the next interval is the time at which
+ * predicted retrievability reaches {@code requestRetention}. Same-day learning steps are not
+ * modelled: every review schedules at least one day out.
+ */
+@Component
+public class FsrsScheduler implements Scheduler {
+
+    static final double[] DEFAULT_WEIGHTS = {
+            0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+            0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755
+    };
+
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = Math.pow(0.9, 1 / DECAY) - 1;
+
+    private final double[] w = DEFAULT_WEIGHTS;
+
+    @Value("${flashcard.scheduling.fsrs.requestRetention:0.9}")
+    private double requestRetention = 0.9;
+
+    @Value("${flashcard.scheduling.fsrs.maximumIntervalDays:36500}")
+    private double maximumIntervalDays = 36500;
+
+    @Override
+    public String name() {
+        return "fsrs";
+    }
+
+    @Override
+    public ScheduleState review(ScheduleState current, Rating rating, Instant now) {
+        int grade = rating.grade();
+        double stability;
+        double difficulty;
+        int lapses = current.lapses();
+
+        if (current.stability() <= 0) {
+            stability = w[grade - 1];
+            difficulty = clampDifficulty(initialDifficulty(grade));
+        } else {
+            double elapsedDays = current.lastReviewedAt() == null ? 0
+                    : Math.max(0, Duration.between(current.lastReviewedAt(), now).toMinutes() / 1440.0);
+            double retrievability = retrievability(elapsedDays, current.stability());
+            difficulty = nextDifficulty(current.difficulty(), grade);
+            if (rating == Rating.AGAIN) {
+                lapses++;
+                stability = forgetStability(current.difficulty(), current.stability(), retrievability);
+            } else {
+                stability = recallStability(current.difficulty(), current.stability(), retrievability, rating);
+            }
+        }
+
+        double interval = nextInterval(stability);
+        int repetitions = rating == Rating.AGAIN ? 0 : current.repetitions() + 1;
+        return new ScheduleState(repetitions, lapses, current.easeFactor(), interval, stability, difficulty,
+                now.plus(Duration.ofDays((long) interval)), now);
+    }
+
+    double retrievability(double elapsedDays, double stability) {
+        return Math.pow(1 + FACTOR * elapsedDays / stability, DECAY);
+    }
+
+    double nextInterval(double stability) {
+        double interval = stability / FACTOR * (Math.pow(requestRetention, 1 / DECAY) - 1);
+        return Math.min(Math.max(Math.round(interval), 1), maximumIntervalDays);
+    }
+
+    private double initialDifficulty(int grade) {
+        return w[4] - (grade - 3) * w[5];
+    }
+
+    private double nextDifficulty(double difficulty, int grade) {
+        double next = difficulty - w[6] * (grade - 3);
+        // Mean reversion towards the difficulty of a first "good" answer
+        return clampDifficulty(w[7] * initialDifficulty(3) + (1 - w[7]) * next);
+    }
+
+    private double recallStability(double d, double s, double r, Rating rating) {
+        double hardPenalty = rating == Rating.HARD ? w[15] : 1;
+        double easyBonus = rating == Rating.EASY ? w[16] : 1;
+        return s * (1 + Math.exp(w[8]) * (11 - d) * Math.pow(s, -w[9]) * (Math.exp((1 - r) * w[10]) - 1)
+                * hardPenalty * easyBonus);
+    }
+
+    private double forgetStability(double d, double s, double r) {
+        return w[11] * Math.pow(d, -w[12]) * (Math.pow(s + 1, w[13]) - 1) * Math.exp((1 - r) * w[14]);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(Math.max(difficulty, 1), 10);
+    }
+}
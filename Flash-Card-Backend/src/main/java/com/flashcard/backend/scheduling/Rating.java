@@ -0,0 +1,24 @@
+package com.flashcard.backend.scheduling;
+
+/**
+ * Answer buttons, with the SM-2 quality (0-5) and FSRS grade (1-4) each maps to.
+ */
+public enum Rating {
+    AGAIN(1, 1), HARD(3, 2), GOOD(4, 3), EASY(5, 4);
+
+    private final int quality;
+    private final int grade;
+
+    Rating(int quality, int grade) {
+        this.quality = quality;
+        this.grade = grade;
+    }
+
+    public int quality() {
+        return quality;
+    }
+
+    public int grade() {
+        return grade;
+    }
+}
@@ -0,0 +1,18 @@
+package com.flashcard.backend.scheduling;
+
+import java.time.Instant;
+
+/**
+ * A row of {@code review_log}: the answer given and the schedule it produced.
+ */
+public record ReviewLogEntry(
+        Long userId,
+        Long cardId,
+        Long deckId,
+        String idempotencyKey,
+        Rating rating,
+        Instant reviewedAt,
+        Integer durationMs,
+        double intervalDays,
+        Instant dueAt) {
+}
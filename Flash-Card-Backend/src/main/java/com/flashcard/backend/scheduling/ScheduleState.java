@@ -0,0 +1,22 @@
+package com.flashcard.backend.scheduling;
+
+import java.time.Instant;
+
+/**
+ * Spaced-repetition state of one card. SM-2 uses repetitions, ease factor and interval; FSRS uses
+ * stability and difficulty. Each scheduler carries the other's fields through unchanged.
+ */
+public record ScheduleState(
+        int repetitions,
+        int lapses,
+        double easeFactor,
+        double intervalDays,
+        double stability,
+        double difficulty,
+        Instant dueAt,
+        Instant lastReviewedAt) {
+
+    public static ScheduleState fresh(Instant now) {
+        return new ScheduleState(0, 0, 2.5, 0, 0, 0, now, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.flashcard.backend.scheduling;
+
+import java.time.Instant;
+
+/**
+ * A spaced-repetition algorithm. The active implementation is picked with
+ * {@code flashcard.scheduling.algorithm} ({@code sm2} by default, or {@code fsrs}) through
+ * {@link ConfiguredScheduler}.
+ */
+public interface Scheduler {
+
+    String PROPERTY = "flashcard.scheduling.algorithm";
+
+    String name();
+
+    ScheduleState review(ScheduleState current, Rating rating, Instant now);
+}
@@ -0,0 +1,51 @@
+package com.flashcard.backend.scheduling;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * SuperMemo SM-2: intervals of 1 and 6 days, then the previous interval times the ease factor,
+ * which moves with answer quality and never drops below 1.3. A failed answer (quality below 3)
+ * restarts the repetition count and leaves the ease factor alone.
+ */
+@Component
+public class Sm2Scheduler implements Scheduler {
+
+    static final double MIN_EASE = 1.3;
+
+    @Override
+    public String name() {
+        return "sm2";
+    }
+
+    @Override
+    public ScheduleState review(ScheduleState current, Rating rating, Instant now) {
+        int q = rating.quality();
+        double ease = current.easeFactor();
+
+        int repetitions;
+        int lapses = current.lapses();
+        double interval;
+        if (q < 3) {
+            repetitions = 0;
+            lapses++;
+            interval = 1;
+        } else {
+            repetitions = current.repetitions() + 1;
+            if (repetitions == 1) {
+                interval = 1;
+            } else if (repetitions == 2) {
+                interval = 6;
+            } else {
+                interval = Math.round(current.intervalDays() * ease);
+            }
+            // The ease factor only moves on successful answers, after the interval used the old one
+            ease = Math.max(MIN_EASE, ease + (0.1 - (5 - q) * (0.08 + (5 - q) * 0.02)));
+        }
+
+        return new ScheduleState(repetitions, lapses, ease, interval, current.stability(), current.difficulty(),
+                now.plus(Duration.ofMinutes(Math.round(interval * 24 * 60))), now);
+    }
+}
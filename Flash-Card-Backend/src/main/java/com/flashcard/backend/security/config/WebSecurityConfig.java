@@ -1,10 +1,14 @@
 package com.flashcard.backend.security.config;
 
+import com.flashcard.backend.security.jwt.AccessDeniedHandlerJwt;
 import com.flashcard.backend.security.jwt.AuthEntryPointJwt;
 import com.flashcard.backend.security.jwt.AuthTokenFilter;
 import com.flashcard.backend.security.filter.AuthRateLimitFilter;
+import com.flashcard.backend.security.filter.ConcurrencyLimitFilter;
 import com.flashcard.backend.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,12 +35,24 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private AccessDeniedHandlerJwt accessDeniedHandler;
+
     @Autowired
     private AuthTokenFilter authTokenFilter;
 
     @Autowired
     private AuthRateLimitFilter authRateLimitFilter;
 
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -67,20 +83,38 @@ public class WebSecurityConfig {
     public FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilterRegistration() {
         FilterRegistrationBean<AuthRateLimitFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(authRateLimitFilter);
-        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
         registration.addUrlPatterns("/api/auth/*");
         return registration;
     }
 
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration() {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(concurrencyLimitFilter);
+        // After the cheap per-IP rate limit, before the security chain does any token work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.addUrlPatterns("/api/*", "/storage/local/*");
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
-                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler)
+                        .accessDeniedHandler(accessDeniedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches finish streamed responses whose request was authorized already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // The actuator's own port is bound to an internal address; on the API port it
+                        // stays behind authentication apart from the /livez and /readyz probes
+                        .requestMatchers(request -> managementPort > 0 && managementPort != serverPort
+                                && request.getLocalPort() == managementPort).permitAll()
                         .requestMatchers("/api/auth/**", "/api/test/**", "/scalar/**", "/v3/api-docs/**", "/webjars/**",
-                                "/swagger-ui/**", "/swagger-resources/**")
+                                "/swagger-ui/**", "/swagger-resources/**", "/storage/local/**",
+                                "/livez", "/readyz")
                         .permitAll()
                         .anyRequest().authenticated());
 
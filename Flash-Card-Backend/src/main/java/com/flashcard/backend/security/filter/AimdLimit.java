@@ -0,0 +1,100 @@
+package com.flashcard.backend.security.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease limit on in-flight requests, driven by the latency
+ * gradient rather than a fixed threshold. A slow moving baseline tracks the usual server time of
+ * a request; a sample more than {@code tolerance} times the baseline counts as queueing. A request
+ * that finishes within tolerance while the limit is in use grows the limit by one; a queueing or
+ * failed request shrinks it by {@code backoffRatio}, at most once per tolerated request time so a
+ * burst of requests that were already slow does not collapse the limit to its floor.
+ *
+ * <p>The baseline only moves a small step per sample and each step is capped at the tolerated
+ * time, so an overload backs the limit off long before it can raise the baseline, while a service
+ * that is uniformly slower (a bigger database, a cold cache) is eventually treated as normal.
+ */
+final class AimdLimit {
+
+    private static final double BASELINE_WEIGHT = 0.02;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double baselineNanos;
+    private long lastDecreaseNanos;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - TimeUnit.HOURS.toNanos(1);
+    }
+
+    /**
+     * Take a slot if fewer than {@code share} of the limit are in use. Lower shares are shed first.
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (baselineNanos == 0 && !failed) {
+                baselineNanos = latencyNanos;
+            }
+            double toleratedNanos = baselineNanos * tolerance;
+            if (failed || latencyNanos > toleratedNanos) {
+                if (now - lastDecreaseNanos >= toleratedNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            if (!failed) {
+                baselineNanos += BASELINE_WEIGHT * (Math.min(latencyNanos, toleratedNanos) - baselineNanos);
+            }
+        }
+    }
+
+    /**
+     * Give the slot back without a latency sample, for requests whose duration is set by the
+     * client (uploads, downloads) rather than by server load.
+     */
+    void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    long baselineNanos() {
+        synchronized (this) {
+            return (long) baselineNanos;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.flashcard.backend.security.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.flashcard.backend.exception.ApiError;
+import com.flashcard.backend.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +22,9 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
 
     private static final long WINDOW_SECONDS = 60;
 
-    private final ObjectMapper objectMapper;
+    private final ApiErrorWriter apiErrorWriter;
+    private final Counter signinRejections;
+    private final Counter signupRejections;
     private final ConcurrentHashMap<String, WindowCounter> signinCounters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, WindowCounter> signupCounters = new ConcurrentHashMap<>();
 
@@ -31,8 +34,10 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
     @Value("${flashcard.security.ratelimit.signup.perMinute:5}")
     private int signupPerMinute = 5;
 
-    public AuthRateLimitFilter(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public AuthRateLimitFilter(ApiErrorWriter apiErrorWriter, MeterRegistry meterRegistry) {
+        this.apiErrorWriter = apiErrorWriter;
+        this.signinRejections = meterRegistry.counter("flashcard.auth.ratelimit.rejections", "endpoint", "signin");
+        this.signupRejections = meterRegistry.counter("flashcard.auth.ratelimit.rejections", "endpoint", "signup");
     }
 
     @Override
@@ -54,6 +59,7 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
 
         if (Objects.equals(path, "/api/auth/signin")) {
             if (!allow(signinCounters, key, signinPerMinute)) {
+                signinRejections.increment();
                 writeTooManyRequests(response, request);
                 return;
             }
@@ -61,6 +67,7 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
 
         if (Objects.equals(path, "/api/auth/signup")) {
             if (!allow(signupCounters, key, signupPerMinute)) {
+                signupRejections.increment();
                 writeTooManyRequests(response, request);
                 return;
             }
@@ -69,7 +76,7 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean allow(ConcurrentHashMap<String, WindowCounter> map, String key, int limit) {
+    boolean allow(ConcurrentHashMap<String, WindowCounter> map, String key, int limit) {
         long now = System.currentTimeMillis() / 1000;
         WindowCounter counter = map.compute(key, (k, existing) -> {
             if (existing == null || now - existing.windowStartEpochSecond >= WINDOW_SECONDS) {
@@ -81,19 +88,7 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
     }
 
     private void writeTooManyRequests(HttpServletResponse response, HttpServletRequest request) throws IOException {
-        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
-        response.setStatus(status.value());
-        response.setContentType("application/json");
-
-        ApiError body = new ApiError(
-                System.currentTimeMillis(),
-                status.value(),
-                status.getReasonPhrase(),
-                "Too many requests",
-                request.getRequestURI(),
-                null);
-
-        response.getWriter().write(objectMapper.writeValueAsString(body));
+        apiErrorWriter.write(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests");
     }
 
     private String clientKey(HttpServletRequest request) {
@@ -104,6 +99,6 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
         return request.getRemoteAddr();
     }
 
-    private record WindowCounter(long windowStartEpochSecond, int count) {
+    record WindowCounter(long windowStartEpochSecond, int count) {
     }
 }
@@ -0,0 +1,174 @@
+package com.flashcard.backend.security.filter;
+
+import com.flashcard.backend.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adaptive concurrency limit in front of the API. Requests over the current limit are rejected
+ * with 503 and {@code Retry-After} before they take a Tomcat thread's worth of work, so latency
+ * for admitted requests stays bounded during spikes. Image traffic is shed first and auth last.
+ *
+ * <p>Only requests whose time is spent on the server feed the limit's latency signal. Uploads,
+ * file downloads and streamed exports take as long as the client's connection does, so they hold
+ * a slot without adding a sample, and asynchronous requests keep theirs until the async
+ * processing completes, errors or times out.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum Priority {
+        // Share of the limit each class may fill; when in-flight work passes a share, that class is shed
+        AUTH(1.0), DEFAULT(0.85), IMAGE(0.6);
+
+        final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final ApiErrorWriter apiErrorWriter;
+    private final AimdLimit limit;
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    @Value("${flashcard.concurrency.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${flashcard.concurrency.retryAfterSeconds:1}")
+    private int retryAfterSeconds = 1;
+
+    public ConcurrencyLimitFilter(ApiErrorWriter apiErrorWriter, MeterRegistry meterRegistry,
+                                  @Value("${flashcard.concurrency.initialLimit:50}") int initialLimit,
+                                  @Value("${flashcard.concurrency.minLimit:8}") int minLimit,
+                                  @Value("${flashcard.concurrency.maxLimit:200}") int maxLimit,
+                                  @Value("${flashcard.concurrency.backoffRatio:0.9}") double backoffRatio,
+                                  @Value("${flashcard.concurrency.latencyTolerance:2.0}") double latencyTolerance) {
+        this.apiErrorWriter = apiErrorWriter;
+        this.limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance);
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, meterRegistry.counter("flashcard.concurrency.shed",
+                    "priority", priority.name().toLowerCase(Locale.ROOT)));
+        }
+        Gauge.builder("flashcard.concurrency.limit", limit, AimdLimit::limit).register(meterRegistry);
+        Gauge.builder("flashcard.concurrency.inflight", limit, AimdLimit::inFlight).register(meterRegistry);
+        Gauge.builder("flashcard.concurrency.baseline", limit, l -> l.baselineNanos() / 1e6)
+                .baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = classify(request.getRequestURI());
+        if (!limit.tryAcquire(priority.share)) {
+            shed.get(priority).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            apiErrorWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server busy, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            }
+        } finally {
+            if (!async) {
+                if (isClientBound(request)) {
+                    limit.releaseUnsampled();
+                } else {
+                    limit.release(System.nanoTime() - start, failed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Requests whose duration depends on the client's transfer speed: multipart uploads, file
+     * downloads and streamed exports.
+     */
+    static boolean isClientBound(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return path.startsWith("/storage/local/") || path.startsWith("/api/user/profile/image/view")
+                || (path.startsWith("/api/decks/") && path.endsWith("/export"));
+    }
+
+    /**
+     * Holds the slot of an async request until its processing ends, whichever way it ends.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A re-dispatch that starts async again keeps the same listener registered
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.releaseUnsampled();
+            }
+        }
+    }
+
+    static Priority classify(String path) {
+        if (path.startsWith("/api/auth/")) {
+            return Priority.AUTH;
+        }
+        if (path.startsWith("/api/user/profile/image") || path.startsWith("/storage/local/")
+                || (path.startsWith("/api/decks/") && path.endsWith("/imports"))) {
+            return Priority.IMAGE;
+        }
+        return Priority.DEFAULT;
+    }
+}
@@ -0,0 +1,26 @@
+package com.flashcard.backend.security.jwt;
+
+import com.flashcard.backend.exception.ApiErrorWriter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class AccessDeniedHandlerJwt implements AccessDeniedHandler {
+
+    @Autowired
+    private ApiErrorWriter apiErrorWriter;
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+            AccessDeniedException accessDeniedException) throws IOException, ServletException {
+        apiErrorWriter.write(request, response, HttpStatus.FORBIDDEN, "Forbidden");
+    }
+}
@@ -1,10 +1,13 @@
 package com.flashcard.backend.security.jwt;
 
+import com.flashcard.backend.exception.ApiErrorWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -16,10 +19,21 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthEntryPointJwt.class);
 
+    @Autowired
+    private ApiErrorWriter apiErrorWriter;
+
+    private final SampledLog unauthorizedLog = new SampledLog(20, 60_000);
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
             throws IOException, ServletException {
-        logger.error("Unauthorized error: {}", authException.getMessage());
-        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Error: Unauthorized");
+        // Unauthenticated requests are normal client traffic; the token filter already counted the reason
+        if (logger.isDebugEnabled() && unauthorizedLog.tryAcquire()) {
+            Object reason = request.getAttribute(AuthTokenFilter.REJECTION_ATTRIBUTE);
+            logger.debug("Unauthorized {} {} (token: {}, {} similar suppressed): {}", request.getMethod(),
+                    request.getRequestURI(), reason == null ? "none" : reason, unauthorizedLog.drainSuppressed(),
+                    authException.getMessage());
+        }
+        apiErrorWriter.write(request, response, HttpStatus.UNAUTHORIZED, "Unauthorized");
     }
 }
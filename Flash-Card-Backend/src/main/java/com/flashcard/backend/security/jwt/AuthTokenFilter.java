@@ -1,6 +1,10 @@
 package com.flashcard.backend.security.jwt;
 
 import com.flashcard.backend.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,12 +16,15 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -27,15 +34,39 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    /**
+     * Request attribute carrying the {@link TokenStatus} of a rejected token, for the entry point.
+     */
+    public static final String REJECTION_ATTRIBUTE = AuthTokenFilter.class.getName() + ".REJECTION";
+
+    private final SampledLog rejectionLog = new SampledLog(10, 60_000);
+
+    private final Map<TokenStatus, Counter> rejectionCounters = new EnumMap<>(TokenStatus.class);
+
+    @PostConstruct
+    public void registerMeters() {
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                rejectionCounters.put(status, meterRegistry.counter("flashcard.auth.token.rejected",
+                        "reason", status.tag()));
+            }
+        }
+    }
+
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
-        logger.debug("AuthTokenFilter shouldNotFilter invoked for path: {}", path);
         boolean shouldSkip = path.startsWith("/api/auth/") || path.startsWith("/api/openai/")
-                || path.startsWith("/scalar") || path.startsWith("/v3/api-docs/") || path.startsWith("/webjars/");
-        logger.debug("shouldNotFilter returning: {}", shouldSkip);
+                || path.startsWith("/scalar") || path.startsWith("/v3/api-docs/") || path.startsWith("/webjars/")
+                || path.startsWith("/storage/local/") || path.equals("/livez") || path.equals("/readyz");
+        if (logger.isTraceEnabled()) {
+            logger.trace("shouldNotFilter({}) returning {}", path, shouldSkip);
+        }
         return shouldSkip;
     }
 
@@ -43,28 +74,62 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
-        logger.debug("AuthTokenFilter doFilterInternal invoked for path: {}", request.getRequestURI());
-        try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (logger.isTraceEnabled()) {
+            logger.trace("AuthTokenFilter doFilterInternal invoked for path: {}", request.getRequestURI());
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
+        String jwt = parseJwt(request);
+        if (jwt != null) {
+            TokenStatus status = authenticate(jwt, request);
+            if (status == TokenStatus.VALID) {
+                outcome = "authenticated";
+            } else {
+                outcome = "rejected";
+                reject(status, request);
             }
-        } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
         }
+        // Only the authentication work is timed, not the rest of the chain
+        sample.stop(meterRegistry.timer("flashcard.auth.token.filter", "outcome", outcome));
 
         filterChain.doFilter(request, response);
     }
 
+    private TokenStatus authenticate(String jwt, HttpServletRequest request) {
+        TokenCheck check = jwtUtils.checkJwtToken(jwt);
+        if (!check.isValid()) {
+            return check.status();
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(check.subject());
+        } catch (UsernameNotFoundException e) {
+            return TokenStatus.UNKNOWN_USER;
+        }
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return TokenStatus.VALID;
+    }
+
+    private void reject(TokenStatus status, HttpServletRequest request) {
+        rejectionCounters.get(status).increment();
+        request.setAttribute(REJECTION_ATTRIBUTE, status);
+
+        // Expired tokens are routine (clients refresh on 401), the rest may be worth a look
+        if (status == TokenStatus.EXPIRED) {
+            logger.debug("Rejected expired token for {}", request.getRequestURI());
+        } else if (rejectionLog.tryAcquire()) {
+            logger.warn("Rejected {} token for {} ({} similar suppressed)",
+                    status.tag(), request.getRequestURI(), rejectionLog.drainSuppressed());
+        }
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
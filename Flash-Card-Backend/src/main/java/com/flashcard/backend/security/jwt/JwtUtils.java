@@ -4,8 +4,6 @@ import com.flashcard.backend.service.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -13,21 +11,51 @@ import org.springframework.stereotype.Component;
 import jakarta.servlet.http.Cookie;
 import org.springframework.http.ResponseCookie;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.util.WebUtils;
 
 @Component
 public class JwtUtils {
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
-
     @Value("${flashcard.app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${flashcard.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    // Compact JWS is three base64url segments; anything longer than this is not one of ours
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    static final int REJECTED_CACHE_MAX_ENTRIES = 4096;
+
+    private static final long REJECTED_CACHE_TTL_MS = 10 * 60 * 1000;
+
+    // Tokens that failed for a reason that cannot change (expired, bad signature, ...), keyed by
+    // the SHA-256 of the token so an entry is small whatever the client sent. A client retrying a
+    // stale token is answered from here without another HMAC or jjwt exception. Least recently
+    // used entries are dropped beyond the bound and entries are ignored after the TTL.
+    private final Map<String, Rejection> recentlyRejected = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Rejection> eldest) {
+                    return size() > REJECTED_CACHE_MAX_ENTRIES;
+                }
+            });
+
+    private record Rejection(TokenStatus status, long expiresAtMs) {
+    }
+
+    private volatile Key signingKey;
+
+    private volatile JwtParser parser;
+
     public String generateJwtToken(Authentication authentication) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
@@ -41,6 +69,24 @@ public class JwtUtils {
     }
 
     private Key key() {
+        Key key = signingKey;
+        if (key == null) {
+            key = buildKey();
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser parser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parserBuilder().setSigningKey(key()).build();
+            parser = p;
+        }
+        return p;
+    }
+
+    private Key buildKey() {
         byte[] keyBytes;
         try {
             keyBytes = Decoders.BASE64.decode(jwtSecret);
@@ -54,8 +100,7 @@ public class JwtUtils {
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser().parseClaimsJws(token).getBody().getSubject();
     }
 
     public String getJwtFromCookies(HttpServletRequest request) {
@@ -84,19 +129,84 @@ public class JwtUtils {
     }
 
     public boolean validateJwtToken(String authToken) {
+        return checkJwtToken(authToken).isValid();
+    }
+
+    /**
+     * Validate a token and extract its subject in a single parse. Failures are classified
+     * instead of logged; the caller decides what to count and log.
+     */
+    public TokenCheck checkJwtToken(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            return TokenCheck.rejected(TokenStatus.EMPTY);
+        }
+        if (!isCompactJws(authToken)) {
+            return TokenCheck.rejected(TokenStatus.MALFORMED);
+        }
+        String digest = digest(authToken);
+        Rejection known = recentlyRejected.get(digest);
+        if (known != null) {
+            if (known.expiresAtMs() > System.currentTimeMillis()) {
+                return TokenCheck.rejected(known.status());
+            }
+            recentlyRejected.remove(digest);
+        }
+
+        TokenStatus status;
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            return TokenCheck.valid(parser().parseClaimsJws(authToken).getBody().getSubject());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            status = TokenStatus.EXPIRED;
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            status = TokenStatus.INVALID_SIGNATURE;
+        } catch (MalformedJwtException e) {
+            status = TokenStatus.MALFORMED;
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            status = TokenStatus.UNSUPPORTED;
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            status = TokenStatus.EMPTY;
+        } catch (JwtException e) {
+            // Claim checks (premature, incorrect or missing claims) must reject, not escape as a 500
+            status = TokenStatus.INVALID;
+        }
+
+        // INVALID covers time-dependent claim checks such as nbf, which may pass on a later try
+        if (status != TokenStatus.INVALID) {
+            recentlyRejected.put(digest, new Rejection(status, System.currentTimeMillis() + REJECTED_CACHE_TTL_MS));
         }
+        return TokenCheck.rejected(status);
+    }
 
-        return false;
+    int rejectedCacheSize() {
+        return recentlyRejected.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available");
+        }
+    }
+
+    /**
+     * Cheap shape check so scanner garbage is rejected before jjwt builds an exception for it.
+     */
+    private static boolean isCompactJws(String token) {
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '=')) {
+                return false;
+            }
+        }
+        return dots == 2;
     }
 }
@@ -0,0 +1,40 @@
+package com.flashcard.backend.security.jwt;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permits} log lines through per interval and counts the rest, so a client
+ * retrying a stale token or a scanner cannot flood the log. Callers report the suppressed count
+ * on the next line that gets through.
+ */
+final class SampledLog {
+
+    private final int permits;
+    private final long intervalMs;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    SampledLog(int permits, long intervalMs) {
+        this.permits = permits;
+        this.intervalMs = intervalMs;
+    }
+
+    boolean tryAcquire() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= intervalMs && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.flashcard.backend.security.jwt;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result of {@link JwtUtils#checkJwtToken(String)}: the status and, for valid tokens, the subject.
+ * Rejections are shared constants so the failure path allocates nothing.
+ */
+public record TokenCheck(TokenStatus status, String subject) {
+
+    private static final Map<TokenStatus, TokenCheck> REJECTIONS = new EnumMap<>(TokenStatus.class);
+
+    static {
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                REJECTIONS.put(status, new TokenCheck(status, null));
+            }
+        }
+    }
+
+    public static TokenCheck valid(String subject) {
+        return new TokenCheck(TokenStatus.VALID, subject);
+    }
+
+    public static TokenCheck rejected(TokenStatus status) {
+        return REJECTIONS.get(status);
+    }
+
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+}
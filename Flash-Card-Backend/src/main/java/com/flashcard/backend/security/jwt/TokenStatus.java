@@ -0,0 +1,25 @@
+package com.flashcard.backend.security.jwt;
+
+import java.util.Locale;
+
+/**
+ * Outcome of checking a bearer token. Everything except {@link #VALID} is a rejection reason
+ * and is used as the {@code reason} tag on {@code flashcard.auth.token.rejected}.
+ */
+public enum TokenStatus {
+    VALID,
+    EMPTY,
+    MALFORMED,
+    EXPIRED,
+    INVALID_SIGNATURE,
+    UNSUPPORTED,
+    /** Well-formed and signed, but a claim check failed, e.g. not valid before a later time. */
+    INVALID,
+    UNKNOWN_USER;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -1,5 +1,6 @@
 package com.flashcard.backend.security.oauth;
 
+import com.flashcard.backend.timing.RequestTiming;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
@@ -9,6 +10,12 @@ import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URI;
@@ -17,18 +24,39 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.text.ParseException;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
+@Component
 public class JwksJwtVerifier {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwksJwtVerifier.class);
+
     private final HttpClient httpClient = HttpClient.newHttpClient();
 
     private final ConcurrentHashMap<String, CachedJwks> jwksCache = new ConcurrentHashMap<>();
 
+    private final Set<String> prefetchUrls = ConcurrentHashMap.newKeySet();
+
+    private volatile CompletableFuture<Void> prefetch = CompletableFuture.completedFuture(null);
+
+    private final MeterRegistry meterRegistry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwksJwtVerifier(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cacheHits = meterRegistry.counter("flashcard.jwks.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("flashcard.jwks.cache", "result", "miss");
+    }
+
     public JWTClaimsSet verify(String jwt, String jwksUrl, List<String> expectedIssuers, String expectedAudience)
             throws ParseException, IOException, InterruptedException, JOSEException {
 
@@ -75,11 +103,49 @@ public class JwksJwtVerifier {
         }
     }
 
+    /**
+     * Fetch key sets in the background so the first sign-in does not pay for the round trip.
+     * Failures are left for the first real request to retry.
+     */
+    public void prefetch(Collection<String> jwksUrls) {
+        prefetchUrls.addAll(jwksUrls);
+        prefetch = CompletableFuture.runAsync(() -> {
+            for (String jwksUrl : jwksUrls) {
+                try {
+                    refreshJwks(jwksUrl);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    logger.warn("JWKS prefetch from {} failed: {}", jwksUrl, e.toString());
+                }
+            }
+        });
+    }
+
+    public boolean isPrefetchDone() {
+        return prefetch.isDone();
+    }
+
+    /**
+     * Whether each prefetched URL has a key set in memory. Expired sets still count: they
+     * hold the keys most tokens are signed with and are refreshed on the next use.
+     */
+    public Map<String, Boolean> warmState() {
+        Map<String, Boolean> state = new TreeMap<>();
+        for (String jwksUrl : prefetchUrls) {
+            state.put(jwksUrl, jwksCache.containsKey(jwksUrl));
+        }
+        return state;
+    }
+
     private JWKSet getJwks(String jwksUrl) throws IOException, InterruptedException, ParseException {
         CachedJwks cached = jwksCache.get(jwksUrl);
         if (cached != null && cached.expiresAtEpochMs > System.currentTimeMillis()) {
+            cacheHits.increment();
             return cached.jwkSet;
         }
+        cacheMisses.increment();
         return refreshJwks(jwksUrl);
     }
 
@@ -88,10 +154,22 @@ public class JwksJwtVerifier {
                 .uri(URI.create(jwksUrl))
                 .GET()
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long timingStart = RequestTiming.start();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException | InterruptedException e) {
+            sample.stop(fetchTimer(request, "error"));
+            throw e;
+        } finally {
+            RequestTiming.stop("jwks", timingStart);
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            sample.stop(fetchTimer(request, "error"));
             throw new IllegalStateException("Failed to fetch JWKS");
         }
+        sample.stop(fetchTimer(request, "success"));
 
         JWKSet jwkSet = JWKSet.parse(response.body());
 
@@ -101,6 +179,10 @@ public class JwksJwtVerifier {
         return jwkSet;
     }
 
+    private Timer fetchTimer(HttpRequest request, String outcome) {
+        return meterRegistry.timer("flashcard.jwks.fetch", "host", request.uri().getHost(), "outcome", outcome);
+    }
+
     private long parseCacheTtlMs(Map<String, List<String>> headers) {
         List<String> cacheControl = headers.get("cache-control");
         if (cacheControl == null) {
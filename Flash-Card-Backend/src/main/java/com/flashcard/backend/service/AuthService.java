@@ -9,6 +9,8 @@ import com.flashcard.backend.repository.UserRepository;
 import com.flashcard.backend.security.jwt.JwtUtils;
 import com.flashcard.backend.user.Role;
 import com.flashcard.backend.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -29,6 +31,8 @@ import java.util.stream.Collectors;
 @Service
 public class AuthService {
 
+        private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
         @Autowired
         AuthenticationManager authenticationManager;
 
@@ -45,7 +49,7 @@ public class AuthService {
         JwtUtils jwtUtils;
 
         @Autowired
-        SupabaseStorageService storageService;
+        StorageService storageService;
 
         public ResponseEntity<?> authenticateUser(LoginRequest loginRequest) {
                 String username = loginRequest.getUsername() == null ? null : loginRequest.getUsername().trim();
@@ -64,7 +68,7 @@ public class AuthService {
                 try {
                     imageUrl = storageService.getSignedUrl(imageUrl);
                 } catch (Exception e) {
-                    System.err.println("Error signing URL in AuthService: " + e.getMessage());
+                    logger.warn("Error signing image URL for user {}: {}", userDetails.getId(), e.getMessage());
                 }
 
                 ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(jwt);
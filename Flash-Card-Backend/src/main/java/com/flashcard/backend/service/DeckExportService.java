@@ -0,0 +1,138 @@
+package com.flashcard.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.exception.CapacityExceededException;
+import com.flashcard.backend.exception.ResourceNotFoundException;
+import com.flashcard.backend.exports.CardExportWriter;
+import com.flashcard.backend.exports.ExportFormat;
+import com.flashcard.backend.repository.CardExportRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deck export streamed from a database cursor into the response, optionally through gzip.
+ * Cards go from the result set to the output one at a time, so memory does not depend on deck
+ * size and the first bytes leave before the query has finished. Each export holds a pooled
+ * connection while the client downloads, hence the cap on concurrent exports.
+ *
+ * <p>An export's permit is released when its body finishes writing, or through
+ * {@link DeckExport#release()} when the response ends without the body running at all (client
+ * abort, async timeout); releasing twice is harmless.
+ */
+@Service
+public class DeckExportService {
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    CardExportRepository cardExportRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Semaphore permits;
+
+    @Value("${flashcard.exports.retryAfterSeconds:30}")
+    private int retryAfterSeconds = 30;
+
+    public DeckExportService(PlatformTransactionManager transactionManager,
+                             @Value("${flashcard.exports.maxConcurrent:4}") int maxConcurrent) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public DeckExport export(Long userId, Long deckId, ExportFormat format, boolean gzip) {
+        Deck deck = deckRepository.findByIdAndUserId(deckId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+        if (!permits.tryAcquire()) {
+            throw new CapacityExceededException("Too many exports in progress, try again later", retryAfterSeconds);
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    ExportGzipStream compressed = new ExportGzipStream(out);
+                    try {
+                        write(deck, format, compressed);
+                    } finally {
+                        compressed.end();
+                    }
+                } else {
+                    write(deck, format, out);
+                }
+            } finally {
+                release.run();
+            }
+        };
+        return new DeckExport(fileName(deck, format), body, release);
+    }
+
+    private void write(Deck deck, ExportFormat format, OutputStream out) throws IOException {
+        CardExportWriter writer = format.open(out, deck, objectMapper);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    cardExportRepository.forEachInDeck(deck.getUserId(), deck.getId(), writer::write));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        if (out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        out.flush();
+    }
+
+    static String fileName(Deck deck, ExportFormat format) {
+        String base = deck.getName().replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+        return (base.isEmpty() ? "deck-" + deck.getId() : base) + format.extension;
+    }
+
+    /**
+     * Gzip over the response stream. The container owns {@code out}, so the stream is never
+     * closed; {@link #end()} frees the native deflater instead, also when the cursor read or the
+     * client write failed halfway.
+     */
+    private static final class ExportGzipStream extends GZIPOutputStream {
+
+        ExportGzipStream(OutputStream out) throws IOException {
+            super(out, 8192);
+        }
+
+        void end() {
+            def.end();
+        }
+    }
+
+    /**
+     * A started export; {@link #release()} gives back its permit if the body has not already.
+     */
+    public record DeckExport(String fileName, StreamingResponseBody body, Runnable releasePermit) {
+
+        public void release() {
+            releasePermit.run();
+        }
+    }
+}
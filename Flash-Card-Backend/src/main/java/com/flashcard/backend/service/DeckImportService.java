@@ -0,0 +1,244 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.exception.CapacityExceededException;
+import com.flashcard.backend.exception.ResourceNotFoundException;
+import com.flashcard.backend.imports.CardFileReader;
+import com.flashcard.backend.imports.ImportFormat;
+import com.flashcard.backend.imports.ImportJob;
+import com.flashcard.backend.payload.request.CardRequest;
+import com.flashcard.backend.payload.response.ImportJobResponse;
+import com.flashcard.backend.repository.DeckRepository;
+import com.flashcard.backend.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk card import as a background job. The upload is moved to a spool file and the request
+ * returns at once; a worker then streams the file row by row, validates each row with the same
+ * constraints as the card API and inserts cards in batches through {@link DeckService#addCards},
+ * one transaction per batch. Only one batch is held in memory, whatever the file size.
+ *
+ * <p>Because batches commit on their own, a job that fails part-way keeps the cards it already
+ * imported; the job reports them in {@code cardsImported} and says so in its error.
+ */
+@Service
+public class DeckImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeckImportService.class);
+
+    private static final int MAX_REJECTIONS = 20;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    DeckService deckService;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    ImportJobRepository jobRepository;
+
+    @Autowired
+    Validator validator;
+
+    @Value("${flashcard.imports.dir:${java.io.tmpdir}/flashcard-imports}")
+    private String spoolDir;
+
+    @Value("${flashcard.imports.batchSize:1000}")
+    private int batchSize = 1000;
+
+    @Value("${flashcard.imports.threads:2}")
+    private int threads = 2;
+
+    @Value("${flashcard.imports.queueCapacity:50}")
+    private int queueCapacity = 50;
+
+    @Value("${flashcard.imports.retryAfterSeconds:30}")
+    private int retryAfterSeconds = 30;
+
+    @Value("${flashcard.imports.staleMs:600000}")
+    private long staleMs = 600_000;
+
+    private Path spool;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        spool = Path.of(spoolDir).toAbsolutePath().normalize();
+        Files.createDirectories(spool);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "deck-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobResponse start(Long userId, Long deckId, MultipartFile file, String format) throws IOException {
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        if (!deckRepository.existsByIdAndUserId(deckId, userId)) {
+            throw new ResourceNotFoundException("Deck not found");
+        }
+
+        // A rename when the container already spooled the part to disk
+        Path spooled = spool.resolve("import-" + UUID.randomUUID() + ".tmp");
+        file.transferTo(spooled);
+        ImportJob job = jobRepository.save(ImportJob.of(userId, deckId, importFormat, file.getOriginalFilename(),
+                file.getSize()));
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            Files.deleteIfExists(spooled);
+            jobRepository.delete(job);
+            throw new CapacityExceededException("Too many imports in progress, try again later", retryAfterSeconds);
+        }
+        return ImportJobResponse.from(job);
+    }
+
+    public ImportJobResponse getJob(Long userId, Long deckId, Long jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId)
+                .filter(job -> job.getDeckId().equals(deckId))
+                .map(ImportJobResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found"));
+    }
+
+    /**
+     * Fail jobs whose worker went away, e.g. with a restarted node.
+     */
+    @Scheduled(fixedDelayString = "${flashcard.imports.staleCheckMs:60000}")
+    public void failStaleJobs() {
+        int failed = jobRepository.failStale(Instant.now().minusMillis(staleMs),
+                "Import was interrupted; cards imported before that were kept");
+        if (failed > 0) {
+            logger.warn("Marked {} stalled imports as failed", failed);
+        }
+    }
+
+    void run(ImportJob job, Path file) {
+        if (jobRepository.claim(job.getId()) == 0) {
+            logger.info("Import {} is no longer queued, skipping it", job.getId());
+            deleteSpool(file);
+            return;
+        }
+        job.setStatus(ImportJob.RUNNING);
+        job.setUpdatedAt(Instant.now());
+        ImportFormat format = ImportFormat.valueOf(job.getFormat());
+        List<CardRequest> batch = new ArrayList<>(batchSize);
+        List<String> rejections = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             CardFileReader reader = CardFileReader.open(Channels.newInputStream(channel), format)) {
+            CardFileReader.CardRow row;
+            while ((row = reader.next()) != null) {
+                job.setRowsRead(job.getRowsRead() + 1);
+                CardRequest request = new CardRequest();
+                request.setFront(row.front());
+                request.setBack(row.back());
+                String problem = validate(request);
+                if (problem != null) {
+                    job.setRowsRejected(job.getRowsRejected() + 1);
+                    if (rejections.size() < MAX_REJECTIONS) {
+                        rejections.add("line " + row.line() + ": " + problem);
+                    }
+                    continue;
+                }
+                batch.add(request);
+                if (batch.size() == batchSize) {
+                    insert(job, batch, channel.position());
+                }
+            }
+            insert(job, batch, channel.position());
+            job.setStatus(ImportJob.DONE);
+        } catch (IOException | IllegalArgumentException | ResourceNotFoundException e) {
+            fail(job, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Import {} failed", job.getId(), e);
+            fail(job, "Import failed");
+        } finally {
+            job.setRejections(rejections.isEmpty() ? null : String.join("\n", rejections));
+            job.setFinishedAt(Instant.now());
+            job.setUpdatedAt(job.getFinishedAt());
+            jobRepository.save(job);
+            deleteSpool(file);
+        }
+        logger.info("Import {} {}: {} cards, {} rows rejected", job.getId(), job.getStatus(), job.getCardsImported(),
+                job.getRowsRejected());
+    }
+
+    private void insert(ImportJob job, List<CardRequest> batch, long bytesRead) {
+        if (!batch.isEmpty()) {
+            deckService.addCards(job.getUserId(), job.getDeckId(), batch);
+            job.setCardsImported(job.getCardsImported() + batch.size());
+            batch.clear();
+        }
+        job.setBytesRead(bytesRead);
+        jobRepository.updateProgress(job.getId(), bytesRead, job.getRowsRead(), job.getCardsImported(),
+                job.getRowsRejected());
+    }
+
+    private String validate(CardRequest request) {
+        if (request.getBack() == null) {
+            return "expected front and back columns";
+        }
+        if (request.getFront().isBlank()) {
+            return "front is blank";
+        }
+        Set<ConstraintViolation<CardRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        ConstraintViolation<CardRequest> violation = violations.iterator().next();
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+
+    private static void deleteSpool(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void fail(ImportJob job, String message) {
+        String error = message == null ? "Import failed" : message;
+        String kept = job.getCardsImported() == 0 ? ""
+                : " (" + job.getCardsImported() + " cards imported before the failure were kept)";
+        int room = MAX_ERROR_LENGTH - kept.length();
+        job.setStatus(ImportJob.FAILED);
+        job.setError((error.length() > room ? error.substring(0, room) : error) + kept);
+    }
+}
@@ -0,0 +1,172 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.exception.ResourceNotFoundException;
+import com.flashcard.backend.payload.request.CardRequest;
+import com.flashcard.backend.payload.request.DeckRequest;
+import com.flashcard.backend.payload.response.CardResponse;
+import com.flashcard.backend.payload.response.DeckResponse;
+import com.flashcard.backend.payload.response.PageResponse;
+import com.flashcard.backend.repository.CardBatchRepository;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import com.flashcard.backend.repository.TombstoneRepository;
+import com.flashcard.backend.scheduling.DueCardQueue;
+import com.flashcard.backend.sync.ChangeSequence;
+import com.flashcard.backend.sync.Tombstone;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decks and cards of one user. Every query is scoped by the owner's id, and lists are keyset
+ * paginated by id so a page costs the same on the first and the thousandth call. Each write
+ * takes a value from the user's {@link ChangeSequence} before touching any row.
+ */
+@Service
+public class DeckService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    CardRepository cardRepository;
+
+    @Autowired
+    CardBatchRepository cardBatchRepository;
+
+    @Autowired
+    DueCardQueue dueCardQueue;
+
+    @Autowired
+    ChangeSequence changeSequence;
+
+    @Autowired
+    TombstoneRepository tombstoneRepository;
+
+    @Transactional(readOnly = true)
+    public PageResponse<DeckResponse> listDecks(Long userId, Long after, Integer limit) {
+        int size = pageSize(limit);
+        List<Deck> decks = deckRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, cursor(after),
+                Limit.of(size + 1));
+        return PageResponse.of(decks, size, Deck::getId, DeckResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public DeckResponse getDeck(Long userId, Long deckId) {
+        return DeckResponse.from(ownedDeck(userId, deckId));
+    }
+
+    @Transactional
+    public DeckResponse createDeck(Long userId, DeckRequest request) {
+        Deck deck = Deck.of(userId, request.getName(), request.getDescription());
+        deck.setChangeSeq(changeSequence.next(userId));
+        deck.setClientId(request.getClientId());
+        return DeckResponse.from(deckRepository.save(deck));
+    }
+
+    @Transactional
+    public DeckResponse updateDeck(Long userId, Long deckId, DeckRequest request) {
+        long seq = changeSequence.next(userId);
+        Deck deck = ownedDeck(userId, deckId);
+        deck.setName(request.getName());
+        deck.setDescription(request.getDescription());
+        deck.setUpdatedAt(Instant.now());
+        deck.setChangeSeq(seq);
+        deckRepository.bumpContentVersion(userId, deckId);
+        return DeckResponse.from(deck);
+    }
+
+    @Transactional
+    public void deleteDeck(Long userId, Long deckId) {
+        long seq = changeSequence.next(userId);
+        // Cards go with the deck through the (user_id, deck_id) foreign key cascade; the deck's
+        // tombstone covers them in the change feed
+        deckRepository.delete(ownedDeck(userId, deckId));
+        tombstoneRepository.save(Tombstone.of(userId, Tombstone.DECK, deckId, seq));
+        dueCardQueue.invalidate(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<CardResponse> listCards(Long userId, Long deckId, Long after, Integer limit) {
+        int size = pageSize(limit);
+        List<Card> cards = cardRepository.findByUserIdAndDeckIdAndIdGreaterThanOrderByIdAsc(userId, deckId,
+                cursor(after), Limit.of(size + 1));
+        // Ownership only needs its own query when the page comes back empty
+        if (cards.isEmpty() && !deckRepository.existsByIdAndUserId(deckId, userId)) {
+            throw new ResourceNotFoundException("Deck not found");
+        }
+        return PageResponse.of(cards, size, Card::getId, CardResponse::from);
+    }
+
+    @Transactional
+    public List<CardResponse> addCards(Long userId, Long deckId, List<CardRequest> requests) {
+        // One value for the deck's new count, then one per card
+        long firstSeq = changeSequence.allocate(userId, requests.size() + 1);
+        if (deckRepository.adjustCardCount(userId, deckId, requests.size(), firstSeq) == 0) {
+            throw new ResourceNotFoundException("Deck not found");
+        }
+        List<Card> cards = new ArrayList<>(requests.size());
+        for (CardRequest request : requests) {
+            Card card = Card.of(userId, deckId, request.getFront(), request.getBack());
+            card.setChangeSeq(firstSeq + 1 + cards.size());
+            card.setClientId(request.getClientId());
+            cards.add(card);
+        }
+        cardBatchRepository.insert(cards);
+        dueCardQueue.upsert(userId, cards);
+        return cards.stream().map(CardResponse::from).toList();
+    }
+
+    @Transactional
+    public CardResponse updateCard(Long userId, Long deckId, Long cardId, CardRequest request) {
+        long seq = changeSequence.next(userId);
+        Card card = ownedCard(userId, deckId, cardId);
+        card.setFront(request.getFront());
+        card.setBack(request.getBack());
+        card.setUpdatedAt(Instant.now());
+        card.setChangeSeq(seq);
+        deckRepository.bumpContentVersion(userId, deckId);
+        dueCardQueue.upsert(userId, List.of(card));
+        return CardResponse.from(card);
+    }
+
+    @Transactional
+    public void deleteCard(Long userId, Long deckId, Long cardId) {
+        long seq = changeSequence.allocate(userId, 2);
+        cardRepository.delete(ownedCard(userId, deckId, cardId));
+        deckRepository.adjustCardCount(userId, deckId, -1, seq + 1);
+        tombstoneRepository.save(Tombstone.of(userId, Tombstone.CARD, cardId, seq));
+        dueCardQueue.remove(userId, cardId);
+    }
+
+    private Deck ownedDeck(Long userId, Long deckId) {
+        return deckRepository.findByIdAndUserId(deckId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+    }
+
+    private Card ownedCard(Long userId, Long deckId, Long cardId) {
+        return cardRepository.findByIdAndUserIdAndDeckId(cardId, userId, deckId)
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+}
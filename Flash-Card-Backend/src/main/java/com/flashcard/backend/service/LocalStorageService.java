@@ -0,0 +1,187 @@
+package com.flashcard.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores objects on the local filesystem. Meant for single-node deployments and offline
+ * load tests: reads skip the network hop and callers serve files with sendfile via
+ * {@link #resolveLocalFile(String)}, so object bytes never pass through the heap.
+ * Signed URLs use their own HMAC key; without one configured a random key is generated at
+ * startup, and URLs handed out before a restart stop verifying.
+ */
+@Service
+@Qualifier(StorageService.BACKEND)
+@ConditionalOnProperty(name = "flashcard.storage.backend", havingValue = "local")
+public class LocalStorageService implements StorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageService.class);
+
+    public static final String URL_PREFIX = "/storage/local/";
+
+    private static final long SIGNED_URL_TTL_SECONDS = 86400;
+
+    @Value("${flashcard.storage.local.root:./data/storage}")
+    private String rootDir;
+
+    @Value("${flashcard.storage.local.bucket:flashcard.profile.picture}")
+    private String bucketName;
+
+    @Value("${flashcard.storage.local.publicUrl:}")
+    private String publicUrl;
+
+    @Value("${flashcard.storage.local.signingKey:}")
+    private String signingKey;
+
+    private Path root;
+
+    private SecretKeySpec urlKey;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Path.of(rootDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        byte[] keyBytes;
+        if (signingKey == null || signingKey.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            logger.warn("flashcard.storage.local.signingKey is not set; signed URLs will not survive a restart");
+        } else {
+            keyBytes = signingKey.getBytes(StandardCharsets.UTF_8);
+        }
+        urlKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+        logger.info("LocalStorageService initialized with root {}", root);
+    }
+
+    @Override
+    public String uploadProfilePicture(Long userId, byte[] imageData, String contentType, String contentHash)
+            throws IOException {
+        String folderName = UUID.nameUUIDFromBytes(("user-" + userId).getBytes()).toString();
+        String storedPath = bucketName + "/" + folderName + "/" + contentHash + getExtension(contentType);
+
+        Path target = resolve(storedPath);
+        Files.createDirectories(target.getParent());
+        // Write to a temp file and move, so readers never observe a partially written object
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, imageData);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return storedPath;
+    }
+
+    @Override
+    public void deleteObjects(List<String> storedPaths) throws IOException {
+        for (String storedPath : storedPaths) {
+            if (storedPath == null || storedPath.isEmpty() || storedPath.startsWith("http")) {
+                continue;
+            }
+            Files.deleteIfExists(resolve(storedPath));
+        }
+    }
+
+    @Override
+    public String getSignedUrl(String storedPath) {
+        if (storedPath == null || storedPath.startsWith("http")) {
+            return storedPath;
+        }
+        long expires = Instant.now().getEpochSecond() + SIGNED_URL_TTL_SECONDS;
+        return publicUrl + URL_PREFIX + storedPath + "?expires=" + expires + "&sig=" + sign(storedPath, expires);
+    }
+
+    /**
+     * Only for callers that need the bytes themselves; serving a download should go through
+     * {@link #resolveLocalFile(String)} instead.
+     */
+    @Override
+    public byte[] downloadImage(String storedPath) throws IOException {
+        Path file = resolveLocalFile(storedPath);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Path resolveLocalFile(String storedPath) {
+        if (storedPath == null || storedPath.isEmpty() || storedPath.startsWith("http")) {
+            return null;
+        }
+        Path file = resolve(storedPath);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    @Override
+    public void checkReachable() throws IOException {
+        if (!Files.isDirectory(root) || !Files.isWritable(root)) {
+            throw new IOException("Storage root " + root + " is not a writable directory");
+        }
+    }
+
+    /**
+     * Check a signature produced by {@link #getSignedUrl(String)}.
+     */
+    public boolean verifySignature(String storedPath, long expires, String signature) {
+        if (signature == null || expires < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        byte[] expected = sign(storedPath, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String storedPath, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(urlKey);
+            byte[] sig = mac.doFinal((storedPath + "|" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sig);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 not available");
+        }
+    }
+
+    private Path resolve(String storedPath) {
+        Path file = root.resolve(storedPath).normalize();
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage path");
+        }
+        return file;
+    }
+
+    private String getExtension(String contentType) {
+        if (contentType == null) return ".png";
+        return switch (contentType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/webp" -> ".webp";
+            default -> ".png";
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.timing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a {@code flashcard.storage.operation} timer around every call to the configured
+ * storage backend, tagged by backend, operation and outcome. Timed requests also get a
+ * {@code <backend>-<operation>} Server-Timing span.
+ */
+@Service
+@Primary
+public class MeteredStorageService implements StorageService {
+
+    private final StorageService backend;
+    private final MeterRegistry meterRegistry;
+    private final String backendName;
+
+    public MeteredStorageService(@Qualifier(StorageService.BACKEND) StorageService backend,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${flashcard.storage.backend:supabase}") String backendName) {
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.backendName = backendName;
+    }
+
+    @Override
+    public String uploadProfilePicture(Long userId, byte[] imageData, String contentType, String contentHash)
+            throws IOException, InterruptedException {
+        return record("upload", () -> backend.uploadProfilePicture(userId, imageData, contentType, contentHash));
+    }
+
+    @Override
+    public void deleteObjects(List<String> storedPaths) throws IOException, InterruptedException {
+        record("delete", () -> {
+            backend.deleteObjects(storedPaths);
+            return null;
+        });
+    }
+
+    @Override
+    public String getSignedUrl(String storedPath) throws IOException, InterruptedException {
+        return record("sign", () -> backend.getSignedUrl(storedPath));
+    }
+
+    @Override
+    public Map<String, String> getSignedUrls(Collection<String> storedPaths) throws IOException, InterruptedException {
+        return record("sign_batch", () -> backend.getSignedUrls(storedPaths));
+    }
+
+    @Override
+    public byte[] downloadImage(String storedPath) throws IOException, InterruptedException {
+        return record("download", () -> backend.downloadImage(storedPath));
+    }
+
+    @Override
+    public void checkReachable() throws IOException, InterruptedException {
+        backend.checkReachable();
+    }
+
+    @Override
+    public Path resolveLocalFile(String storedPath) {
+        return backend.resolveLocalFile(storedPath);
+    }
+
+    private <T> T record(String operation, StorageCall<T> call) throws IOException, InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long timingStart = RequestTiming.start();
+        String outcome = "error";
+        try {
+            T result = call.execute();
+            outcome = "success";
+            return result;
+        } finally {
+            RequestTiming.stop(backendName, operation, timingStart);
+            sample.stop(meterRegistry.timer("flashcard.storage.operation",
+                    "backend", backendName, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    @FunctionalInterface
+    private interface StorageCall<T> {
+        T execute() throws IOException, InterruptedException;
+    }
+}
@@ -7,13 +7,20 @@ import com.flashcard.backend.repository.UserIdentityRepository;
 import com.flashcard.backend.repository.UserRepository;
 import com.flashcard.backend.security.jwt.JwtUtils;
 import com.flashcard.backend.security.oauth.JwksJwtVerifier;
+import com.flashcard.backend.timing.RequestTiming;
 import com.flashcard.backend.user.Role;
 import com.flashcard.backend.user.User;
 import com.flashcard.backend.user.UserIdentity;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -31,6 +38,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.text.ParseException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
@@ -40,14 +48,11 @@ import java.util.stream.Collectors;
 @Service
 public class OAuthService {
 
-    private static final String APPLE_JWKS_URL = "https://appleid.apple.com/auth/keys";
-    private static final String GOOGLE_JWKS_URL = "https://www.googleapis.com/oauth2/v3/certs";
-    private static final String GOOGLE_TOKEN_URL = "https://oauth2.googleapis.com/token";
+    private static final Logger logger = LoggerFactory.getLogger(OAuthService.class);
 
     private static final Pattern USERNAME_ALLOWED = Pattern.compile("[^a-z0-9]");
 
     private final HttpClient httpClient = HttpClient.newHttpClient();
-    private final JwksJwtVerifier jwksJwtVerifier = new JwksJwtVerifier();
 
     @Value("${flashcard.oauth.apple.clientId:}")
     private String appleClientId;
@@ -55,6 +60,16 @@ public class OAuthService {
     @Value("${flashcard.oauth.google.clientId:}")
     private String googleClientId;
 
+    // Provider endpoints are configurable so load tests can point them at local stubs
+    @Value("${flashcard.oauth.apple.jwksUrl:https://appleid.apple.com/auth/keys}")
+    private String appleJwksUrl;
+
+    @Value("${flashcard.oauth.google.jwksUrl:https://www.googleapis.com/oauth2/v3/certs}")
+    private String googleJwksUrl;
+
+    @Value("${flashcard.oauth.google.tokenUrl:https://oauth2.googleapis.com/token}")
+    private String googleTokenUrl;
+
     @Autowired
     UserRepository userRepository;
 
@@ -68,14 +83,62 @@ public class OAuthService {
     JwtUtils jwtUtils;
 
     @Autowired
-    SupabaseStorageService storageService;
+    StorageService storageService;
 
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    JwksJwtVerifier jwksJwtVerifier;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+     * Warm the JWKS cache for the configured providers once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetchJwks() {
+        List<String> jwksUrls = new ArrayList<>();
+        if (appleClientId != null && !appleClientId.isEmpty()) {
+            jwksUrls.add(appleJwksUrl);
+        }
+        if (googleClientId != null && !googleClientId.isEmpty()) {
+            jwksUrls.add(googleJwksUrl);
+        }
+        jwksJwtVerifier.prefetch(jwksUrls);
+    }
+
     @Transactional
     public com.flashcard.backend.payload.response.JwtResponse loginWithApple(String identityToken, String rawNonce, String displayName)
             throws ParseException, IOException, InterruptedException, JOSEException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            com.flashcard.backend.payload.response.JwtResponse response = appleLogin(identityToken, rawNonce, displayName);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(loginTimer("apple", outcome));
+        }
+    }
+
+    @Transactional
+    public com.flashcard.backend.payload.response.JwtResponse loginWithGoogleCode(String code, String codeVerifier, String redirectUri)
+            throws IOException, InterruptedException, ParseException, JOSEException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            com.flashcard.backend.payload.response.JwtResponse response = googleLogin(code, codeVerifier, redirectUri);
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(loginTimer("google", outcome));
+        }
+    }
+
+    private com.flashcard.backend.payload.response.JwtResponse appleLogin(String identityToken, String rawNonce, String displayName)
+            throws ParseException, IOException, InterruptedException, JOSEException {
 
         if (appleClientId == null || appleClientId.isBlank()) {
             throw new IllegalStateException("Apple OAuth is not configured");
@@ -83,7 +146,7 @@ public class OAuthService {
 
         JWTClaimsSet claims = jwksJwtVerifier.verify(
                 identityToken,
-                APPLE_JWKS_URL,
+                appleJwksUrl,
                 List.of("https://appleid.apple.com"),
                 appleClientId
         );
@@ -112,8 +175,7 @@ public class OAuthService {
         return loginOrCreate("APPLE", providerUserId, email, emailVerified != null && emailVerified, dn, null);
     }
 
-    @Transactional
-    public com.flashcard.backend.payload.response.JwtResponse loginWithGoogleCode(String code, String codeVerifier, String redirectUri)
+    private com.flashcard.backend.payload.response.JwtResponse googleLogin(String code, String codeVerifier, String redirectUri)
             throws IOException, InterruptedException, ParseException, JOSEException {
 
         if (googleClientId == null || googleClientId.isBlank()) {
@@ -127,15 +189,22 @@ public class OAuthService {
                 "&code_verifier=" + urlEncode(codeVerifier);
 
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(GOOGLE_TOKEN_URL))
+                .uri(URI.create(googleTokenUrl))
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .POST(HttpRequest.BodyPublishers.ofString(body))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Timer.Sample exchangeSample = Timer.start(meterRegistry);
+        long timingStart = RequestTiming.start();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } finally {
+            RequestTiming.stop("google-token", timingStart);
+            exchangeSample.stop(meterRegistry.timer("flashcard.oauth.token.exchange", "provider", "google"));
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            System.err.println("Google token exchange failed. Status: " + response.statusCode());
-            System.err.println("Body: " + response.body());
+            logger.warn("Google token exchange failed with status {}: {}", response.statusCode(), response.body());
             throw new IllegalStateException("Google token exchange failed: " + response.body());
         }
 
@@ -147,7 +216,7 @@ public class OAuthService {
 
         JWTClaimsSet claims = jwksJwtVerifier.verify(
                 idToken,
-                GOOGLE_JWKS_URL,
+                googleJwksUrl,
                 List.of("accounts.google.com", "https://accounts.google.com"),
                 googleClientId
         );
@@ -199,6 +268,7 @@ public class OAuthService {
             }
             
             if (changed) {
+                user.bumpProfileVersion();
                 userRepository.save(user);
             }
             return issueJwt(user);
@@ -222,11 +292,17 @@ public class OAuthService {
         } else {
             user.setLastLoginAt(Instant.now());
         }
+        boolean profileChanged = false;
         if (displayName != null && (user.getDisplayName() == null || user.getDisplayName().isBlank())) {
             user.setDisplayName(displayName);
+            profileChanged = true;
         }
         if (imageUrl != null && (user.getImageUrl() == null || user.getImageUrl().isBlank())) {
             user.setImageUrl(imageUrl);
+            profileChanged = true;
+        }
+        if (profileChanged) {
+            user.bumpProfileVersion();
         }
         userRepository.save(user);
 
@@ -267,6 +343,10 @@ public class OAuthService {
         );
     }
 
+    private Timer loginTimer(String provider, String outcome) {
+        return meterRegistry.timer("flashcard.oauth.login", "provider", provider, "outcome", outcome);
+    }
+
     private String generateUsername(String email) {
         String local = email.split("@")[0].toLowerCase();
         local = USERNAME_ALLOWED.matcher(local).replaceAll("");
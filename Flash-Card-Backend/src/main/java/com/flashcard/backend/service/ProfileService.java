@@ -0,0 +1,74 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.repository.UserRepository;
+import com.flashcard.backend.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Profile edits. When an edit replaces an uploaded image, the old image's reference is dropped
+ * and its cleanup task queued in the same transaction as the profile row, so the two cannot
+ * disagree after a failure.
+ */
+@Service
+public class ProfileService {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    StoredBlobService storedBlobService;
+
+    /**
+     * Apply the non-null fields of a profile edit. A manually set image marks the source MANUAL.
+     */
+    @Transactional
+    public User updateProfile(Long userId, String displayName, String imageUrl) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (displayName != null) {
+            user.setDisplayName(displayName);
+        }
+        String replacedImageUrl = null;
+        if (imageUrl != null) {
+            if (!imageUrl.equals(user.getImageUrl())) {
+                replacedImageUrl = user.getImageUrl();
+            }
+            setImage(user, imageUrl);
+        }
+        return save(user, replacedImageUrl);
+    }
+
+    /**
+     * Point the profile at an image the caller has already acquired and release the previous one.
+     */
+    @Transactional
+    public User replaceImage(Long userId, String imageUrl) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        String replacedImageUrl = user.getImageUrl();
+        setImage(user, imageUrl);
+        return save(user, replacedImageUrl);
+    }
+
+    private static void setImage(User user, String imageUrl) {
+        user.setImageUrl(imageUrl);
+        user.setImageSource("MANUAL");
+        user.setImageUpdatedAt(Instant.now());
+    }
+
+    private User save(User user, String replacedImageUrl) {
+        user.bumpProfileVersion();
+        // Flushed first: the blob decrement clears the persistence context
+        User saved = userRepository.saveAndFlush(user);
+        if (replacedImageUrl != null) {
+            storedBlobService.release(saved.getId(), replacedImageUrl, StorageCleanupService.REASON_IMAGE_REPLACED);
+        }
+        return saved;
+    }
+}
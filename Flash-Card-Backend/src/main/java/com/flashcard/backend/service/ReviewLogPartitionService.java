@@ -0,0 +1,249 @@
+package com.flashcard.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataAccessException;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code flashcard.review_log} ahead of the clock and moves
+ * expired months into {@code review_log_archive}. Each run creates partitions up to
+ * {@code monthsAhead} months ahead, plus any kept month whose rows landed in the default
+ * partition. A new month is built as a plain table, takes over the default partition's rows for
+ * its range and is then attached. An expired month is detached in its own short transaction and
+ * copied afterwards, so the table lock on review_log is never held while rows are moved; a month
+ * left detached by an interrupted run is finished on the next one. Each step takes a
+ * transaction-scoped advisory lock, so only one node does the work.
+ */
+@Service
+public class ReviewLogPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewLogPartitionService.class);
+
+    static final String PARTITION_PREFIX = "review_log_p";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{6})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    static final long MAINTENANCE_LOCK = 0x7265766c6f67L;
+
+    private static final String COLUMNS = "id, user_id, card_id, deck_id, idempotency_key, rating, reviewed_at, " +
+            "duration_ms, interval_days, due_at, created_at";
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flashcard.reviews.partitions.monthsAhead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${flashcard.reviews.partitions.retentionMonths:12}")
+    private int retentionMonths = 12;
+
+    @Value("${flashcard.reviews.partitions.lockTimeout:5s}")
+    private String lockTimeout = "5s";
+
+    public ReviewLogPartitionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            logger.error("Review log partition maintenance failed at startup", e);
+        }
+    }
+
+    @Scheduled(cron = "${flashcard.reviews.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+
+        Set<YearMonth> attached = attachedMonths();
+        Set<YearMonth> wanted = new TreeSet<>(defaultMonths(start(oldestKept)));
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            wanted.add(month);
+        }
+        for (YearMonth month : wanted) {
+            if (!attached.contains(month)) {
+                step("create " + tableName(month), () -> createPartition(month));
+            }
+        }
+
+        for (YearMonth month : attached) {
+            if (month.isBefore(oldestKept)) {
+                step("detach " + tableName(month), () -> detachPartition(month));
+            }
+        }
+        for (YearMonth month : detachedMonths()) {
+            step("archive " + tableName(month), () -> archiveDetached(month));
+        }
+        step("archive default partition", () -> archiveDefaultRows(start(oldestKept)));
+    }
+
+    /**
+     * Run one step in its own transaction; a failure (typically a lock timeout) is retried on
+     * the next run and does not stop the remaining steps.
+     */
+    private void step(String name, Runnable work) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } catch (DataAccessException e) {
+            logger.warn("Review log partition step '{}' failed: {}", name, e.getMessage());
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        if (!lock()) {
+            return;
+        }
+        String table = tableName(month);
+        if (attachedMonths().contains(month)) {
+            return;
+        }
+        JdbcTemplate jdbc = namedJdbcTemplate.getJdbcTemplate();
+        jdbc.execute("CREATE TABLE IF NOT EXISTS flashcard." + table +
+                " (LIKE flashcard.review_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbc.update("WITH moved AS (DELETE FROM flashcard.review_log_default " +
+                "WHERE reviewed_at >= ? AND reviewed_at < ? RETURNING " + COLUMNS + ") " +
+                "INSERT INTO flashcard." + table + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved",
+                Timestamp.from(start(month)), Timestamp.from(start(month.plusMonths(1))));
+        jdbc.execute("ALTER TABLE flashcard.review_log ATTACH PARTITION flashcard." + table + " " + bounds(month));
+        logger.info("Created review log partition {} ({} rows taken from the default partition)", table, moved);
+    }
+
+    private void detachPartition(YearMonth month) {
+        if (!lock()) {
+            return;
+        }
+        if (!attachedMonths().contains(month)) {
+            return;
+        }
+        namedJdbcTemplate.getJdbcTemplate().execute(
+                "ALTER TABLE flashcard.review_log DETACH PARTITION flashcard." + tableName(month));
+        logger.info("Detached review log partition {}", tableName(month));
+    }
+
+    private void archiveDetached(YearMonth month) {
+        if (!lock()) {
+            return;
+        }
+        String table = tableName(month);
+        if (!detachedMonths().contains(month)) {
+            return;
+        }
+        JdbcTemplate jdbc = namedJdbcTemplate.getJdbcTemplate();
+        int rows = jdbc.update("INSERT INTO flashcard.review_log_archive (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM flashcard." + table);
+        jdbc.execute("DROP TABLE flashcard." + table);
+        logger.info("Archived {} reviews from {}", rows, table);
+    }
+
+    /**
+     * Rows older than every kept month that the default partition caught, e.g. reviews an
+     * offline client recorded long ago.
+     */
+    private void archiveDefaultRows(Instant cutoff) {
+        if (!lock()) {
+            return;
+        }
+        int rows = namedJdbcTemplate.getJdbcTemplate().update("WITH moved AS (DELETE FROM flashcard.review_log_default " +
+                "WHERE reviewed_at < ? RETURNING " + COLUMNS + ") " +
+                "INSERT INTO flashcard.review_log_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved",
+                Timestamp.from(cutoff));
+        if (rows > 0) {
+            logger.info("Archived {} reviews from the default partition", rows);
+        }
+    }
+
+    /**
+     * Take the maintenance lock for the current transaction and bound how long DDL waits for
+     * table locks, so a long-running query makes this run skip a step rather than stall inserts
+     * queued behind it.
+     */
+    private boolean lock() {
+        JdbcTemplate jdbc = namedJdbcTemplate.getJdbcTemplate();
+        Boolean locked = jdbc.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        jdbc.execute("SET LOCAL lock_timeout = '" + lockTimeout.replace("'", "") + "'");
+        return true;
+    }
+
+    private Set<YearMonth> attachedMonths() {
+        return months(namedJdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                        "WHERE n.nspname = 'flashcard' AND p.relname = 'review_log'", String.class));
+    }
+
+    /**
+     * Kept months that have rows in the default partition, e.g. a month that had no partition
+     * yet when the maintenance run was missed. Giving them a partition empties the default.
+     */
+    private List<YearMonth> defaultMonths(Instant since) {
+        return namedJdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT DISTINCT to_char(reviewed_at AT TIME ZONE 'UTC', 'YYYYMM') FROM flashcard.review_log_default " +
+                        "WHERE reviewed_at >= ?", String.class, Timestamp.from(since)).stream()
+                .map(month -> YearMonth.parse(month, MONTH_SUFFIX))
+                .toList();
+    }
+
+    /**
+     * Monthly tables that exist but are not attached: detached ones waiting to be archived.
+     */
+    private Set<YearMonth> detachedMonths() {
+        return months(namedJdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = 'flashcard' AND c.relkind = 'r' AND NOT c.relispartition " +
+                        "AND c.relname LIKE 'review\\_log\\_p%'", String.class));
+    }
+
+    static Set<YearMonth> months(List<String> tableNames) {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : tableNames) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.parse(matcher.group(1), MONTH_SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    static String tableName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+
+    static String bounds(YearMonth month) {
+        return "FOR VALUES FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')";
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
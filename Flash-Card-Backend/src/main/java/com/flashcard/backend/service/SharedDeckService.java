@@ -0,0 +1,274 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.exception.ResourceNotFoundException;
+import com.flashcard.backend.payload.response.PageResponse;
+import com.flashcard.backend.payload.response.ReviewResponse;
+import com.flashcard.backend.payload.response.SharedCardResponse;
+import com.flashcard.backend.payload.response.SharedDeckResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.repository.CardProgressRepository;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import com.flashcard.backend.repository.DeckSubscriptionRepository;
+import com.flashcard.backend.repository.ReviewLogRepository;
+import com.flashcard.backend.repository.StudyStatsRepository;
+import com.flashcard.backend.scheduling.Rating;
+import com.flashcard.backend.scheduling.ReviewLogEntry;
+import com.flashcard.backend.scheduling.ScheduleState;
+import com.flashcard.backend.scheduling.Scheduler;
+import com.flashcard.backend.shared.DeckSnapshot;
+import com.flashcard.backend.shared.SharedCard;
+import com.flashcard.backend.shared.SharedDeckCache;
+import com.flashcard.backend.stats.StudyStatsDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shared decks. Subscribing adds one row; subscribers read the owner's cards, served from the
+ * versioned {@link SharedDeckCache}, and keep their own scheduling state in a per-card overlay
+ * that only gets a row once a card is reviewed. Storage and writes per subscriber therefore grow
+ * with what they study, not with the size of the deck or the number of other subscribers.
+ */
+@Service
+public class SharedDeckService {
+
+    private static final int NEW_CARD_PAGE = 50;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    CardRepository cardRepository;
+
+    @Autowired
+    DeckSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    CardProgressRepository progressRepository;
+
+    @Autowired
+    ReviewLogRepository reviewLogRepository;
+
+    @Autowired
+    StudyStatsRepository studyStatsRepository;
+
+    @Autowired
+    SharedDeckCache sharedDeckCache;
+
+    @Autowired
+    Scheduler scheduler;
+
+    /**
+     * List or unlist an owned deck in the catalogue. Unlisting stops new subscriptions; existing
+     * subscribers keep their access.
+     */
+    @Transactional
+    public void setShared(Long userId, Long deckId, boolean shared) {
+        if (deckRepository.setShared(userId, deckId, shared) == 0) {
+            throw new ResourceNotFoundException("Deck not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<SharedDeckResponse> catalogue(Long after, Integer limit) {
+        int size = DeckService.pageSize(limit);
+        List<Deck> decks = deckRepository.findBySharedTrueAndIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+                Limit.of(size + 1));
+        return PageResponse.of(decks, size, Deck::getId, SharedDeckResponse::from);
+    }
+
+    @Transactional
+    public SharedDeckResponse subscribe(Long userId, Long deckId) {
+        Deck deck = deckRepository.findById(deckId).filter(Deck::isShared)
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+        if (deck.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Cannot subscribe to your own deck");
+        }
+        if (subscriptionRepository.insert(userId, deckId)) {
+            deckRepository.adjustSubscriberCount(deckId, 1);
+            deck.setSubscriberCount(deck.getSubscriberCount() + 1);
+        }
+        return SharedDeckResponse.from(deck);
+    }
+
+    /**
+     * Drop the subscription; the progress overlay goes with it through the foreign key cascade.
+     */
+    @Transactional
+    public void unsubscribe(Long userId, Long deckId) {
+        if (!subscriptionRepository.delete(userId, deckId)) {
+            throw new ResourceNotFoundException("Subscription not found");
+        }
+        deckRepository.adjustSubscriberCount(deckId, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SharedDeckResponse> subscriptions(Long userId) {
+        return deckRepository.findAllById(subscriptionRepository.findDeckIds(userId)).stream()
+                .map(SharedDeckResponse::from)
+                .toList();
+    }
+
+    /**
+     * Keyset page of a shared deck's cards with the caller's progress overlaid.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<SharedCardResponse> listCards(Long userId, Long deckId, Long after, Integer limit) {
+        boolean subscribed = subscriptionRepository.findCursor(userId, deckId).isPresent();
+        Deck deck = deckRepository.findById(deckId)
+                .filter(d -> subscribed || d.isShared() || d.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+
+        int size = DeckService.pageSize(limit);
+        List<SharedCard> cards = cardsAfter(deck, after == null ? 0L : after, size + 1);
+        Map<Long, ScheduleState> progress = subscribed
+                ? progressRepository.findAll(userId, cards.stream().map(SharedCard::id).toList())
+                : Map.of();
+        return PageResponse.of(cards, size, SharedCard::id, card -> SharedCardResponse.from(card, progress.get(card.id())));
+    }
+
+    /**
+     * The subscriber's next card: the reviewed card due first, otherwise the new card with the
+     * lowest id, or empty when nothing is due.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StudyCardResponse> nextCard(Long userId, Long deckId) {
+        Instant now = Instant.now();
+        long newCardCursor = subscriptionRepository.findCursor(userId, deckId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
+        Deck deck = deckRepository.findById(deckId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+
+        Optional<CardProgressRepository.Due> due = progressRepository.findFirstDue(userId, deckId, now);
+        if (due.isPresent()) {
+            Optional<SharedCard> card = findCard(deck, due.get().cardId());
+            if (card.isPresent()) {
+                return Optional.of(studyCard(deckId, card.get(), due.get().dueAt()));
+            }
+        }
+        return firstNewCard(userId, deck, newCardCursor).map(card -> studyCard(deckId, card, now));
+    }
+
+    /**
+     * Review a card of a subscribed deck. The subscription row is locked, so a user's reviews of
+     * one deck apply one at a time; the owner's card row is never written. A retry with an
+     * idempotency key that was already applied returns the card's current schedule unchanged.
+     */
+    @Transactional
+    public ReviewResponse review(Long userId, Long deckId, Long cardId, Rating rating, String idempotencyKey) {
+        Instant now = Instant.now();
+        long newCardCursor = subscriptionRepository.lockCursor(userId, deckId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
+        Deck deck = deckRepository.findById(deckId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deck not found"));
+        if (cardRepository.findByIdAndUserIdAndDeckId(cardId, deck.getUserId(), deckId).isEmpty()) {
+            throw new ResourceNotFoundException("Card not found");
+        }
+        String key = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+        if (idempotencyKey != null && !reviewLogRepository.findExistingKeys(userId, List.of(key)).isEmpty()) {
+            Optional<ScheduleState> applied = progressRepository.find(userId, cardId);
+            if (applied.isPresent()) {
+                return ReviewResponse.of(cardId, applied.get());
+            }
+        }
+
+        ScheduleState state = progressRepository.find(userId, cardId).orElseGet(() -> ScheduleState.fresh(now));
+        Instant reviewedAt = StudyService.reviewTime(null, state.lastReviewedAt(), now);
+        ScheduleState next = scheduler.review(state, rating, reviewedAt);
+        progressRepository.upsert(userId, deckId, cardId, next);
+        if (state.lastReviewedAt() == null) {
+            advanceCursor(userId, deck, newCardCursor, cardId);
+        }
+
+        reviewLogRepository.insert(List.of(new ReviewLogEntry(userId, cardId, deckId, key,
+                rating, reviewedAt, null, next.intervalDays(), next.dueAt())));
+        StudyStatsDelta statsDelta = new StudyStatsDelta();
+        statsDelta.add(deckId, reviewedAt, rating, null, state.lastReviewedAt() == null);
+        studyStatsRepository.apply(userId, statsDelta);
+        return ReviewResponse.of(cardId, next);
+    }
+
+    /**
+     * The lowest-id card past the cursor that has no progress row. Cards reviewed out of order
+     * (e.g. picked from the card list) sit past the cursor with progress and are skipped.
+     */
+    private Optional<SharedCard> firstNewCard(Long userId, Deck deck, long newCardCursor) {
+        long after = newCardCursor;
+        while (true) {
+            List<SharedCard> page = cardsAfter(deck, after, NEW_CARD_PAGE);
+            if (page.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<Long, ScheduleState> started = progressRepository.findAll(userId,
+                    page.stream().map(SharedCard::id).toList());
+            for (SharedCard card : page) {
+                if (!started.containsKey(card.id())) {
+                    return Optional.of(card);
+                }
+            }
+            after = page.get(page.size() - 1).id();
+        }
+    }
+
+    /**
+     * Move the cursor only when the card just started is the first one past it, and then over the
+     * cards right behind it that were already started out of order. Any other first review leaves
+     * the cursor alone, so lower-id new cards are still offered.
+     */
+    private void advanceCursor(Long userId, Deck deck, long newCardCursor, Long cardId) {
+        List<SharedCard> next = cardsAfter(deck, newCardCursor, NEW_CARD_PAGE + 1);
+        if (next.isEmpty() || !next.get(0).id().equals(cardId)) {
+            return;
+        }
+        List<SharedCard> behind = next.subList(1, next.size());
+        Map<Long, ScheduleState> started = progressRepository.findAll(userId,
+                behind.stream().map(SharedCard::id).toList());
+        long cursor = cardId;
+        for (SharedCard card : behind) {
+            if (!started.containsKey(card.id())) {
+                break;
+            }
+            cursor = card.id();
+        }
+        subscriptionRepository.advanceCursor(userId, deck.getId(), cursor);
+    }
+
+    private List<SharedCard> cardsAfter(Deck deck, long afterId, int count) {
+        Optional<DeckSnapshot> snapshot = sharedDeckCache.get(deck);
+        if (snapshot.isPresent()) {
+            return snapshot.get().after(afterId, count);
+        }
+        // Too large to cache: page the owner's rows through idx_cards_user_deck_id
+        return cardRepository.findByUserIdAndDeckIdAndIdGreaterThanOrderByIdAsc(deck.getUserId(), deck.getId(),
+                        afterId, Limit.of(count)).stream()
+                .map(SharedDeckService::sharedCard)
+                .toList();
+    }
+
+    private Optional<SharedCard> findCard(Deck deck, Long cardId) {
+        Optional<SharedCard> cached = sharedDeckCache.get(deck).flatMap(snapshot -> snapshot.find(cardId));
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return cardRepository.findByIdAndUserIdAndDeckId(cardId, deck.getUserId(), deck.getId())
+                .map(SharedDeckService::sharedCard);
+    }
+
+    private static SharedCard sharedCard(Card card) {
+        return new SharedCard(card.getId(), card.getFront(), card.getBack());
+    }
+
+    private static StudyCardResponse studyCard(Long deckId, SharedCard card, Instant dueAt) {
+        return new StudyCardResponse(card.id(), deckId, card.front(), card.back(), dueAt);
+    }
+}
@@ -0,0 +1,193 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.repository.StorageCleanupTaskRepository;
+import com.flashcard.backend.repository.StoredBlobRepository;
+import com.flashcard.backend.storage.StorageCleanupTask;
+import com.flashcard.backend.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Durable queue for storage housekeeping (old profile pictures, aborted uploads, ...).
+ * Requests only insert a row; the scheduled worker deletes objects in batches, outside
+ * any transaction, and retries failures with exponential backoff.
+ */
+@Service
+public class StorageCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageCleanupService.class);
+
+    public static final String REASON_IMAGE_REPLACED = "PROFILE_IMAGE_REPLACED";
+    public static final String REASON_UPLOAD_ABORTED = "UPLOAD_ABORTED";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    StorageCleanupTaskRepository taskRepository;
+
+    @Autowired
+    StoredBlobRepository blobRepository;
+
+    @Autowired
+    StorageService storageService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${flashcard.storage.cleanup.batchSize:50}")
+    private int batchSize = 50;
+
+    @Value("${flashcard.storage.cleanup.maxAttempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${flashcard.storage.cleanup.leaseMs:300000}")
+    private long leaseMs = 300_000;
+
+    @Value("${flashcard.storage.cleanup.baseBackoffMs:30000}")
+    private long baseBackoffMs = 30_000;
+
+    @Value("${flashcard.storage.cleanup.maxBackoffMs:21600000}")
+    private long maxBackoffMs = 21_600_000;
+
+    public StorageCleanupService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Schedule a stored object for deletion. External URLs (OAuth avatars) are ignored.
+     */
+    @Transactional
+    public void enqueue(String storedPath, String reason) {
+        if (storedPath == null || storedPath.isEmpty() || storedPath.startsWith("http")) {
+            return;
+        }
+        taskRepository.save(StorageCleanupTask.of(storedPath, reason));
+    }
+
+    @Scheduled(fixedDelayString = "${flashcard.storage.cleanup.pollIntervalMs:15000}",
+            initialDelayString = "${flashcard.storage.cleanup.initialDelayMs:30000}")
+    public void processDueTasks() {
+        int processed;
+        do {
+            processed = processBatch();
+        } while (processed == batchSize);
+    }
+
+    /**
+     * One batch in three steps, so no connection or row lock is held across the storage call:
+     * claim the tasks and mark their blobs as being deleted, delete the objects, then record the
+     * outcome. A claim bumps the attempt count and leases the tasks until {@code leaseMs}, so a
+     * worker that dies mid-batch leaves them to be retried once the lease runs out.
+     */
+    int processBatch() {
+        Batch batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null) {
+            return 0;
+        }
+        if (batch.tasks().isEmpty()) {
+            return batch.claimed();
+        }
+
+        Exception failure = null;
+        try {
+            storageService.deleteObjects(batch.paths());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        Exception cause = failure;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (cause == null) {
+                blobRepository.deleteMarked(batch.paths());
+                taskRepository.deleteAllByIdInBatch(batch.tasks().stream().map(StorageCleanupTask::getId).toList());
+                logger.debug("Deleted {} stored objects", batch.paths().size());
+            } else {
+                blobRepository.unmarkDeleting(batch.paths());
+                reschedule(batch.tasks(), cause);
+            }
+        });
+        return batch.claimed();
+    }
+
+    private Batch claimBatch() {
+        Instant now = Instant.now();
+        List<StorageCleanupTask> claimed = taskRepository.claimDue(now, batchSize);
+        if (claimed.isEmpty()) {
+            return new Batch(List.of(), List.of(), 0);
+        }
+
+        // Blobs that were re-referenced since the task was queued must survive; their tasks are done
+        List<String> claimedPaths = claimed.stream().map(StorageCleanupTask::getObjectPath).distinct().toList();
+        Set<String> stillReferenced = blobRepository.lockByPaths(claimedPaths).stream()
+                .filter(blob -> blob.getRefCount() > 0)
+                .map(StoredBlob::getObjectPath)
+                .collect(Collectors.toSet());
+        List<StorageCleanupTask> done = new ArrayList<>();
+        List<StorageCleanupTask> tasks = new ArrayList<>();
+        for (StorageCleanupTask task : claimed) {
+            if (stillReferenced.contains(task.getObjectPath())) {
+                done.add(task);
+            } else if (task.getAttempts() >= maxAttempts) {
+                // Only reachable when earlier claims were lost with their worker
+                task.setFailedAt(now);
+                logger.warn("Giving up on deleting {} after {} attempts", task.getObjectPath(), task.getAttempts());
+            } else {
+                task.setAttempts(task.getAttempts() + 1);
+                task.setNextAttemptAt(now.plusMillis(leaseMs));
+                tasks.add(task);
+            }
+        }
+        taskRepository.deleteAll(done);
+
+        List<String> paths = tasks.stream().map(StorageCleanupTask::getObjectPath).distinct().toList();
+        if (!paths.isEmpty()) {
+            blobRepository.markDeleting(paths);
+        }
+        return new Batch(tasks, paths, claimed.size());
+    }
+
+    private void reschedule(List<StorageCleanupTask> tasks, Exception cause) {
+        Instant now = Instant.now();
+        String error = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        // Attempts were counted when the tasks were claimed
+        for (StorageCleanupTask task : tasks) {
+            task.setLastError(error);
+            if (task.getAttempts() >= maxAttempts) {
+                task.setFailedAt(now);
+                logger.warn("Giving up on deleting {} after {} attempts: {}", task.getObjectPath(),
+                        task.getAttempts(), error);
+            } else {
+                task.setNextAttemptAt(now.plusMillis(backoffMs(task.getAttempts())));
+            }
+        }
+        taskRepository.saveAll(tasks);
+        logger.warn("Storage cleanup batch of {} failed, rescheduled: {}", tasks.size(), error);
+    }
+
+    private record Batch(List<StorageCleanupTask> tasks, List<String> paths, int claimed) {
+    }
+
+    long backoffMs(int attempts) {
+        long delay = baseBackoffMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+}
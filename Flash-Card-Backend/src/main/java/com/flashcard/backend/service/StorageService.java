@@ -0,0 +1,64 @@
+package com.flashcard.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Object storage for user uploads. Stored paths are opaque keys of the form
+ * {@code <bucket>/<object>} and are what gets persisted in {@code users.image_url}.
+ * The backend is chosen with {@code flashcard.storage.backend} ({@code supabase} or {@code local}).
+ */
+public interface StorageService {
+
+    /**
+     * Qualifier of the concrete backend; the unqualified {@code StorageService} is the metered wrapper.
+     */
+    String BACKEND = "storageBackend";
+
+    String uploadProfilePicture(Long userId, byte[] imageData, String contentType, String contentHash)
+            throws IOException, InterruptedException;
+
+    /**
+     * Delete stored objects. Missing objects are ignored so the call can be retried.
+     */
+    void deleteObjects(List<String> storedPaths) throws IOException, InterruptedException;
+
+    /**
+     * Time-limited URL a client can fetch the object from, or null if it cannot be signed.
+     */
+    String getSignedUrl(String storedPath) throws IOException, InterruptedException;
+
+    /**
+     * Sign several objects at once, e.g. all media of a page of cards. The map follows the order
+     * of {@code storedPaths} and holds null for paths that could not be signed. Backends that
+     * sign over the network override this to use a single round trip.
+     */
+    default Map<String, String> getSignedUrls(Collection<String> storedPaths) throws IOException, InterruptedException {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String storedPath : storedPaths) {
+            if (storedPath != null && !urls.containsKey(storedPath)) {
+                urls.put(storedPath, getSignedUrl(storedPath));
+            }
+        }
+        return urls;
+    }
+
+    byte[] downloadImage(String storedPath) throws IOException, InterruptedException;
+
+    /**
+     * Cheap round trip to the backend for health checks; throws if it cannot be reached.
+     */
+    void checkReachable() throws IOException, InterruptedException;
+
+    /**
+     * File backing a stored path when the object lives on this node's disk, so callers can
+     * hand it to the container for zero-copy transfer. Remote backends return null.
+     */
+    default Path resolveLocalFile(String storedPath) {
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.exception.CapacityExceededException;
+import com.flashcard.backend.repository.StoredBlobRepository;
+import com.flashcard.backend.storage.StoredBlob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Content-addressed storage for uploaded images. Objects are keyed by the SHA-256 of
+ * their bytes per user and reference counted, so re-uploading the same picture reuses
+ * the existing object and deletes only remove blobs nobody points at any more.
+ */
+@Service
+public class StoredBlobService {
+
+    private static final int RETRY_AFTER_SECONDS = 15;
+
+    @Autowired
+    StoredBlobRepository blobRepository;
+
+    @Autowired
+    StorageService storageService;
+
+    @Autowired
+    StorageCleanupService storageCleanupService;
+
+    /**
+     * Read an upload fully while hashing it, so the content hash costs no extra pass.
+     */
+    public HashedContent readAndHash(InputStream in, long sizeHint) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available");
+        }
+
+        int initialSize = sizeHint > 0 && sizeHint < Integer.MAX_VALUE ? (int) sizeHint : 8192;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(initialSize);
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+            digestIn.transferTo(out);
+        }
+        return new HashedContent(out.toByteArray(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Take a reference on the blob for {@code content}, uploading it only if this user
+     * has no identical object yet. Returns the stored path.
+     */
+    public String acquire(Long userId, HashedContent content, String contentType)
+            throws IOException, InterruptedException {
+        if (blobRepository.incrementByHash(userId, content.sha256()) > 0) {
+            return blobRepository.findByUserIdAndContentHash(userId, content.sha256())
+                    .orElseThrow(() -> new IllegalStateException("Stored blob disappeared"))
+                    .getObjectPath();
+        }
+
+        String storedPath = storageService.uploadProfilePicture(userId, content.data(), contentType, content.sha256());
+        if (blobRepository.insertOrReference(storedPath, userId, content.sha256(), contentType,
+                content.data().length) == 0) {
+            // The cleanup worker is deleting this user's copy of the same bytes, possibly the very
+            // object just written; queue ours too and let the client retry once the delete is done
+            storageCleanupService.enqueue(storedPath, StorageCleanupService.REASON_UPLOAD_ABORTED);
+            throw new CapacityExceededException("This image is being deleted, try again shortly", RETRY_AFTER_SECONDS);
+        }
+
+        // A concurrent upload of the same bytes may have been tracked first, possibly under another
+        // extension; the reference went to its object and ours is left for the cleanup queue
+        String trackedPath = blobRepository.findByUserIdAndContentHash(userId, content.sha256())
+                .orElseThrow(() -> new IllegalStateException("Stored blob disappeared"))
+                .getObjectPath();
+        if (!trackedPath.equals(storedPath)) {
+            storageCleanupService.enqueue(storedPath, StorageCleanupService.REASON_UPLOAD_ABORTED);
+        }
+        return trackedPath;
+    }
+
+    /**
+     * Drop one of {@code userId}'s references. Their blobs whose count reaches zero, and
+     * untracked objects in their folder (uploaded before deduplication), are handed to the
+     * cleanup queue. Paths owned by anyone else are left alone.
+     */
+    public void release(Long userId, String storedPath, String reason) {
+        if (storedPath == null || storedPath.isEmpty() || storedPath.startsWith("http")) {
+            return;
+        }
+
+        blobRepository.decrement(userId, storedPath);
+        Optional<StoredBlob> blob = blobRepository.findById(storedPath);
+        boolean collectable = blob
+                .map(tracked -> tracked.getUserId().equals(userId) && tracked.getRefCount() <= 0)
+                .orElseGet(() -> inUserFolder(userId, storedPath));
+        if (collectable) {
+            storageCleanupService.enqueue(storedPath, reason);
+        }
+    }
+
+    /**
+     * The storage backends file each user's uploads under a folder derived from their id.
+     */
+    static boolean inUserFolder(Long userId, String storedPath) {
+        String folderName = UUID.nameUUIDFromBytes(("user-" + userId).getBytes()).toString();
+        return Arrays.asList(storedPath.split("/")).contains(folderName);
+    }
+
+    public record HashedContent(byte[] data, String sha256) {
+    }
+}
@@ -0,0 +1,230 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.exception.ResourceNotFoundException;
+import com.flashcard.backend.payload.request.ReviewEvent;
+import com.flashcard.backend.payload.response.ReviewBatchResponse;
+import com.flashcard.backend.payload.response.ReviewHistoryResponse;
+import com.flashcard.backend.payload.response.ReviewResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.payload.response.StudyStatsResponse;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.ReviewLogRepository;
+import com.flashcard.backend.repository.StudyStatsRepository;
+import com.flashcard.backend.scheduling.CardContentCache;
+import com.flashcard.backend.scheduling.DueCard;
+import com.flashcard.backend.scheduling.DueCardQueue;
+import com.flashcard.backend.scheduling.Rating;
+import com.flashcard.backend.scheduling.ReviewLogEntry;
+import com.flashcard.backend.scheduling.ScheduleState;
+import com.flashcard.backend.scheduling.Scheduler;
+import com.flashcard.backend.stats.StudyStatsDelta;
+import com.flashcard.backend.sync.ChangeSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Study sessions: the next due card comes from the in-memory {@link DueCardQueue} and its text
+ * from {@link CardContentCache}, and reviews run the configured {@link Scheduler}, move cards to
+ * their new due time and are recorded in the review log.
+ */
+@Service
+public class StudyService {
+
+    private static final int NEXT_CARD_ATTEMPTS = 3;
+
+    @Autowired
+    CardRepository cardRepository;
+
+    @Autowired
+    ReviewLogRepository reviewLogRepository;
+
+    @Autowired
+    DueCardQueue dueCardQueue;
+
+    @Autowired
+    CardContentCache cardContentCache;
+
+    @Autowired
+    Scheduler scheduler;
+
+    @Autowired
+    ChangeSequence changeSequence;
+
+    @Autowired
+    StudyStatsRepository studyStatsRepository;
+
+    @Value("${flashcard.stats.defaultDays:30}")
+    private int defaultStatsDays = 30;
+
+    @Value("${flashcard.stats.maxDays:366}")
+    private int maxStatsDays = 366;
+
+    @Value("${flashcard.reviews.history.maxDays:90}")
+    private int maxHistoryDays = 90;
+
+    @Value("${flashcard.reviews.history.maxLimit:1000}")
+    private int maxHistoryLimit = 1000;
+
+    public Optional<StudyCardResponse> nextCard(Long userId, Long deckId) {
+        Instant now = Instant.now();
+        // The queue orders ids and the content cache holds the text, so a hit needs no query. On a
+        // miss the card is read by id; one deleted since it was queued is dropped and the next
+        // tried, a bounded number of times.
+        for (int attempt = 0; attempt < NEXT_CARD_ATTEMPTS; attempt++) {
+            Optional<DueCard> due = dueCardQueue.next(userId, deckId, now);
+            if (due.isEmpty()) {
+                return Optional.empty();
+            }
+            DueCard next = due.get();
+            Optional<CardContentCache.CardContent> cached = cardContentCache.get(next);
+            if (cached.isPresent()) {
+                return Optional.of(new StudyCardResponse(next.cardId(), next.deckId(), cached.get().front(),
+                        cached.get().back(), next.dueAt()));
+            }
+            Optional<Card> card = cardRepository.findByIdAndUserId(next.cardId(), userId);
+            if (card.isPresent()) {
+                cardContentCache.put(card.get());
+                return card.map(StudyCardResponse::from);
+            }
+            dueCardQueue.remove(userId, next.cardId());
+        }
+        return Optional.empty();
+    }
+
+    @Transactional
+    public ReviewResponse review(Long userId, Long cardId, Rating rating, String idempotencyKey) {
+        ReviewEvent event = new ReviewEvent();
+        event.setIdempotencyKey(idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString());
+        event.setCardId(cardId);
+        event.setRating(rating);
+
+        ReviewBatchResponse.Result result = submitReviews(userId, List.of(event)).getResults().get(0);
+        if (result.getStatus() == ReviewBatchResponse.Status.CARD_NOT_FOUND) {
+            throw new ResourceNotFoundException("Card not found");
+        }
+        return result.getSchedule();
+    }
+
+    /**
+     * Apply reviews recorded offline, in order, in one transaction. The cards involved are locked
+     * in a single query; events whose idempotency key was already used are reported as duplicates
+     * without touching the schedule. Card updates go out as one Hibernate JDBC batch and log rows
+     * as one insert batch, and the daily rollups are bumped in the same transaction.
+     */
+    @Transactional
+    public ReviewBatchResponse submitReviews(Long userId, List<ReviewEvent> events) {
+        Instant now = Instant.now();
+        Set<Long> cardIds = events.stream().map(ReviewEvent::getCardId).collect(Collectors.toSet());
+        // One value per distinct card, taken before the card locks to keep the lock order
+        long nextSeq = changeSequence.allocate(userId, cardIds.size());
+        Map<Long, Card> cards = cardRepository.lockByUserIdAndIds(userId, cardIds).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        Set<String> seenKeys = reviewLogRepository.findExistingKeys(userId,
+                events.stream().map(ReviewEvent::getIdempotencyKey).collect(Collectors.toSet()));
+
+        List<ReviewBatchResponse.Status> statuses = new ArrayList<>(events.size());
+        List<ReviewLogEntry> logEntries = new ArrayList<>();
+        Map<Long, Card> reviewed = new LinkedHashMap<>();
+        Set<String> applied = new HashSet<>();
+        StudyStatsDelta statsDelta = new StudyStatsDelta();
+        for (ReviewEvent event : events) {
+            Card card = cards.get(event.getCardId());
+            if (seenKeys.contains(event.getIdempotencyKey()) || !applied.add(event.getIdempotencyKey())) {
+                statuses.add(ReviewBatchResponse.Status.DUPLICATE);
+                continue;
+            }
+            if (card == null) {
+                statuses.add(ReviewBatchResponse.Status.CARD_NOT_FOUND);
+                continue;
+            }
+
+            Instant reviewedAt = reviewTime(event.getReviewedAt(), card.getLastReviewedAt(), now);
+            statsDelta.add(card.getDeckId(), reviewedAt, event.getRating(), event.getDurationMs(),
+                    card.getLastReviewedAt() == null);
+            ScheduleState next = scheduler.review(card.scheduleState(), event.getRating(), reviewedAt);
+            card.applySchedule(next);
+            reviewed.put(card.getId(), card);
+            logEntries.add(new ReviewLogEntry(userId, card.getId(), card.getDeckId(), event.getIdempotencyKey(),
+                    event.getRating(), reviewedAt, event.getDurationMs(), next.intervalDays(), next.dueAt()));
+            statuses.add(ReviewBatchResponse.Status.APPLIED);
+        }
+
+        for (Card card : reviewed.values()) {
+            card.setChangeSeq(nextSeq++);
+        }
+        reviewLogRepository.insert(logEntries);
+        studyStatsRepository.apply(userId, statsDelta);
+        dueCardQueue.upsert(userId, List.copyOf(reviewed.values()));
+
+        List<ReviewBatchResponse.Result> results = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            ReviewEvent event = events.get(i);
+            Card card = cards.get(event.getCardId());
+            results.add(new ReviewBatchResponse.Result(event.getIdempotencyKey(), event.getCardId(), statuses.get(i),
+                    card == null ? null : ReviewResponse.from(card)));
+        }
+        return new ReviewBatchResponse(logEntries.size(),
+                (int) statuses.stream().filter(s -> s == ReviewBatchResponse.Status.DUPLICATE).count(), results);
+    }
+
+    /**
+     * Study totals per UTC day from the rollups, for one deck or all of them. Defaults to the last
+     * {@code flashcard.stats.defaultDays} days ending today.
+     */
+    @Transactional(readOnly = true)
+    public StudyStatsResponse stats(Long userId, Long deckId, LocalDate from, LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        LocalDate start = from == null ? end.minusDays(defaultStatsDays - 1L) : from;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (start.plusDays(maxStatsDays).isBefore(end.plusDays(1))) {
+            throw new IllegalArgumentException("Range is limited to " + maxStatsDays + " days");
+        }
+        return StudyStatsResponse.of(start, end, studyStatsRepository.findDaily(userId, deckId, start, end));
+    }
+
+    /**
+     * The user's latest reviews within the last {@code days} days (7 by default), newest first.
+     * The time bound keeps the query on the most recent review_log partitions.
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewHistoryResponse> history(Long userId, Integer days, Integer limit) {
+        int window = days == null || days <= 0 ? 7 : Math.min(days, maxHistoryDays);
+        int size = limit == null || limit <= 0 ? 100 : Math.min(limit, maxHistoryLimit);
+        Instant since = Instant.now().minus(Duration.ofDays(window));
+        return reviewLogRepository.findRecent(userId, since, size).stream()
+                .map(ReviewHistoryResponse::from)
+                .toList();
+    }
+
+    /**
+     * Device clocks drift: keep review times out of the future and never before the card's
+     * previous review, so elapsed time stays non-negative.
+     */
+    static Instant reviewTime(Instant clientTime, Instant lastReviewedAt, Instant now) {
+        Instant time = clientTime == null || clientTime.isAfter(now) ? now : clientTime;
+        if (lastReviewedAt != null && time.isBefore(lastReviewedAt)) {
+            return lastReviewedAt;
+        }
+        return time;
+    }
+}
@@ -1,6 +1,12 @@
 package com.flashcard.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -10,10 +16,24 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Service
-public class SupabaseStorageService {
+@Qualifier(StorageService.BACKEND)
+@ConditionalOnProperty(name = "flashcard.storage.backend", havingValue = "supabase", matchIfMissing = true)
+public class SupabaseStorageService implements StorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupabaseStorageService.class);
 
     @Value("${flashcard.supabase.url:}")
     private String supabaseUrl;
@@ -24,6 +44,19 @@ public class SupabaseStorageService {
     @Value("${flashcard.supabase.bucket:flashcard.profile.picture}")
     private String bucketName;
 
+    @Value("${flashcard.supabase.signedUrlTtlSeconds:86400}")
+    private long signedUrlTtlSeconds = 86400;
+
+    @Value("${flashcard.supabase.signedUrlRefreshMarginSeconds:3600}")
+    private long refreshMarginSeconds = 3600;
+
+    @Value("${flashcard.supabase.signedUrlCacheEntries:10000}")
+    private int signedUrlCacheEntries = 10000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, CachedUrl> signedUrls;
+
     // Use HTTP/1.1 to avoid HTTP/2 connection pooling EOFException
     private final HttpClient httpClient = HttpClient.newBuilder()
             .version(HttpClient.Version.HTTP_1_1)
@@ -32,13 +65,20 @@ public class SupabaseStorageService {
 
     @PostConstruct
     public void init() {
+        int capacity = signedUrlCacheEntries;
+        signedUrls = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUrl> eldest) {
+                return size() > capacity;
+            }
+        });
         if (supabaseUrl == null || supabaseUrl.isEmpty()) {
-            System.err.println("WARNING: flashcard.supabase.url is not configured!");
+            logger.warn("flashcard.supabase.url is not configured!");
         } else {
-            System.out.println("SupabaseStorageService initialized with URL: " + supabaseUrl);
+            logger.info("SupabaseStorageService initialized with URL: {}", supabaseUrl);
         }
         if (supabaseKey == null || supabaseKey.isEmpty()) {
-            System.err.println("WARNING: flashcard.supabase.key is not configured!");
+            logger.warn("flashcard.supabase.key is not configured!");
         }
     }
 
@@ -58,83 +98,165 @@ public class SupabaseStorageService {
 
     /**
      * Upload a profile picture.
-     * Uses UUID-based folder for uniqueness.
+     * Objects live in a per-user UUID folder and are named after their content hash,
+     * so identical uploads map to the same object.
      */
-    public String uploadProfilePicture(Long userId, byte[] imageData, String contentType) throws IOException, InterruptedException {
+    @Override
+    public String uploadProfilePicture(Long userId, byte[] imageData, String contentType, String contentHash) throws IOException, InterruptedException {
         String folderName = UUID.nameUUIDFromBytes(("user-" + userId).getBytes()).toString();
-        String fileName = folderName + "/" + UUID.randomUUID() + getExtension(contentType);
+        String fileName = folderName + "/" + contentHash + getExtension(contentType);
 
         String baseUrl = getBaseUrl();
         String uploadUrl = baseUrl + "/storage/v1/object/" + bucketName + "/" + fileName;
-        System.out.println("Uploading to Supabase: " + uploadUrl + " (Size: " + imageData.length + " bytes, Type: " + contentType + ")");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Uploading to Supabase: {}", uploadUrl,
+                    kv("sizeBytes", imageData.length), kv("contentType", contentType));
+        }
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(uploadUrl))
                 .header("Authorization", "Bearer " + supabaseKey)
                 .header("apikey", supabaseKey)
                 .header("Content-Type", contentType)
+                .header("x-upsert", "true")
                 .POST(HttpRequest.BodyPublishers.ofByteArray(imageData))
                 .build();
 
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            System.err.println("Supabase upload error: " + response.statusCode() + " — " + response.body());
+            logger.warn("Supabase upload error: {} — {}", response.statusCode(), response.body());
             throw new IOException("Supabase returned error " + response.statusCode() + ": " + response.body());
         }
 
-        System.out.println("Upload successful: " + fileName);
+        logger.debug("Upload successful: {}", fileName);
         return bucketName + "/" + fileName;
     }
 
     /**
-     * Delete an old profile picture from Supabase storage.
+     * Delete stored objects in a single request using Supabase's bulk remove endpoint.
+     * Objects that no longer exist are ignored, so retries are safe.
      */
-    public void deleteOldImage(String storedPath) {
-        if (storedPath == null || storedPath.startsWith("http") || storedPath.isEmpty()) {
+    @Override
+    public void deleteObjects(List<String> storedPaths) throws IOException, InterruptedException {
+        List<String> objectPaths = storedPaths.stream()
+                .filter(p -> p != null && !p.isEmpty() && !p.startsWith("http"))
+                .map(this::toObjectPath)
+                .toList();
+        if (objectPaths.isEmpty()) {
             return;
         }
+        storedPaths.forEach(signedUrls::remove);
 
-        try {
-            String objectPath = storedPath;
-            if (storedPath.startsWith(bucketName + "/")) {
-                objectPath = storedPath.substring(bucketName.length() + 1);
-            }
+        String baseUrl = getBaseUrl();
+        String deleteUrl = baseUrl + "/storage/v1/object/" + bucketName;
+        String jsonPayload = objectMapper.writeValueAsString(Map.of("prefixes", objectPaths));
 
-            String baseUrl = getBaseUrl();
-            String deleteUrl = baseUrl + "/storage/v1/object/" + bucketName + "/" + objectPath;
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(deleteUrl))
+                .header("Authorization", "Bearer " + supabaseKey)
+                .header("apikey", supabaseKey)
+                .header("Content-Type", "application/json")
+                .method("DELETE", HttpRequest.BodyPublishers.ofString(jsonPayload))
+                .build();
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(deleteUrl))
-                    .header("Authorization", "Bearer " + supabaseKey)
-                    .header("apikey", supabaseKey)
-                    .DELETE()
-                    .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IOException("Supabase delete returned " + response.statusCode() + ": " + response.body());
+        }
+    }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                System.err.println("Failed to delete old image (non-critical): " + response.statusCode());
-            }
-        } catch (Exception e) {
-            System.err.println("Error deleting old image (non-critical): " + e.getMessage());
+    /**
+     * Fetch the bucket metadata, which touches neither objects nor signing.
+     */
+    @Override
+    public void checkReachable() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(getBaseUrl() + "/storage/v1/bucket/" + bucketName))
+                .header("Authorization", "Bearer " + supabaseKey)
+                .header("apikey", supabaseKey)
+                .timeout(Duration.ofSeconds(3))
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IOException("Supabase bucket lookup returned " + response.statusCode());
+        }
+    }
+
+    private String toObjectPath(String storedPath) {
+        if (storedPath.startsWith(bucketName + "/")) {
+            return storedPath.substring(bucketName.length() + 1);
         }
+        return storedPath;
     }
 
     /**
-     * Generate a signed URL for a stored image path.
-     * Uses 24-hour expiry.
+     * Generate a signed URL for a stored image path, reusing a cached one while it is fresh.
      */
+    @Override
     public String getSignedUrl(String fullPath) throws IOException, InterruptedException {
         if (fullPath == null || fullPath.startsWith("http")) {
             return fullPath;
         }
+        return getSignedUrls(List.of(fullPath)).get(fullPath);
+    }
 
+    /**
+     * Sign many objects with one call to Supabase's multi-path sign endpoint per bucket.
+     * URLs are cached until {@code signedUrlRefreshMarginSeconds} before they expire, so
+     * re-rendering the same page costs no round trip at all.
+     */
+    @Override
+    public Map<String, String> getSignedUrls(Collection<String> fullPaths) throws IOException, InterruptedException {
+        Map<String, String> urls = new LinkedHashMap<>();
+        Map<String, List<String>> unsignedByBucket = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (String fullPath : fullPaths) {
+            if (fullPath == null || urls.containsKey(fullPath)) {
+                continue;
+            }
+            if (fullPath.startsWith("http")) {
+                urls.put(fullPath, fullPath);
+                continue;
+            }
+            CachedUrl cached = signedUrls.get(fullPath);
+            if (cached != null && now.isBefore(cached.reuseUntil())) {
+                urls.put(fullPath, cached.url());
+                continue;
+            }
+            urls.put(fullPath, null);
+            int slash = fullPath.indexOf('/');
+            if (slash > 0) {
+                unsignedByBucket.computeIfAbsent(fullPath.substring(0, slash), b -> new ArrayList<>()).add(fullPath);
+            }
+        }
+
+        // Refresh ahead of expiry so a client never receives a URL that is about to lapse
+        Instant reuseUntil = now.plusSeconds(signedUrlTtlSeconds - Math.min(refreshMarginSeconds, signedUrlTtlSeconds / 2));
+        for (Map.Entry<String, List<String>> bucket : unsignedByBucket.entrySet()) {
+            for (Map.Entry<String, String> signed : signBatch(bucket.getKey(), bucket.getValue()).entrySet()) {
+                urls.put(signed.getKey(), signed.getValue());
+                signedUrls.put(signed.getKey(), new CachedUrl(signed.getValue(), reuseUntil));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * One request to {@code POST /object/sign/{bucket}}; returns signed URLs by full path and
+     * leaves out objects Supabase reported an error for.
+     */
+    private Map<String, String> signBatch(String bucket, List<String> fullPaths) throws IOException, InterruptedException {
         String baseUrl = getBaseUrl();
-        String signUrl = baseUrl + "/storage/v1/object/sign/" + fullPath;
-        String jsonPayload = "{\"expiresIn\": 86400}";
+        int prefixLength = bucket.length() + 1;
+        List<String> objectPaths = fullPaths.stream().map(p -> p.substring(prefixLength)).toList();
+        String jsonPayload = objectMapper.writeValueAsString(
+                Map.of("expiresIn", signedUrlTtlSeconds, "paths", objectPaths));
 
         HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(signUrl))
+                .uri(URI.create(baseUrl + "/storage/v1/object/sign/" + bucket))
                 .header("Authorization", "Bearer " + supabaseKey)
                 .header("apikey", supabaseKey)
                 .header("Content-Type", "application/json")
@@ -144,28 +266,33 @@ public class SupabaseStorageService {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() != 200) {
-            System.err.println("Signed URL error: " + response.statusCode() + " — " + response.body());
-            return null;
+            logger.warn("Signed URL error: {} — {}", response.statusCode(), response.body());
+            return Map.of();
         }
 
+        Map<String, String> signed = new HashMap<>();
         try {
-            com.fasterxml.jackson.databind.JsonNode node =
-                    new com.fasterxml.jackson.databind.ObjectMapper().readTree(response.body());
-            String signedPath = node.get("signedURL").asText();
-            if (signedPath.startsWith("/object/")) {
-                return baseUrl + "/storage/v1" + signedPath;
+            for (JsonNode item : objectMapper.readTree(response.body())) {
+                JsonNode signedUrl = item.get("signedURL");
+                if (signedUrl == null || signedUrl.isNull() || item.hasNonNull("error")) {
+                    logger.debug("Could not sign {}: {}", item.path("path").asText(), item.path("error").asText());
+                    continue;
+                }
+                String signedPath = signedUrl.asText();
+                signed.put(bucket + "/" + item.path("path").asText(),
+                        signedPath.startsWith("/object/") ? baseUrl + "/storage/v1" + signedPath : baseUrl + signedPath);
             }
-            return baseUrl + signedPath;
         } catch (Exception e) {
-            System.err.println("Error parsing signed URL: " + e.getMessage());
-            return null;
+            logger.warn("Error parsing signed URLs: {}", e.getMessage());
         }
+        return signed;
     }
 
     /**
      * Download image bytes from Supabase storage.
      * Used by the backend proxy to serve images to iOS clients.
      */
+    @Override
     public byte[] downloadImage(String storedPath) throws IOException, InterruptedException {
         String signedUrl = getSignedUrl(storedPath);
         if (signedUrl == null) {
@@ -180,7 +307,7 @@ public class SupabaseStorageService {
 
         HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
         if (response.statusCode() != 200) {
-            System.err.println("Failed to download image: " + response.statusCode());
+            logger.warn("Failed to download image: {}", response.statusCode());
             return null;
         }
         return response.body();
@@ -194,4 +321,7 @@ public class SupabaseStorageService {
             default -> ".png";
         };
     }
+
+    private record CachedUrl(String url, Instant reuseUntil) {
+    }
 }
@@ -0,0 +1,359 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.payload.request.CardRequest;
+import com.flashcard.backend.payload.request.DeckRequest;
+import com.flashcard.backend.payload.request.SyncOperation;
+import com.flashcard.backend.payload.response.CardResponse;
+import com.flashcard.backend.payload.response.DeckResponse;
+import com.flashcard.backend.payload.response.SyncCardResponse;
+import com.flashcard.backend.payload.response.SyncChangesResponse;
+import com.flashcard.backend.payload.response.SyncPushResponse;
+import com.flashcard.backend.payload.response.SyncPushResponse.Result;
+import com.flashcard.backend.payload.response.SyncPushResponse.Status;
+import com.flashcard.backend.payload.response.TombstoneResponse;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import com.flashcard.backend.repository.TombstoneRepository;
+import com.flashcard.backend.sync.ChangePage;
+import com.flashcard.backend.sync.ChangeSequence;
+import com.flashcard.backend.sync.Tombstone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for offline clients. Pulls read the per-user change feed (decks, cards and
+ * tombstones past a cursor) in bounded pages; pushes apply a batch of local changes through
+ * {@link DeckService} in one transaction and report an outcome per operation. Ownership and
+ * conflicts are checked here before delegating, so a rejected operation never aborts the batch.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    DeckService deckService;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    CardRepository cardRepository;
+
+    @Autowired
+    TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    ChangeSequence changeSequence;
+
+    @Value("${flashcard.sync.tombstoneRetentionDays:90}")
+    private int tombstoneRetentionDays = 90;
+
+    /**
+     * Changes after {@code since}. Repeatable read keeps the three queries on one snapshot, so a
+     * write committing in between cannot show up in one source and be missing from another.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncChangesResponse changes(Long userId, Long since, Integer limit) {
+        long from = since == null ? 0 : Math.max(since, 0);
+        int size = pageSize(limit);
+        if (from > 0 && from < tombstoneRepository.findSyncFloor(userId)) {
+            return SyncChangesResponse.reset();
+        }
+
+        Limit fetch = Limit.of(size + 1);
+        List<Deck> decks = deckRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, from, fetch);
+        List<Card> cards = cardRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, from, fetch);
+        // A client starting from scratch has nothing to delete
+        List<Tombstone> tombstones = from == 0 ? List.of()
+                : tombstoneRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, from, fetch);
+
+        ChangePage page = ChangePage.cut(decks, cards, tombstones, from, size);
+        return new SyncChangesResponse(
+                page.decks().stream().map(DeckResponse::from).toList(),
+                page.cards().stream().map(SyncCardResponse::from).toList(),
+                page.tombstones().stream().map(TombstoneResponse::from).toList(),
+                page.cursor(), page.hasMore(), false);
+    }
+
+    @Transactional
+    public SyncPushResponse push(Long userId, List<SyncOperation> operations) {
+        changeSequence.lock(userId);
+        Map<String, Long> deckIds = existingDeckIds(userId, operations);
+        Map<String, Long> cardIds = existingCardIds(userId, operations);
+        Set<Long> knownDecks = new HashSet<>(deckIds.values());
+        List<Result> results = new ArrayList<>(operations.size());
+        PendingCards pending = new PendingCards();
+
+        for (SyncOperation op : operations) {
+            if (op.getOp() == SyncOperation.Type.CREATE_CARD) {
+                Long deckId = op.getDeckId() != null ? op.getDeckId() : deckIds.get(op.getDeckClientId());
+                if (pending.deckId != null && !pending.deckId.equals(deckId)) {
+                    pending.flush(userId, cardIds);
+                }
+                results.add(createCard(userId, op, deckId, knownDecks, cardIds, pending));
+                continue;
+            }
+            pending.flush(userId, cardIds);
+            results.add(switch (op.getOp()) {
+                case CREATE_DECK -> createDeck(userId, op, deckIds, knownDecks);
+                case UPDATE_DECK -> updateDeck(userId, op, deckIds);
+                case DELETE_DECK -> deleteDeck(userId, op, deckIds, knownDecks);
+                case UPDATE_CARD -> updateCard(userId, op, cardIds);
+                case DELETE_CARD -> deleteCard(userId, op, cardIds);
+                case CREATE_CARD -> throw new IllegalStateException();
+            });
+        }
+        pending.flush(userId, cardIds);
+
+        int applied = 0;
+        for (Result result : results) {
+            if (result.getStatus() == Status.APPLIED) {
+                applied++;
+            } else if (result.getStatus() == Status.DUPLICATE && result.getId() == null) {
+                // Repeated within this push after a create that was still pending
+                result.setId(cardIds.get(result.getClientId()));
+            }
+        }
+        return new SyncPushResponse(applied, results);
+    }
+
+    /**
+     * Drop tombstones past the retention period. Each user's sync floor is raised first, so a
+     * client whose cursor predates the pruned range is told to reset rather than miss deletes.
+     */
+    @Scheduled(cron = "${flashcard.sync.pruneCron:0 15 4 * * *}")
+    public void pruneTombstones() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(tombstoneRetentionDays));
+        int users = tombstoneRepository.raiseSyncFloors(cutoff);
+        int deleted = tombstoneRepository.deleteOlderThan(cutoff);
+        if (deleted > 0) {
+            logger.info("Pruned {} sync tombstones of {} users", deleted, users);
+        }
+    }
+
+    private Result createDeck(Long userId, SyncOperation op, Map<String, Long> deckIds, Set<Long> knownDecks) {
+        if (isBlank(op.getName())) {
+            return result(op, null, Status.INVALID);
+        }
+        if (op.getClientId() != null && deckIds.containsKey(op.getClientId())) {
+            return result(op, deckIds.get(op.getClientId()), Status.DUPLICATE);
+        }
+        DeckResponse deck = deckService.createDeck(userId, deckRequest(op));
+        if (op.getClientId() != null) {
+            deckIds.put(op.getClientId(), deck.getId());
+        }
+        knownDecks.add(deck.getId());
+        return result(op, deck.getId(), Status.APPLIED);
+    }
+
+    private Result updateDeck(Long userId, SyncOperation op, Map<String, Long> deckIds) {
+        Long deckId = resolve(op, deckIds);
+        if (deckId == null || isBlank(op.getName())) {
+            return result(op, deckId, Status.INVALID);
+        }
+        Status status = check(op, deckRepository.findByIdAndUserId(deckId, userId).map(Deck::getChangeSeq));
+        if (status == Status.APPLIED) {
+            deckService.updateDeck(userId, deckId, deckRequest(op));
+        }
+        return result(op, deckId, status);
+    }
+
+    private Result deleteDeck(Long userId, SyncOperation op, Map<String, Long> deckIds, Set<Long> knownDecks) {
+        Long deckId = resolve(op, deckIds);
+        if (deckId == null) {
+            return result(op, null, Status.INVALID);
+        }
+        Status status = check(op, deckRepository.findByIdAndUserId(deckId, userId).map(Deck::getChangeSeq));
+        if (status == Status.APPLIED) {
+            deckService.deleteDeck(userId, deckId);
+            knownDecks.remove(deckId);
+        }
+        return result(op, deckId, status);
+    }
+
+    private Result createCard(Long userId, SyncOperation op, Long deckId, Set<Long> knownDecks,
+                              Map<String, Long> cardIds, PendingCards pending) {
+        if (deckId == null || op.getFront() == null || op.getBack() == null) {
+            return result(op, null, Status.INVALID);
+        }
+        if (op.getClientId() != null && (cardIds.containsKey(op.getClientId())
+                || pending.clientIds.contains(op.getClientId()))) {
+            return result(op, cardIds.get(op.getClientId()), Status.DUPLICATE);
+        }
+        if (!knownDecks.contains(deckId)) {
+            if (!deckRepository.existsByIdAndUserId(deckId, userId)) {
+                return result(op, null, Status.NOT_FOUND);
+            }
+            knownDecks.add(deckId);
+        }
+        return pending.add(op, deckId);
+    }
+
+    private Result updateCard(Long userId, SyncOperation op, Map<String, Long> cardIds) {
+        Long cardId = resolve(op, cardIds);
+        if (cardId == null || op.getFront() == null || op.getBack() == null) {
+            return result(op, cardId, Status.INVALID);
+        }
+        Card card = cardRepository.findByIdAndUserId(cardId, userId).orElse(null);
+        Status status = check(op, Optional.ofNullable(card).map(Card::getChangeSeq));
+        if (status == Status.APPLIED) {
+            deckService.updateCard(userId, card.getDeckId(), cardId, cardRequest(op));
+        }
+        return result(op, cardId, status);
+    }
+
+    private Result deleteCard(Long userId, SyncOperation op, Map<String, Long> cardIds) {
+        Long cardId = resolve(op, cardIds);
+        if (cardId == null) {
+            return result(op, null, Status.INVALID);
+        }
+        Card card = cardRepository.findByIdAndUserId(cardId, userId).orElse(null);
+        Status status = check(op, Optional.ofNullable(card).map(Card::getChangeSeq));
+        if (status == Status.APPLIED) {
+            deckService.deleteCard(userId, card.getDeckId(), cardId);
+        }
+        return result(op, cardId, status);
+    }
+
+    /**
+     * Card creates queue up while they target the same deck and go to the database in one
+     * {@link DeckService#addCards} call.
+     */
+    private class PendingCards {
+        Long deckId;
+        final List<Result> results = new ArrayList<>();
+        final List<CardRequest> requests = new ArrayList<>();
+        final Set<String> clientIds = new HashSet<>();
+
+        Result add(SyncOperation op, Long deckId) {
+            this.deckId = deckId;
+            Result result = result(op, null, Status.APPLIED);
+            results.add(result);
+            requests.add(cardRequest(op));
+            if (op.getClientId() != null) {
+                clientIds.add(op.getClientId());
+            }
+            return result;
+        }
+
+        void flush(Long userId, Map<String, Long> cardIds) {
+            if (requests.isEmpty()) {
+                deckId = null;
+                return;
+            }
+            List<CardResponse> created = deckService.addCards(userId, deckId, requests);
+            for (int i = 0; i < created.size(); i++) {
+                results.get(i).setId(created.get(i).getId());
+                if (created.get(i).getClientId() != null) {
+                    cardIds.put(created.get(i).getClientId(), created.get(i).getId());
+                }
+            }
+            deckId = null;
+            results.clear();
+            requests.clear();
+            clientIds.clear();
+        }
+    }
+
+    private static Status check(SyncOperation op, Optional<Long> currentSeq) {
+        if (currentSeq.isEmpty()) {
+            return Status.NOT_FOUND;
+        }
+        if (op.getBaseSeq() != null && currentSeq.get() > op.getBaseSeq()) {
+            return Status.CONFLICT;
+        }
+        return Status.APPLIED;
+    }
+
+    private static Long resolve(SyncOperation op, Map<String, Long> idsByClientId) {
+        return op.getId() != null ? op.getId() : op.getClientId() == null ? null : idsByClientId.get(op.getClientId());
+    }
+
+    private Map<String, Long> existingDeckIds(Long userId, List<SyncOperation> operations) {
+        Set<String> clientIds = new HashSet<>();
+        for (SyncOperation op : operations) {
+            switch (op.getOp()) {
+                case CREATE_DECK, UPDATE_DECK, DELETE_DECK -> clientIds.add(op.getClientId());
+                case CREATE_CARD -> clientIds.add(op.getDeckClientId());
+                default -> { }
+            }
+        }
+        clientIds.remove(null);
+        if (clientIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return deckRepository.findByUserIdAndClientIdIn(userId, clientIds).stream()
+                .collect(Collectors.toMap(Deck::getClientId, Deck::getId, (a, b) -> a, HashMap::new));
+    }
+
+    private Map<String, Long> existingCardIds(Long userId, List<SyncOperation> operations) {
+        Set<String> clientIds = operations.stream()
+                .filter(op -> op.getOp() == SyncOperation.Type.CREATE_CARD
+                        || op.getOp() == SyncOperation.Type.UPDATE_CARD
+                        || op.getOp() == SyncOperation.Type.DELETE_CARD)
+                .map(SyncOperation::getClientId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (clientIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return cardRepository.findByUserIdAndClientIdIn(userId, clientIds).stream()
+                .collect(Collectors.toMap(Card::getClientId, Card::getId, (a, b) -> a, HashMap::new));
+    }
+
+    private static DeckRequest deckRequest(SyncOperation op) {
+        DeckRequest request = new DeckRequest();
+        request.setName(op.getName());
+        request.setDescription(op.getDescription());
+        request.setClientId(op.getClientId());
+        return request;
+    }
+
+    private static CardRequest cardRequest(SyncOperation op) {
+        CardRequest request = new CardRequest();
+        request.setFront(op.getFront());
+        request.setBack(op.getBack());
+        request.setClientId(op.getClientId());
+        return request;
+    }
+
+    private static Result result(SyncOperation op, Long id, Status status) {
+        return new Result(op.getOp(), op.getClientId(), id, status);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
@@ -29,6 +29,8 @@ public class UserDetailsImpl implements UserDetails {
     @JsonIgnore
     private String password;
 
+    private long profileVersion;
+
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(Long id, String username, String email, String displayName, String imageUrl, String password,
@@ -47,7 +49,7 @@ public class UserDetailsImpl implements UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getName()))
                 .collect(Collectors.toList());
 
-        return new UserDetailsImpl(
+        UserDetailsImpl details = new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
@@ -55,6 +57,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getImageUrl(),
                 user.getPassword(),
                 authorities);
+        details.setProfileVersion(user.getProfileVersion());
+        return details;
     }
 
     @Override
@@ -0,0 +1,37 @@
+package com.flashcard.backend.shared;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable copy of a shared deck's cards at one content version, sorted by id.
+ */
+public record DeckSnapshot(Long deckId, long version, List<SharedCard> cards) {
+
+    public DeckSnapshot {
+        cards = List.copyOf(cards);
+    }
+
+    /**
+     * Up to {@code count} cards with an id above {@code afterId}, in id order.
+     */
+    public List<SharedCard> after(long afterId, int count) {
+        int from = indexAfter(afterId);
+        return cards.subList(from, Math.min(cards.size(), from + count));
+    }
+
+    public Optional<SharedCard> find(long cardId) {
+        int index = indexAfter(cardId - 1);
+        if (index < cards.size() && cards.get(index).id() == cardId) {
+            return Optional.of(cards.get(index));
+        }
+        return Optional.empty();
+    }
+
+    private int indexAfter(long afterId) {
+        int index = Collections.binarySearch(cards, new SharedCard(afterId, null, null),
+                (a, b) -> Long.compare(a.id(), b.id()));
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
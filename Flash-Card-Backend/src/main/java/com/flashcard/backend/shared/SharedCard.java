@@ -0,0 +1,7 @@
+package com.flashcard.backend.shared;
+
+/**
+ * Content of a card in a shared deck, without the owner's scheduling state.
+ */
+public record SharedCard(Long id, String front, String back) {
+}
@@ -0,0 +1,176 @@
+package com.flashcard.backend.shared;
+
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.repository.CardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of shared deck contents. A snapshot is keyed by the deck's content version,
+ * which every card or metadata write bumps, so a lookup is valid exactly when the caller's freshly
+ * read deck row carries the same version; anything else reloads.
+ *
+ * <p>The cache is bounded by the estimated heap size of the card text, not by deck count, since
+ * one deck can hold thousands of cards with sides of up to 10,000 characters. The least recently
+ * used decks are dropped while the total exceeds {@code maxBytes}, which keeps the popular ones
+ * resident. A deck is sized in the database before it is loaded; decks estimated above
+ * {@code maxDeckBytes} are never cached and callers page them from the database.
+ */
+@Component
+public class SharedDeckCache {
+
+    private static final int LOAD_LOCKS = 64;
+
+    // Per card: the record, its boxed id, two String headers and their backing arrays
+    static final long CARD_OVERHEAD_BYTES = 128;
+
+    private static final int MAX_TOO_LARGE = 1024;
+
+    private final CardRepository cardRepository;
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter tooLarge;
+    private final AtomicLong bytes;
+    private final Object[] loadLocks = new Object[LOAD_LOCKS];
+
+    @Value("${flashcard.shared.cache.maxBytes:268435456}")
+    private long maxBytes = 256L << 20;
+
+    @Value("${flashcard.shared.cache.maxDeckBytes:33554432}")
+    private long maxDeckBytes = 32L << 20;
+
+    // Access-ordered; guarded by its own monitor together with bytes
+    private final LinkedHashMap<Long, Entry> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Decks found too large, by the content version they were sized at
+    private Map<Long, Long> oversized;
+
+    private record Entry(DeckSnapshot snapshot, long bytes) {
+    }
+
+    public SharedDeckCache(CardRepository cardRepository, MeterRegistry meterRegistry) {
+        this.cardRepository = cardRepository;
+        this.hits = meterRegistry.counter("flashcard.shared.cache", "result", "hit");
+        this.loads = meterRegistry.counter("flashcard.shared.cache", "result", "load");
+        this.tooLarge = meterRegistry.counter("flashcard.shared.cache", "result", "too_large");
+        this.bytes = meterRegistry.gauge("flashcard.shared.cache.bytes", new AtomicLong());
+        for (int i = 0; i < LOAD_LOCKS; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        maxDeckBytes = Math.min(maxDeckBytes, maxBytes);
+        oversized = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > MAX_TOO_LARGE;
+            }
+        });
+    }
+
+    /**
+     * Cards of {@code deck} at its current content version, or empty if the deck is too large
+     * to cache.
+     */
+    public Optional<DeckSnapshot> get(Deck deck) {
+        DeckSnapshot cached = current(deck);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        if (isOversized(deck)) {
+            tooLarge.increment();
+            return Optional.empty();
+        }
+        // One load per deck at a time, so a version bump on a popular deck costs one query
+        synchronized (loadLocks[(int) Math.floorMod(deck.getId(), (long) LOAD_LOCKS)]) {
+            cached = current(deck);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            long estimate = estimateBytes(cardRepository.sumTextLength(deck.getUserId(), deck.getId()),
+                    deck.getCardCount());
+            if (estimate > maxDeckBytes) {
+                oversized.put(deck.getId(), deck.getContentVersion());
+                tooLarge.increment();
+                return Optional.empty();
+            }
+            loads.increment();
+            List<SharedCard> cards = cardRepository.findSharedCards(deck.getUserId(), deck.getId());
+            DeckSnapshot snapshot = new DeckSnapshot(deck.getId(), deck.getContentVersion(), cards);
+            long size = estimateBytes(cards);
+            // The deck may have grown between sizing and loading; serve it, but do not keep it
+            if (size <= maxDeckBytes) {
+                put(new Entry(snapshot, size));
+            }
+            return Optional.of(snapshot);
+        }
+    }
+
+    /**
+     * Estimated heap size of card text: two bytes per character plus a fixed per-card overhead.
+     */
+    static long estimateBytes(long textLength, long cardCount) {
+        return 2 * textLength + CARD_OVERHEAD_BYTES * cardCount;
+    }
+
+    static long estimateBytes(List<SharedCard> cards) {
+        long textLength = 0;
+        for (SharedCard card : cards) {
+            textLength += card.front().length() + card.back().length();
+        }
+        return estimateBytes(textLength, cards.size());
+    }
+
+    private boolean isOversized(Deck deck) {
+        if (CARD_OVERHEAD_BYTES * deck.getCardCount() > maxDeckBytes) {
+            return true;
+        }
+        Long version = oversized.get(deck.getId());
+        return version != null && version == deck.getContentVersion();
+    }
+
+    private DeckSnapshot current(Deck deck) {
+        Entry cached;
+        synchronized (snapshots) {
+            cached = snapshots.get(deck.getId());
+        }
+        return cached != null && cached.snapshot().version() == deck.getContentVersion() ? cached.snapshot() : null;
+    }
+
+    private void put(Entry entry) {
+        Long deckId = entry.snapshot().deckId();
+        synchronized (snapshots) {
+            Entry old = snapshots.get(deckId);
+            if (old != null && old.snapshot().version() > entry.snapshot().version()) {
+                return;
+            }
+            snapshots.put(deckId, entry);
+            long total = bytes.addAndGet(entry.bytes() - (old == null ? 0 : old.bytes()));
+            // Least recently used first; the new entry is last and fits on its own
+            Iterator<Entry> eldest = snapshots.values().iterator();
+            while (total > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                if (evicted == entry) {
+                    break;
+                }
+                eldest.remove();
+                total = bytes.addAndGet(-evicted.bytes());
+            }
+        }
+    }
+}
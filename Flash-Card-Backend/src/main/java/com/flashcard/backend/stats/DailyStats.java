@@ -0,0 +1,21 @@
+package com.flashcard.backend.stats;
+
+import java.time.LocalDate;
+
+/**
+ * Study totals of one UTC day, for one deck or summed over all of them.
+ */
+public record DailyStats(LocalDate day, int reviews, int correct, long timeSpentMs, int cardsLearned) {
+
+    public DailyStats plus(DailyStats other) {
+        return new DailyStats(day, reviews + other.reviews, correct + other.correct,
+                timeSpentMs + other.timeSpentMs, cardsLearned + other.cardsLearned);
+    }
+
+    /**
+     * Share of answers that were not AGAIN, or 0 without reviews.
+     */
+    public double retention() {
+        return reviews == 0 ? 0 : (double) correct / reviews;
+    }
+}
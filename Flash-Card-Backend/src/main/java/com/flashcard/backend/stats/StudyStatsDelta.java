@@ -0,0 +1,80 @@
+package com.flashcard.backend.stats;
+
+import com.flashcard.backend.scheduling.Rating;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rollup increments collected while a batch of reviews is applied, one entry per deck and day,
+ * kept in key order so the upserts lock rollup rows in a stable order.
+ */
+public class StudyStatsDelta {
+
+    private final Map<Key, Entry> entries = new TreeMap<>();
+
+    public void add(Long deckId, Instant reviewedAt, Rating rating, Integer durationMs, boolean firstReview) {
+        Key key = new Key(LocalDate.ofInstant(reviewedAt, ZoneOffset.UTC), deckId);
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(k.day(), k.deckId()));
+        entry.reviews++;
+        if (rating != Rating.AGAIN) {
+            entry.correct++;
+        }
+        if (durationMs != null && durationMs > 0) {
+            entry.timeSpentMs += durationMs;
+        }
+        if (firstReview) {
+            entry.cardsLearned++;
+        }
+    }
+
+    public Collection<Entry> entries() {
+        return entries.values();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private record Key(LocalDate day, Long deckId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : deckId.compareTo(other.deckId);
+        }
+    }
+
+    public static final class Entry {
+        public final LocalDate day;
+        public final Long deckId;
+        int reviews;
+        int correct;
+        long timeSpentMs;
+        int cardsLearned;
+
+        Entry(LocalDate day, Long deckId) {
+            this.day = day;
+            this.deckId = deckId;
+        }
+
+        public int reviews() {
+            return reviews;
+        }
+
+        public int correct() {
+            return correct;
+        }
+
+        public long timeSpentMs() {
+            return timeSpentMs;
+        }
+
+        public int cardsLearned() {
+            return cardsLearned;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.flashcard.backend.storage;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "storage_cleanup_tasks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageCleanupTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_path", nullable = false)
+    private String objectPath;
+
+    @Column(nullable = false, length = 40)
+    private String reason;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+
+    public static StorageCleanupTask of(String objectPath, String reason) {
+        StorageCleanupTask task = new StorageCleanupTask();
+        task.objectPath = objectPath;
+        task.reason = reason;
+        task.attempts = 0;
+        task.createdAt = Instant.now();
+        task.nextAttemptAt = task.createdAt;
+        return task;
+    }
+}
@@ -0,0 +1,39 @@
+package com.flashcard.backend.storage;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_blobs", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "content_hash" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBlob {
+    @Id
+    @Column(name = "object_path")
+    private String objectPath;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,46 @@
+package com.flashcard.backend.sync;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.deck.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * A page of the change feed merged from the three sources. Each source is read with
+ * {@code limit + 1} rows past the cursor; the merged page keeps the {@code limit} lowest sequence
+ * values, so no source can hold a skipped row below the new cursor.
+ */
+public record ChangePage(List<Deck> decks, List<Card> cards, List<Tombstone> tombstones, long cursor,
+                         boolean hasMore) {
+
+    public static ChangePage cut(List<Deck> decks, List<Card> cards, List<Tombstone> tombstones, long since,
+                                 int limit) {
+        long[] seqs = LongStream.concat(LongStream.concat(
+                        decks.stream().mapToLong(Deck::getChangeSeq),
+                        cards.stream().mapToLong(Card::getChangeSeq)),
+                        tombstones.stream().mapToLong(Tombstone::getChangeSeq))
+                .sorted()
+                .toArray();
+        if (seqs.length <= limit) {
+            long cursor = seqs.length == 0 ? since : seqs[seqs.length - 1];
+            return new ChangePage(decks, cards, tombstones, cursor, false);
+        }
+
+        long cursor = seqs[limit - 1];
+        return new ChangePage(upTo(decks, Deck::getChangeSeq, cursor), upTo(cards, Card::getChangeSeq, cursor),
+                upTo(tombstones, Tombstone::getChangeSeq, cursor), cursor, true);
+    }
+
+    private static <T> List<T> upTo(List<T> rows, ToLongFunction<T> seq, long cursor) {
+        List<T> kept = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            if (seq.applyAsLong(row) <= cursor) {
+                kept.add(row);
+            }
+        }
+        return kept;
+    }
+}
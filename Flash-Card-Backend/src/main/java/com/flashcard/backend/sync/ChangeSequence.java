@@ -0,0 +1,43 @@
+package com.flashcard.backend.sync;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out values of a user's change sequence. The increment locks the user's row until the
+ * surrounding transaction ends, so sequence order is commit order. Callers allocate before
+ * touching other rows, keeping the lock order user row first.
+ */
+@Component
+public class ChangeSequence {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserve {@code count} consecutive values and return the first. Unused values leave gaps,
+     * which the feed tolerates.
+     */
+    public long allocate(Long userId, int count) {
+        Long last = jdbcTemplate.queryForObject(
+                "UPDATE flashcard.users SET change_seq = change_seq + ? WHERE id = ? RETURNING change_seq",
+                Long.class, count, userId);
+        if (last == null) {
+            throw new IllegalStateException("User not found");
+        }
+        return last - count + 1;
+    }
+
+    public long next(Long userId) {
+        return allocate(userId, 1);
+    }
+
+    /**
+     * Take the user's row lock without allocating, so checks made before a write still hold
+     * when the write happens.
+     */
+    public void lock(Long userId) {
+        jdbcTemplate.queryForObject("SELECT id FROM flashcard.users WHERE id = ? FOR UPDATE", Long.class, userId);
+    }
+}
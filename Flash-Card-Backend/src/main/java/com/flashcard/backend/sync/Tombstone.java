@@ -0,0 +1,51 @@
+package com.flashcard.backend.sync;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted deck or card in the change feed. A deck tombstone also stands for the cards
+ * that were deleted with it.
+ */
+@Entity
+@Table(name = "sync_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+    public static final String DECK = "DECK";
+    public static final String CARD = "CARD";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt = Instant.now();
+
+    public static Tombstone of(Long userId, String entityType, Long entityId, long changeSeq) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.userId = userId;
+        tombstone.entityType = entityType;
+        tombstone.entityId = entityId;
+        tombstone.changeSeq = changeSeq;
+        tombstone.deletedAt = Instant.now();
+        return tombstone;
+    }
+}
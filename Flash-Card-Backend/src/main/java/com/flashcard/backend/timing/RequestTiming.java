@@ -0,0 +1,116 @@
+package com.flashcard.backend.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request-scoped timing breakdown. Only sampled requests have a recorder bound to their thread;
+ * for everything else {@link #start()} returns 0 and {@link #stop(String, long)} returns
+ * immediately, so instrumented call sites cost one ThreadLocal read.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Span> spans = new LinkedHashMap<>(8);
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start of a span, or 0 when the current request is not being timed.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    public static void stop(String name, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(name, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Same as {@link #stop(String, long)} for a {@code dependency-operation} name, built only when timed.
+     */
+    public static void stop(String dependency, String operation, long startNanos) {
+        if (startNanos != 0L) {
+            stop(dependency + "-" + operation, startNanos);
+        }
+    }
+
+    void add(String name, long nanos) {
+        Span span = spans.computeIfAbsent(name, key -> new Span());
+        span.nanos += nanos;
+        span.count++;
+    }
+
+    /**
+     * Server-Timing header value: one entry per span, then {@code filter} (time outside the handler)
+     * and {@code total} as of now.
+     */
+    String toHeader() {
+        StringBuilder header = new StringBuilder(128);
+        for (Map.Entry<String, Span> entry : spans.entrySet()) {
+            Span span = entry.getValue();
+            header.append(entry.getKey()).append(";dur=").append(millis(span.nanos));
+            if (span.count > 1) {
+                header.append(";desc=\"").append(span.count).append("x\"");
+            }
+            header.append(", ");
+        }
+        long total = System.nanoTime() - startNanos;
+        header.append("filter;dur=").append(millis(total - appNanos()));
+        header.append(", total;dur=").append(millis(total));
+        return header.toString();
+    }
+
+    /**
+     * Single-line key=value summary for log aggregation.
+     */
+    String toLogLine(String method, String path, int status) {
+        long total = System.nanoTime() - startNanos;
+        StringBuilder line = new StringBuilder(160);
+        line.append("timing method=").append(method)
+                .append(" path=").append(path)
+                .append(" status=").append(status)
+                .append(" total_ms=").append(millis(total))
+                .append(" filter_ms=").append(millis(total - appNanos()));
+        for (Map.Entry<String, Span> entry : spans.entrySet()) {
+            String key = entry.getKey().replace('-', '_');
+            line.append(' ').append(key).append("_ms=").append(millis(entry.getValue().nanos));
+            line.append(' ').append(key).append("_count=").append(entry.getValue().count);
+        }
+        return line.toString();
+    }
+
+    private long appNanos() {
+        Span app = spans.get(TimingHandlerInterceptor.SPAN);
+        return app == null ? 0L : app.nanos;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static final class Span {
+        long nanos;
+        int count;
+    }
+}
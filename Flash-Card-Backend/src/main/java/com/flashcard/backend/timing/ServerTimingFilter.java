@@ -0,0 +1,65 @@
+package com.flashcard.backend.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Binds a {@link RequestTiming} to a sample of requests, then reports the breakdown as a
+ * {@code Server-Timing} response header and a {@code timing ...} log line. With the sample rate
+ * at 0 the filter is skipped entirely.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    @Value("${flashcard.timing.sampleRate:0}")
+    private double sampleRate;
+
+    @Value("${flashcard.timing.header:true}")
+    private boolean header = true;
+
+    @Value("${flashcard.timing.bufferBytes:16384}")
+    private int bufferBytes = 16384;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return sampleRate <= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.begin();
+        ServerTimingResponse timedResponse = header ? new ServerTimingResponse(response, timing, bufferBytes) : null;
+        try {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            try {
+                if (timedResponse != null) {
+                    timedResponse.finish();
+                }
+            } finally {
+                RequestTiming.end();
+                logger.info(timing.toLogLine(request.getMethod(), request.getRequestURI(), response.getStatus()));
+            }
+        }
+    }
+}
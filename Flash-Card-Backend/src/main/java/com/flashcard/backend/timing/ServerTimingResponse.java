@@ -0,0 +1,204 @@
+package com.flashcard.backend.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Holds back the first {@code bufferLimit} bytes of a timed response so the Server-Timing header
+ * can be added once the handler has finished. Bodies that fit (all JSON responses here) carry the
+ * complete breakdown; larger ones commit when the buffer overflows and report the timings up to
+ * that point. Flushes are deferred while the body is still buffered.
+ *
+ * <p>For async handlers (streamed exports) the filter finishes on the request thread while the body
+ * is written from the task thread, so the buffer hand-off and every write are guarded by this
+ * wrapper's monitor; otherwise the buffered head and the streamed tail can interleave.
+ */
+final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    static final String HEADER = "Server-Timing";
+
+    private final RequestTiming timing;
+    private final int bufferLimit;
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(256);
+    private BufferingOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean headerWritten;
+
+    ServerTimingResponse(HttpServletResponse response, RequestTiming timing, int bufferLimit) {
+        super(response);
+        this.timing = timing;
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new BufferingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new BufferingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public synchronized void flushBuffer() throws IOException {
+        if (pending == null) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        release();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        release();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        release();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public synchronized void resetBuffer() {
+        if (pending != null) {
+            pending.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (pending != null) {
+            pending.reset();
+        }
+        super.reset();
+    }
+
+    /**
+     * Add the header and write out whatever is still buffered. Later writes go straight through.
+     */
+    synchronized void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (pending != null && pending.size() > 0) {
+            writeHeader();
+            super.getOutputStream().write(pending.toByteArray());
+        } else {
+            writeHeader();
+        }
+        pending = null;
+    }
+
+    private synchronized void release() {
+        writeHeader();
+        pending = null;
+    }
+
+    private void writeHeader() {
+        if (!headerWritten) {
+            headerWritten = true;
+            if (!isCommitted()) {
+                setHeader(HEADER, timing.toHeader());
+            }
+        }
+    }
+
+    private final class BufferingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        BufferingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            synchronized (ServerTimingResponse.this) {
+                if (pending != null && pending.size() < bufferLimit) {
+                    pending.write(b);
+                    return;
+                }
+                overflow();
+                delegate.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (ServerTimingResponse.this) {
+                if (pending != null && pending.size() + len <= bufferLimit) {
+                    pending.write(b, off, len);
+                    return;
+                }
+                overflow();
+                delegate.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (ServerTimingResponse.this) {
+                if (pending == null) {
+                    delegate.flush();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (ServerTimingResponse.this) {
+                if (pending == null) {
+                    delegate.close();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+        private void overflow() throws IOException {
+            if (pending != null) {
+                writeHeader();
+                byte[] buffered = pending.toByteArray();
+                pending = null;
+                delegate.write(buffered);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.flashcard.backend.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times the handler including response serialization, so the filter can report the rest of the
+ * request as filter time.
+ */
+class TimingHandlerInterceptor implements HandlerInterceptor {
+
+    static final String SPAN = "app";
+
+    private static final String START_ATTRIBUTE = TimingHandlerInterceptor.class.getName() + ".start";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        long start = RequestTiming.start();
+        if (start != 0L) {
+            request.setAttribute(START_ATTRIBUTE, start);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            RequestTiming.stop(SPAN, start);
+        }
+    }
+}
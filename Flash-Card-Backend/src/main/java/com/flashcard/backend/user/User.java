@@ -50,6 +50,10 @@ public class User {
     @Column(name = "last_login_at")
     private Instant lastLoginAt;
 
+    // Bumped on every change visible in the profile response; drives the /api/user/me ETag
+    @Column(name = "profile_version", nullable = false)
+    private long profileVersion = 1;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -62,6 +66,10 @@ public class User {
         this.password = password;
     }
 
+    public void bumpProfileVersion() {
+        this.profileVersion++;
+    }
+
     public static User oauthUser(String username, String email, String displayName, String imageUrl) {
         User user = new User();
         user.username = username;
@@ -0,0 +1,158 @@
+package com.flashcard.backend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.payload.response.JwtResponse;
+import com.flashcard.backend.repository.UserRepository;
+import com.flashcard.backend.security.jwt.JwtUtils;
+import com.flashcard.backend.service.UserDetailsImpl;
+import com.flashcard.backend.service.UserDetailsServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the request hot paths (JWT issue/parse, {@link JwtResponse} serialization, BCrypt and the
+ * user lookup queries) for a fixed time after the context is refreshed. Application runners finish
+ * before readiness switches to ACCEPTING_TRAFFIC, so the pod only gets traffic once these paths are
+ * compiled. Only a synthetic principal is used; its username is longer than the column allows, so
+ * the lookups can never match a real row and nothing is written.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    static final String SYNTHETIC_USERNAME = "warmup-synthetic-principal";
+    private static final String SYNTHETIC_EMAIL = "warmup-synthetic-principal@invalid";
+    private static final String SYNTHETIC_PASSWORD = "warmup-synthetic-password";
+
+    private static final long PROGRESS_LOG_INTERVAL_MS = 1000;
+
+    // One BCrypt check costs as much as thousands of the other steps; its inner loop is compiled early anyway
+    private static final int BCRYPT_EVERY = 64;
+
+    @Autowired
+    JwtUtils jwtUtils;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Value("${flashcard.warmup.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${flashcard.warmup.durationMs:5000}")
+    private long durationMs = 5000;
+
+    @Value("${flashcard.warmup.threads:2}")
+    private int threads = 2;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private volatile long startedAtMs;
+    private volatile State state = State.PENDING;
+
+    public enum State {
+        PENDING, RUNNING, DONE, DISABLED
+    }
+
+    public record Progress(State state, long iterations, long elapsedMs, long durationMs) {
+    }
+
+    public Progress progress() {
+        long elapsed = startedAtMs == 0 ? 0 : Math.min(System.currentTimeMillis() - startedAtMs, durationMs);
+        return new Progress(state, iterations.get(), elapsed, durationMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled || durationMs <= 0) {
+            state = State.DISABLED;
+            return;
+        }
+
+        String passwordHash = passwordEncoder.encode(SYNTHETIC_PASSWORD);
+        UserDetailsImpl principal = new UserDetailsImpl(-1L, SYNTHETIC_USERNAME, SYNTHETIC_EMAIL, null, null,
+                passwordHash, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        startedAtMs = System.currentTimeMillis();
+        long deadline = startedAtMs + durationMs;
+        state = State.RUNNING;
+        logger.info("Warm-up started: {} ms on {} threads", durationMs, threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        exercise(authentication, passwordHash, iterations.incrementAndGet());
+                    } catch (RuntimeException e) {
+                        // A cold database must not keep the pod from starting
+                        logger.warn("Warm-up iteration failed, stopping this worker: {}", e.toString());
+                        return;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(PROGRESS_LOG_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+            Progress progress = progress();
+            logger.info("Warm-up {} / {} ms, {} iterations", progress.elapsedMs(), durationMs, progress.iterations());
+        }
+
+        state = State.DONE;
+        logger.info("Warm-up finished after {} iterations", iterations.get());
+    }
+
+    private void exercise(UsernamePasswordAuthenticationToken authentication, String passwordHash, long iteration) {
+        String token = jwtUtils.generateJwtToken(authentication);
+        String subject = jwtUtils.checkJwtToken(token).subject();
+        jwtUtils.checkJwtToken("not-a-token");
+
+        try {
+            objectMapper.writeValueAsBytes(new JwtResponse(token, -1L, subject, SYNTHETIC_EMAIL, null, null,
+                    List.of("ROLE_USER")));
+        } catch (Exception e) {
+            throw new IllegalStateException("JwtResponse serialization failed", e);
+        }
+
+        if (iteration % BCRYPT_EVERY == 1) {
+            passwordEncoder.matches(SYNTHETIC_PASSWORD, passwordHash);
+        }
+
+        userRepository.existsByUsername(SYNTHETIC_USERNAME);
+        userRepository.existsByEmail(SYNTHETIC_EMAIL);
+        try {
+            userDetailsService.loadUserByUsername(subject);
+        } catch (UsernameNotFoundException expected) {
+            // The synthetic principal never exists
+        }
+    }
+}
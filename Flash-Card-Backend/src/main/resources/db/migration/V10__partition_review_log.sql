@@ -0,0 +1,84 @@
+-- review_log becomes a table range-partitioned by month on reviewed_at, so recent-history
+-- queries prune to recent partitions and old months can be detached whole instead of deleted
+-- row by row. Partitions are named review_log_pYYYYMM and cover [first of month, next month)
+-- in UTC; ReviewLogPartitionService keeps future months created and moves expired ones into
+-- review_log_archive. The default partition only catches rows outside every monthly range.
+--
+-- A partitioned table cannot enforce UNIQUE (user_id, idempotency_key) without the partition
+-- key, so duplicates are filtered by StudyService under the user row lock, served by the
+-- (user_id, idempotency_key) index below.
+
+ALTER TABLE flashcard.review_log RENAME TO review_log_legacy;
+ALTER TABLE flashcard.review_log_legacy RENAME CONSTRAINT review_log_pkey TO review_log_legacy_pkey;
+ALTER TABLE flashcard.review_log_legacy RENAME CONSTRAINT fk_review_log_user TO fk_review_log_legacy_user;
+ALTER TABLE flashcard.review_log_legacy RENAME CONSTRAINT uq_review_log_user_key TO uq_review_log_legacy_user_key;
+-- Keep ids increasing across the switch
+ALTER SEQUENCE flashcard.review_log_id_seq OWNED BY NONE;
+
+CREATE TABLE flashcard.review_log (
+    id BIGINT NOT NULL DEFAULT nextval('flashcard.review_log_id_seq'),
+    user_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    rating VARCHAR(8) NOT NULL,
+    reviewed_at TIMESTAMPTZ NOT NULL,
+    duration_ms INTEGER,
+    interval_days DOUBLE PRECISION NOT NULL,
+    due_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, reviewed_at),
+    CONSTRAINT fk_review_log_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (reviewed_at);
+
+ALTER SEQUENCE flashcard.review_log_id_seq OWNED BY flashcard.review_log.id;
+
+-- Idempotency lookups, and a user's recent history in time order
+CREATE INDEX idx_review_log_user_key ON flashcard.review_log (user_id, idempotency_key);
+CREATE INDEX idx_review_log_user_reviewed ON flashcard.review_log (user_id, reviewed_at);
+
+CREATE TABLE flashcard.review_log_default PARTITION OF flashcard.review_log DEFAULT;
+
+-- One partition per month from the oldest review up to three months ahead
+DO $$
+DECLARE
+    month_start TIMESTAMPTZ;
+    last_month TIMESTAMPTZ := date_trunc('month', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' + INTERVAL '3 months';
+BEGIN
+    SELECT date_trunc('month', MIN(reviewed_at) AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'
+    INTO month_start FROM flashcard.review_log_legacy;
+    month_start := LEAST(COALESCE(month_start, last_month),
+                         date_trunc('month', NOW() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC');
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE flashcard.%I PARTITION OF flashcard.review_log FOR VALUES FROM (%L) TO (%L)',
+                       'review_log_p' || to_char(month_start AT TIME ZONE 'UTC', 'YYYYMM'),
+                       month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO flashcard.review_log
+    (id, user_id, card_id, deck_id, idempotency_key, rating, reviewed_at, duration_ms, interval_days, due_at, created_at)
+SELECT id, user_id, card_id, deck_id, idempotency_key, rating, reviewed_at, duration_ms, interval_days, due_at, created_at
+FROM flashcard.review_log_legacy;
+
+DROP TABLE flashcard.review_log_legacy;
+
+-- Expired months, moved out of the partitioned table. Plain heap with no fill-factor slack:
+-- rows are only ever inserted in bulk and read for exports or audits.
+CREATE TABLE flashcard.review_log_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    rating VARCHAR(8) NOT NULL,
+    reviewed_at TIMESTAMPTZ NOT NULL,
+    duration_ms INTEGER,
+    interval_days DOUBLE PRECISION NOT NULL,
+    due_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT fk_review_log_archive_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_review_log_archive_user_reviewed ON flashcard.review_log_archive (user_id, reviewed_at);
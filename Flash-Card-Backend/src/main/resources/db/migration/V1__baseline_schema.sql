@@ -1,3 +1,6 @@
+-- Baseline of the schema previously applied by schema.sql on every boot. Statements stay
+-- idempotent so databases created by schema.sql converge when Flyway baselines them at version 0.
+
 CREATE SCHEMA IF NOT EXISTS flashcard;
 
 CREATE TABLE IF NOT EXISTS flashcard.roles (
@@ -23,6 +26,7 @@ ALTER TABLE IF EXISTS flashcard.users ADD COLUMN IF NOT EXISTS image_source VARC
 ALTER TABLE IF EXISTS flashcard.users ADD COLUMN IF NOT EXISTS image_updated_at TIMESTAMPTZ;
 ALTER TABLE IF EXISTS flashcard.users ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ DEFAULT NOW();
 ALTER TABLE IF EXISTS flashcard.users ADD COLUMN IF NOT EXISTS last_login_at TIMESTAMPTZ;
+ALTER TABLE IF EXISTS flashcard.users ADD COLUMN IF NOT EXISTS profile_version BIGINT NOT NULL DEFAULT 1;
 
 CREATE TABLE IF NOT EXISTS flashcard.user_roles (
     user_id BIGINT NOT NULL,
@@ -42,3 +46,30 @@ CREATE TABLE IF NOT EXISTS flashcard.user_identities (
     CONSTRAINT uq_user_identities_provider_user UNIQUE (provider, provider_user_id),
     CONSTRAINT uq_user_identities_user_provider UNIQUE (user_id, provider)
 );
+
+CREATE TABLE IF NOT EXISTS flashcard.storage_cleanup_tasks (
+    id BIGSERIAL PRIMARY KEY,
+    object_path TEXT NOT NULL,
+    reason VARCHAR(40) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    last_error TEXT,
+    failed_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_cleanup_tasks_due
+    ON flashcard.storage_cleanup_tasks (next_attempt_at)
+    WHERE failed_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS flashcard.stored_blobs (
+    object_path TEXT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    content_type VARCHAR(50),
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_stored_blobs_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE,
+    CONSTRAINT uq_stored_blobs_user_hash UNIQUE (user_id, content_hash)
+);
@@ -0,0 +1,31 @@
+-- Server-side decks and cards, owned by users.id. Every lookup is scoped to one user, so the
+-- indexes lead with user_id and end with id for keyset pagination (WHERE ... AND id > ? ORDER BY id).
+
+CREATE TABLE flashcard.decks (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    description TEXT,
+    card_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_decks_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE,
+    CONSTRAINT uq_decks_user_id UNIQUE (user_id, id)
+);
+
+CREATE TABLE flashcard.cards (
+    id BIGSERIAL PRIMARY KEY,
+    deck_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    front TEXT NOT NULL,
+    back TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    -- Composite key: a card always belongs to a deck of the same user, and the cascade from
+    -- deleting a deck is served by idx_cards_user_deck_id instead of a scan
+    CONSTRAINT fk_cards_deck FOREIGN KEY (user_id, deck_id)
+        REFERENCES flashcard.decks (user_id, id) ON DELETE CASCADE
+);
+
+-- One page of a deck is a single index range scan
+CREATE INDEX idx_cards_user_deck_id ON flashcard.cards (user_id, deck_id, id);
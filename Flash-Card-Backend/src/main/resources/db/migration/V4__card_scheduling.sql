@@ -0,0 +1,15 @@
+-- Spaced-repetition state on cards. Both SM-2 (repetitions, ease_factor, interval_days) and
+-- FSRS (stability, difficulty) live on the row so the algorithm can be switched per deployment.
+
+ALTER TABLE flashcard.cards
+    ADD COLUMN due_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    ADD COLUMN last_reviewed_at TIMESTAMPTZ,
+    ADD COLUMN repetitions INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN lapses INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN ease_factor DOUBLE PRECISION NOT NULL DEFAULT 2.5,
+    ADD COLUMN interval_days DOUBLE PRECISION NOT NULL DEFAULT 0,
+    ADD COLUMN stability DOUBLE PRECISION NOT NULL DEFAULT 0,
+    ADD COLUMN difficulty DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Loads a user's due queue in due order: WHERE user_id = ? AND due_at <= ? ORDER BY due_at, id
+CREATE INDEX idx_cards_user_due ON flashcard.cards (user_id, due_at, id);
@@ -0,0 +1,19 @@
+-- One row per applied review. Clients send an idempotency key with each review so a batch
+-- retried after a dropped connection is applied once; duplicates hit uq_review_log_user_key.
+-- card_id has no foreign key: the history outlives deleted cards.
+
+CREATE TABLE flashcard.review_log (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    rating VARCHAR(8) NOT NULL,
+    reviewed_at TIMESTAMPTZ NOT NULL,
+    duration_ms INTEGER,
+    interval_days DOUBLE PRECISION NOT NULL,
+    due_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_review_log_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE,
+    CONSTRAINT uq_review_log_user_key UNIQUE (user_id, idempotency_key)
+);
@@ -0,0 +1,52 @@
+-- Change feed for delta sync. users.change_seq is a per-user counter; every write to a deck or
+-- card takes the next values from it (UPDATE ... RETURNING, so the user row lock orders
+-- writers and a pull never skips a row that commits later with a lower number). Deletes leave a
+-- tombstone carrying their own sequence value. sync_floor_seq is the highest tombstone pruned so
+-- far: clients whose cursor is older must start over.
+
+ALTER TABLE flashcard.users
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN sync_floor_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE flashcard.decks
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN client_id VARCHAR(64);
+
+ALTER TABLE flashcard.cards
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN client_id VARCHAR(64);
+
+-- Number existing rows per user: decks first, then cards
+UPDATE flashcard.decks d
+SET change_seq = n.seq
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY id) AS seq FROM flashcard.decks) n
+WHERE d.id = n.id;
+
+UPDATE flashcard.cards c
+SET change_seq = n.seq + COALESCE((SELECT COUNT(*) FROM flashcard.decks d WHERE d.user_id = c.user_id), 0)
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY id) AS seq FROM flashcard.cards) n
+WHERE c.id = n.id;
+
+UPDATE flashcard.users u
+SET change_seq = (SELECT COUNT(*) FROM flashcard.decks d WHERE d.user_id = u.id)
+               + (SELECT COUNT(*) FROM flashcard.cards c WHERE c.user_id = u.id);
+
+CREATE INDEX idx_decks_user_change ON flashcard.decks (user_id, change_seq);
+CREATE INDEX idx_cards_user_change ON flashcard.cards (user_id, change_seq);
+
+-- Objects created offline carry the device's id, so a retried push does not create them twice
+CREATE UNIQUE INDEX uq_decks_user_client ON flashcard.decks (user_id, client_id) WHERE client_id IS NOT NULL;
+CREATE UNIQUE INDEX uq_cards_user_client ON flashcard.cards (user_id, client_id) WHERE client_id IS NOT NULL;
+
+CREATE TABLE flashcard.sync_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_sync_tombstones_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sync_tombstones_user_change ON flashcard.sync_tombstones (user_id, change_seq);
+CREATE INDEX idx_sync_tombstones_deleted_at ON flashcard.sync_tombstones (deleted_at);
@@ -0,0 +1,24 @@
+-- Background deck imports. The uploaded file stays on the node that accepted it; the row carries
+-- progress so any node can answer a poll.
+CREATE TABLE flashcard.import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    file_name VARCHAR(255),
+    status VARCHAR(10) NOT NULL,
+    bytes_total BIGINT NOT NULL DEFAULT 0,
+    bytes_read BIGINT NOT NULL DEFAULT 0,
+    rows_read INTEGER NOT NULL DEFAULT 0,
+    cards_imported INTEGER NOT NULL DEFAULT 0,
+    rows_rejected INTEGER NOT NULL DEFAULT 0,
+    rejections TEXT,
+    error VARCHAR(500),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    finished_at TIMESTAMPTZ,
+    CONSTRAINT fk_import_jobs_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_import_jobs_user ON flashcard.import_jobs (user_id, id);
+CREATE INDEX idx_import_jobs_active ON flashcard.import_jobs (updated_at) WHERE status IN ('QUEUED', 'RUNNING');
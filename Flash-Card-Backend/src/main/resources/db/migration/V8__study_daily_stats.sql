@@ -0,0 +1,32 @@
+-- Daily study rollups per user, deck and UTC day, maintained in the review transaction so the
+-- stats screen reads O(days) rows instead of scanning review_log. correct counts every answer
+-- other than AGAIN; cards_learned counts first reviews of new cards.
+
+CREATE TABLE flashcard.study_daily_stats (
+    user_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    deck_id BIGINT NOT NULL,
+    reviews INTEGER NOT NULL DEFAULT 0,
+    correct INTEGER NOT NULL DEFAULT 0,
+    time_spent_ms BIGINT NOT NULL DEFAULT 0,
+    cards_learned INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day, deck_id),
+    CONSTRAINT fk_study_daily_stats_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE
+);
+
+-- Per-deck reads; user-wide reads use the primary key
+CREATE INDEX idx_study_daily_stats_deck ON flashcard.study_daily_stats (user_id, deck_id, day);
+
+-- Backfill from the existing history
+INSERT INTO flashcard.study_daily_stats (user_id, day, deck_id, reviews, correct, time_spent_ms, cards_learned)
+SELECT user_id,
+       (reviewed_at AT TIME ZONE 'UTC')::date,
+       deck_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE rating <> 'AGAIN'),
+       COALESCE(SUM(duration_ms), 0),
+       COUNT(*) FILTER (WHERE first_review)
+FROM (SELECT r.*,
+             ROW_NUMBER() OVER (PARTITION BY user_id, card_id ORDER BY reviewed_at, id) = 1 AS first_review
+      FROM flashcard.review_log r) h
+GROUP BY user_id, (reviewed_at AT TIME ZONE 'UTC')::date, deck_id;
@@ -0,0 +1,51 @@
+-- Shared decks. Subscribers read the owner's card rows; the only per-subscriber data is one
+-- subscription row and a card_progress row for each card they have actually reviewed, so
+-- subscribing costs O(1) rows however large the deck is.
+-- content_version is bumped by every write to the deck's cards and metadata; it keys the
+-- in-memory snapshot of popular decks.
+
+ALTER TABLE flashcard.decks
+    ADD COLUMN shared BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN subscriber_count INTEGER NOT NULL DEFAULT 0;
+
+-- Catalogue of shared decks, keyset paginated by id
+CREATE INDEX idx_decks_shared_id ON flashcard.decks (id) WHERE shared;
+
+CREATE TABLE flashcard.deck_subscriptions (
+    user_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    -- New cards are introduced in id order; cards with ids up to here have been started
+    new_card_cursor BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (user_id, deck_id),
+    CONSTRAINT fk_deck_subscriptions_user FOREIGN KEY (user_id) REFERENCES flashcard.users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_deck_subscriptions_deck FOREIGN KEY (deck_id) REFERENCES flashcard.decks (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_deck_subscriptions_deck ON flashcard.deck_subscriptions (deck_id);
+
+-- Scheduling overlay of a subscriber over the source deck's cards. Unsubscribing or deleting
+-- the deck cascades through the subscription; deleting a card cascades through card_id.
+CREATE TABLE flashcard.card_progress (
+    user_id BIGINT NOT NULL,
+    card_id BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    due_at TIMESTAMPTZ NOT NULL,
+    last_reviewed_at TIMESTAMPTZ,
+    repetitions INTEGER NOT NULL DEFAULT 0,
+    lapses INTEGER NOT NULL DEFAULT 0,
+    ease_factor DOUBLE PRECISION NOT NULL DEFAULT 2.5,
+    interval_days DOUBLE PRECISION NOT NULL DEFAULT 0,
+    stability DOUBLE PRECISION NOT NULL DEFAULT 0,
+    difficulty DOUBLE PRECISION NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, card_id),
+    CONSTRAINT fk_card_progress_subscription FOREIGN KEY (user_id, deck_id)
+        REFERENCES flashcard.deck_subscriptions (user_id, deck_id) ON DELETE CASCADE,
+    CONSTRAINT fk_card_progress_card FOREIGN KEY (card_id) REFERENCES flashcard.cards (id) ON DELETE CASCADE
+);
+
+-- Next due card of a subscription, and the subscription cascade
+CREATE INDEX idx_card_progress_user_deck_due ON flashcard.card_progress (user_id, deck_id, due_at, card_id);
+-- Card deletes cascade without scanning
+CREATE INDEX idx_card_progress_card ON flashcard.card_progress (card_id);
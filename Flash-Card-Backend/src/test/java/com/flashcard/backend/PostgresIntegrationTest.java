@@ -0,0 +1,73 @@
+package com.flashcard.backend;
+
+import com.flashcard.backend.repository.UserRepository;
+import com.flashcard.backend.user.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Base for tests that need the real schema: one embedded Postgres per test JVM, migrated by Flyway
+ * when the (shared, cached) application context starts. Tests create their own users so they do
+ * not depend on each other's data.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "flashcard.app.jwtSecret=aW50ZWdyYXRpb24tdGVzdC1zZWNyZXQtdGhhdC1pcy1sb25nLWVub3VnaC0xMjM0NTY3ODkw",
+        "flashcard.app.jwtExpirationMs=3600000",
+        "flashcard.storage.backend=local",
+        "flashcard.warmup.enabled=false",
+        "logging.level.root=WARN"
+})
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+    private static final Path STORAGE_ROOT = tempDirectory();
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("flashcard.storage.local.root", () -> STORAGE_ROOT.toString());
+    }
+
+    protected User newUser() {
+        String name = "it-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "{noop}password"));
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The data directory is temporary either way
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path tempDirectory() {
+        try {
+            return Files.createTempDirectory("flashcard-storage");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.flashcard.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserControllerTest {
+
+    @Test
+    void profileEtag_changesWithRolesButNotTheirOrder() {
+        String user = UserController.profileEtag(7L, 3, List.of("ROLE_USER"), null);
+        String admin = UserController.profileEtag(7L, 3, List.of("ROLE_USER", "ROLE_ADMIN"), null);
+
+        assertThat(user).startsWith("\"u7-v3-r").endsWith("\"");
+        assertThat(admin).isNotEqualTo(user)
+                .isEqualTo(UserController.profileEtag(7L, 3, List.of("ROLE_ADMIN", "ROLE_USER"), null));
+    }
+
+    @Test
+    void profileEtag_changesWithTheHostAnUploadedImageIsProxiedThrough() {
+        String stored = "profile-pictures/folder/abc.png";
+        MockHttpServletRequest direct = new MockHttpServletRequest();
+        direct.setServerName("localhost");
+        direct.setServerPort(8080);
+        MockHttpServletRequest proxied = new MockHttpServletRequest();
+        proxied.setScheme("https");
+        proxied.setServerName("api.example.com");
+        proxied.setServerPort(443);
+
+        String viaDirect = UserController.displayedImageUrl(stored, direct);
+        String viaProxy = UserController.displayedImageUrl(stored, proxied);
+
+        assertThat(viaProxy).isEqualTo("https://api.example.com:443/api/user/profile/image/view");
+        assertThat(UserController.profileEtag(7L, 3, List.of("ROLE_USER"), viaDirect))
+                .isNotEqualTo(UserController.profileEtag(7L, 3, List.of("ROLE_USER"), viaProxy));
+        // External avatars are shown as stored whatever the host
+        assertThat(UserController.displayedImageUrl("https://cdn.example.com/a.png", proxied))
+                .isEqualTo("https://cdn.example.com/a.png");
+    }
+}
@@ -0,0 +1,62 @@
+package com.flashcard.backend.exception;
+
+import com.flashcard.backend.imports.ImportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new ThrowingController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void unsupportedImportFormat_keepsGuidanceInMessage() throws Exception {
+        mvc.perform(get("/format").param("file", "deck.apkg"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Anki packages are not supported; export the deck as Notes in Plain Text (.txt)"));
+    }
+
+    @Test
+    void capacityExceeded_is429WithRetryAfter() throws Exception {
+        mvc.perform(get("/busy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.message").value("Too many imports in progress, try again later"));
+    }
+
+    @Test
+    void otherIllegalArguments_stayGeneric() throws Exception {
+        mvc.perform(get("/illegal"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bad request"));
+    }
+
+    @RestController
+    static class ThrowingController {
+        @GetMapping("/format")
+        ImportFormat format(@RequestParam String file) {
+            return ImportFormat.resolve(null, file);
+        }
+
+        @GetMapping("/busy")
+        void busy() {
+            throw new CapacityExceededException("Too many imports in progress, try again later", 30);
+        }
+
+        @GetMapping("/illegal")
+        void illegal() {
+            throw new IllegalArgumentException("internal detail");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.flashcard.backend.exports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.imports.CardFileReader;
+import com.flashcard.backend.imports.ImportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardExportWriterTest {
+
+    private static final Deck DECK = Deck.of(7L, "Spanish", "verbs");
+    private static final Instant NOW = Instant.parse("2026-01-02T03:04:05Z");
+
+    @Test
+    void csv_importsBackUnchanged() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CardExportWriter writer = ExportFormat.CSV.open(out, DECK, new ObjectMapper());
+        writer.write(card(1L, "plain", "text"));
+        writer.write(card(2L, "comma, \"quoted\"", "two\nlines"));
+        writer.finish();
+
+        try (CardFileReader reader = CardFileReader.open(new ByteArrayInputStream(out.toByteArray()),
+                ImportFormat.CSV)) {
+            assertThat(reader.next()).isEqualTo(new CardFileReader.CardRow(2, "plain", "text"));
+            assertThat(reader.next()).isEqualTo(new CardFileReader.CardRow(3, "comma, \"quoted\"", "two\nlines"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void json_isOneDocumentWithDeckAndCards() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CardExportWriter writer = ExportFormat.JSON.open(out, DECK, objectMapper);
+        writer.write(card(1L, "hola", "hello"));
+        writer.finish();
+
+        JsonNode root = objectMapper.readTree(out.toByteArray());
+        assertThat(root.path("deck").path("name").asText()).isEqualTo("Spanish");
+        assertThat(root.path("cards")).hasSize(1);
+        assertThat(root.path("cards").get(0).path("dueAt").asText()).isEqualTo("2026-01-02T03:04:05Z");
+    }
+
+    private static ExportedCard card(Long id, String front, String back) {
+        return new ExportedCard(id, front, back, NOW, NOW, 0, 0, 0);
+    }
+}
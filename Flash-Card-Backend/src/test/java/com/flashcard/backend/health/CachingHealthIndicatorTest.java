@@ -0,0 +1,40 @@
+package com.flashcard.backend.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingHealthIndicatorTest {
+
+    @Test
+    void health_reusesResultWithinTtl() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingHealthIndicator indicator = new CachingHealthIndicator(counting(calls), 60_000);
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void health_rechecksOnceExpired() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingHealthIndicator indicator = new CachingHealthIndicator(counting(calls), 0);
+
+        indicator.health();
+        indicator.health();
+        assertThat(calls).hasValue(2);
+    }
+
+    private static HealthIndicator counting(AtomicInteger calls) {
+        return () -> {
+            calls.incrementAndGet();
+            return Health.up().build();
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.flashcard.backend.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardFileReaderTest {
+
+    @Test
+    void csv_handlesQuotesLineBreaksAndHeader() throws IOException {
+        String csv = "\uFEFFFront,Back\r\n"
+                + "hola,hello\r\n"
+                + "\"a, b\",\"line one\nline two\"\r\n"
+                + "\r\n"
+                + "\"say \"\"hi\"\"\",x\n"
+                + "lonely\n";
+
+        List<CardFileReader.CardRow> rows = read(csv, ImportFormat.CSV);
+
+        assertThat(rows).containsExactly(
+                new CardFileReader.CardRow(2, "hola", "hello"),
+                new CardFileReader.CardRow(3, "a, b", "line one\nline two"),
+                new CardFileReader.CardRow(6, "say \"hi\"", "x"),
+                new CardFileReader.CardRow(7, "lonely", null));
+    }
+
+    @Test
+    void ankiExport_readsHeadersAndSkipsMetadataColumns() throws IOException {
+        String txt = "#separator:Semicolon\n"
+                + "#html:true\n"
+                + "#guid column:1\n"
+                + "#tags column:4\n"
+                + "abc123;<b>perro</b>;dog;animals\n";
+
+        assertThat(read(txt, ImportFormat.ANKI))
+                .containsExactly(new CardFileReader.CardRow(5, "<b>perro</b>", "dog"));
+    }
+
+    @Test
+    void oversizedFields_areCutJustPastTheCardLimit() throws IOException {
+        String big = "x".repeat(50_000);
+
+        List<CardFileReader.CardRow> rows = read(big + "\tback\n", ImportFormat.TSV);
+
+        assertThat(rows.get(0).front()).hasSize(CardFileReader.MAX_FIELD_CHARS);
+        assertThat(rows.get(0).back()).isEqualTo("back");
+    }
+
+    @Test
+    void formatIsInferredFromFileName() {
+        assertThat(ImportFormat.resolve(null, "Spanish.CSV")).isEqualTo(ImportFormat.CSV);
+        assertThat(ImportFormat.resolve(null, "deck.txt")).isEqualTo(ImportFormat.ANKI);
+        assertThat(ImportFormat.resolve("tsv", "deck.csv")).isEqualTo(ImportFormat.TSV);
+        assertThatThrownBy(() -> ImportFormat.resolve(null, "deck.apkg")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<CardFileReader.CardRow> read(String content, ImportFormat format) throws IOException {
+        List<CardFileReader.CardRow> rows = new ArrayList<>();
+        try (CardFileReader reader = CardFileReader.open(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format)) {
+            CardFileReader.CardRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,27 @@
+package com.flashcard.backend.payload.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageResponseTest {
+
+    @Test
+    void extraRow_setsCursorToLastReturnedId() {
+        PageResponse<String> page = PageResponse.of(List.of(3L, 7L, 9L), 2, Function.identity(), id -> "card-" + id);
+
+        assertThat(page.getItems()).containsExactly("card-3", "card-7");
+        assertThat(page.getNextCursor()).isEqualTo(7L);
+    }
+
+    @Test
+    void lastPage_hasNoCursor() {
+        PageResponse<Long> page = PageResponse.of(List.of(3L, 7L), 2, Function.identity(), Function.identity());
+
+        assertThat(page.getItems()).containsExactly(3L, 7L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+}
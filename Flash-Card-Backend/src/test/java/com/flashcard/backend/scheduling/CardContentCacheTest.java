@@ -0,0 +1,55 @@
+package com.flashcard.backend.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardContentCacheTest {
+
+    private CardContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CardContentCache(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void hitsOnlyAtTheCachedChangeSequence() {
+        cache.put(1L, new CardContentCache.CardContent(5, "hola", "hello"));
+
+        assertThat(cache.get(due(1L, 5))).get().extracting(CardContentCache.CardContent::front).isEqualTo("hola");
+        assertThat(cache.get(due(1L, 6))).isEmpty();
+
+        // An older write arriving late does not replace newer text
+        cache.put(1L, new CardContentCache.CardContent(7, "adios", "goodbye"));
+        cache.put(1L, new CardContentCache.CardContent(6, "stale", "stale"));
+        assertThat(cache.get(due(1L, 7))).get().extracting(CardContentCache.CardContent::front).isEqualTo("adios");
+
+        cache.remove(1L);
+        assertThat(cache.get(due(1L, 7))).isEmpty();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCardsPastTheByteBudget() {
+        long entry = new CardContentCache.CardContent(1, "a".repeat(100), "b".repeat(100)).bytes();
+        ReflectionTestUtils.setField(cache, "maxBytes", 2 * entry);
+
+        cache.put(1L, new CardContentCache.CardContent(1, "a".repeat(100), "b".repeat(100)));
+        cache.put(2L, new CardContentCache.CardContent(1, "c".repeat(100), "d".repeat(100)));
+        assertThat(cache.get(due(1L, 1))).isPresent();
+        cache.put(3L, new CardContentCache.CardContent(1, "e".repeat(100), "f".repeat(100)));
+
+        assertThat(cache.get(due(1L, 1))).isPresent();
+        assertThat(cache.get(due(2L, 1))).isEmpty();
+        assertThat(cache.get(due(3L, 1))).isPresent();
+    }
+
+    private static DueCard due(Long cardId, long changeSeq) {
+        return new DueCard(cardId, 10L, Instant.EPOCH, changeSeq);
+    }
+}
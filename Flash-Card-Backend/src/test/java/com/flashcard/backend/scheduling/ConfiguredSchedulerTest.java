@@ -0,0 +1,22 @@
+package com.flashcard.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfiguredSchedulerTest {
+
+    @Test
+    void delegatesToTheConfiguredAlgorithm() {
+        assertThat(new ConfiguredScheduler(new Sm2Scheduler(), new FsrsScheduler(), "sm2").name()).isEqualTo("sm2");
+        assertThat(new ConfiguredScheduler(new Sm2Scheduler(), new FsrsScheduler(), " FSRS ").name()).isEqualTo("fsrs");
+    }
+
+    @Test
+    void unknownAlgorithm_failsAtStartup() {
+        assertThatThrownBy(() -> new ConfiguredScheduler(new Sm2Scheduler(), new FsrsScheduler(), "leitner"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("leitner");
+    }
+}
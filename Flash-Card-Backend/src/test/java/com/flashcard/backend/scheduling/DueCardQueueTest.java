@@ -0,0 +1,93 @@
+package com.flashcard.backend.scheduling;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DueCardQueueTest {
+
+    private static final Long USER = 7L;
+
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+    private CardRepository cardRepository;
+    private DueCardQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository = mock(CardRepository.class);
+        queue = new DueCardQueue(cardRepository, new CardContentCache(new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void loadsOnce_thenServesFromMemoryAsCardsMove() {
+        when(cardRepository.findDueUntil(eq(USER), any(), any(Limit.class))).thenReturn(List.of(
+                card(1L, 10L, now.minusSeconds(60)),
+                card(2L, 20L, now.minusSeconds(30)),
+                card(3L, 10L, now.plusSeconds(600))));
+
+        assertThat(queue.next(USER, null, now)).get().extracting(DueCard::cardId).isEqualTo(1L);
+        assertThat(queue.next(USER, 20L, now)).get().extracting(DueCard::cardId).isEqualTo(2L);
+
+        // Card 1 was reviewed and is due tomorrow, past the horizon
+        queue.upsert(USER, List.of(card(1L, 10L, now.plusSeconds(86_400))));
+        assertThat(queue.next(USER, null, now)).get().extracting(DueCard::cardId).isEqualTo(2L);
+        queue.remove(USER, 2L);
+        assertThat(queue.next(USER, null, now)).isEmpty();
+        assertThat(queue.next(USER, null, now.plusSeconds(601))).get().extracting(DueCard::cardId).isEqualTo(3L);
+
+        verify(cardRepository, times(1)).findDueUntil(eq(USER), any(), any(Limit.class));
+    }
+
+    @Test
+    void truncatedQueue_reloadsWhenDrained() {
+        ReflectionTestUtils.setField(queue, "capacity", 1);
+        when(cardRepository.findDueUntil(eq(USER), any(), any(Limit.class)))
+                .thenReturn(List.of(card(1L, 10L, now.minusSeconds(60))))
+                .thenReturn(List.of(card(2L, 10L, now.minusSeconds(30))));
+
+        assertThat(queue.next(USER, null, now)).get().extracting(DueCard::cardId).isEqualTo(1L);
+        queue.remove(USER, 1L);
+        assertThat(queue.next(USER, null, now)).get().extracting(DueCard::cardId).isEqualTo(2L);
+
+        verify(cardRepository, times(2)).findDueUntil(eq(USER), any(), any(Limit.class));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedQueuePastMaxUsers() {
+        ReflectionTestUtils.setField(queue, "maxUsers", 2);
+        when(cardRepository.findDueUntil(any(), any(), any(Limit.class)))
+                .thenReturn(List.of(card(1L, 10L, now.minusSeconds(60))));
+
+        queue.next(1L, null, now);
+        queue.next(2L, null, now);
+        queue.next(1L, null, now);
+        queue.next(3L, null, now);
+        queue.next(1L, null, now);
+        queue.next(2L, null, now);
+
+        verify(cardRepository, times(1)).findDueUntil(eq(1L), any(), any(Limit.class));
+        verify(cardRepository, times(2)).findDueUntil(eq(2L), any(), any(Limit.class));
+    }
+
+    private static Card card(Long id, Long deckId, Instant dueAt) {
+        Card card = Card.of(USER, deckId, "front " + id, "back " + id);
+        card.setId(id);
+        card.setDueAt(dueAt);
+        return card;
+    }
+}
@@ -0,0 +1,46 @@
+package com.flashcard.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FsrsSchedulerTest {
+
+    private final FsrsScheduler scheduler = new FsrsScheduler();
+    private final Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void firstReview_usesInitialStabilityPerGrade() {
+        ScheduleState good = scheduler.review(ScheduleState.fresh(now), Rating.GOOD, now);
+        ScheduleState easy = scheduler.review(ScheduleState.fresh(now), Rating.EASY, now);
+
+        assertThat(good.stability()).isEqualTo(FsrsScheduler.DEFAULT_WEIGHTS[2]);
+        assertThat(good.intervalDays()).isEqualTo(4);
+        assertThat(easy.intervalDays()).isEqualTo(14);
+        assertThat(good.difficulty()).isGreaterThan(easy.difficulty());
+    }
+
+    @Test
+    void intervalAtNinetyPercentRetention_equalsStability() {
+        assertThat(scheduler.retrievability(10, 10)).isCloseTo(0.9, within(1e-9));
+        assertThat(scheduler.nextInterval(10)).isEqualTo(10);
+    }
+
+    @Test
+    void onTimeRecallGrowsStability_lapseShrinksIt() {
+        ScheduleState learned = scheduler.review(ScheduleState.fresh(now), Rating.GOOD, now);
+        Instant due = learned.dueAt();
+
+        ScheduleState recalled = scheduler.review(learned, Rating.GOOD, due);
+        ScheduleState forgotten = scheduler.review(learned, Rating.AGAIN, due);
+
+        assertThat(recalled.stability()).isGreaterThan(learned.stability());
+        assertThat(recalled.dueAt()).isAfter(due.plus(Duration.ofDays(4)));
+        assertThat(forgotten.stability()).isLessThan(learned.stability());
+        assertThat(forgotten.lapses()).isEqualTo(1);
+    }
+}
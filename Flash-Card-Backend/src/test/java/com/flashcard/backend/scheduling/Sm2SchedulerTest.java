@@ -0,0 +1,48 @@
+package com.flashcard.backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Sm2SchedulerTest {
+
+    private final Sm2Scheduler scheduler = new Sm2Scheduler();
+    private final Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void successfulReviews_followOneSixThenEase() {
+        ScheduleState first = scheduler.review(ScheduleState.fresh(now), Rating.GOOD, now);
+        ScheduleState second = scheduler.review(first, Rating.GOOD, now);
+        ScheduleState third = scheduler.review(second, Rating.GOOD, now);
+
+        assertThat(first.intervalDays()).isEqualTo(1);
+        assertThat(second.intervalDays()).isEqualTo(6);
+        assertThat(third.intervalDays()).isEqualTo(15);
+        assertThat(third.easeFactor()).isCloseTo(2.5, within(1e-9));
+        assertThat(third.dueAt()).isEqualTo(now.plus(Duration.ofDays(15)));
+        assertThat(third.lastReviewedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void failedReview_restartsRepetitionsAndKeepsEase() {
+        ScheduleState learned = new ScheduleState(4, 0, 2.2, 30, 0, 0, now, now);
+
+        ScheduleState failed = scheduler.review(learned, Rating.AGAIN, now);
+
+        assertThat(failed.repetitions()).isZero();
+        assertThat(failed.lapses()).isEqualTo(1);
+        assertThat(failed.intervalDays()).isEqualTo(1);
+        assertThat(failed.easeFactor()).isEqualTo(2.2);
+    }
+
+    @Test
+    void ease_neverDropsBelowFloor() {
+        ScheduleState state = new ScheduleState(3, 0, 1.35, 10, 0, 0, now, now);
+
+        assertThat(scheduler.review(state, Rating.HARD, now).easeFactor()).isEqualTo(Sm2Scheduler.MIN_EASE);
+    }
+}
@@ -1,6 +1,8 @@
 package com.flashcard.backend.security.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -13,7 +15,8 @@ class AuthRateLimitFilterTest {
 
     @Test
     void signin_rateLimitsAfterDefaultThreshold() throws Exception {
-        AuthRateLimitFilter filter = new AuthRateLimitFilter(new ObjectMapper());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuthRateLimitFilter filter = new AuthRateLimitFilter(new ApiErrorWriter(new ObjectMapper()), meterRegistry);
 
         CountingChain chain = new CountingChain();
 
@@ -38,7 +41,10 @@ class AuthRateLimitFilterTest {
 
         assertThat(resp.getStatus()).isEqualTo(429);
         assertThat(resp.getContentType()).isEqualTo("application/json");
+        assertThat(resp.getContentAsString()).contains("\"status\":429", "\"path\":\"/api/auth/signin\"");
         assertThat(chain.count).isEqualTo(10);
+        assertThat(meterRegistry.counter("flashcard.auth.ratelimit.rejections", "endpoint", "signin").count())
+                .isEqualTo(1.0);
     }
 
     private static class CountingChain implements FilterChain {
@@ -0,0 +1,130 @@
+package com.flashcard.backend.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.backend.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void limit_growsWhenBusyAndBacksOffWhenSlowerThanBaseline() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.5, 2.0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire(1.0)).isTrue();
+        }
+        limit.release(ms(100), false);
+        assertThat(limit.limit()).isEqualTo(11);
+
+        limit.release(ms(300), false);
+        assertThat(limit.limit()).isEqualTo(5);
+        // A second slow sample inside the same window does not compound the decrease
+        limit.release(ms(300), false);
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void uniformlySlowRequests_areTheBaselineNotOverload() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.5, 2.0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire(1.0)).isTrue();
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(ms(800), false);
+        }
+
+        // Grew while at least half the limit was in use, never backed off
+        assertThat(limit.limit()).isEqualTo(14);
+        assertThat(limit.baselineNanos()).isEqualTo(ms(800));
+    }
+
+    @Test
+    void lowPriorityTraffic_isShedFirst() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.5, TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 6; i++) {
+            assertThat(limit.tryAcquire(ConcurrencyLimitFilter.Priority.DEFAULT.share)).isTrue();
+        }
+
+        assertThat(limit.tryAcquire(ConcurrencyLimitFilter.Priority.IMAGE.share)).isFalse();
+        assertThat(limit.tryAcquire(ConcurrencyLimitFilter.Priority.AUTH.share)).isTrue();
+    }
+
+    @Test
+    void requestsOverTheLimit_get503WithRetryAfter() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ApiErrorWriter(new ObjectMapper()),
+                meterRegistry, 1, 1, 1, 0.9, 2.0);
+
+        MockHttpServletResponse shedResponse = new MockHttpServletResponse();
+        // The outer request holds the only slot while the nested one arrives
+        FilterChain chain = (request, response) -> filter.doFilter(
+                request("/api/user/profile/image/42"), shedResponse, (req, resp) -> { });
+        filter.doFilter(request("/api/user/me"), new MockHttpServletResponse(), chain);
+
+        assertThat(shedResponse.getStatus()).isEqualTo(503);
+        assertThat(shedResponse.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(shedResponse.getContentAsString()).contains("\"status\":503");
+        assertThat(meterRegistry.counter("flashcard.concurrency.shed", "priority", "image").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("flashcard.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void uploadsAndExports_holdASlotWithoutSlowingTheLimit() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ApiErrorWriter(new ObjectMapper()),
+                meterRegistry, 10, 2, 20, 0.5, 2.0);
+        filter.doFilter(request("/api/decks"), new MockHttpServletResponse(), (req, resp) -> { });
+
+        MockHttpServletRequest upload = request("/api/decks/1/imports");
+        upload.setContentType("multipart/form-data; boundary=x");
+        filter.doFilter(upload, new MockHttpServletResponse(), (req, resp) -> sleep(50));
+        filter.doFilter(request("/api/decks/1/export"), new MockHttpServletResponse(), (req, resp) -> sleep(50));
+
+        assertThat(ConcurrencyLimitFilter.isClientBound(upload)).isTrue();
+        assertThat(meterRegistry.get("flashcard.concurrency.limit").gauge().value()).isEqualTo(10.0);
+        assertThat(meterRegistry.get("flashcard.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    void asyncRequests_keepTheirSlotUntilCompletion() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ApiErrorWriter(new ObjectMapper()),
+                meterRegistry, 10, 2, 20, 0.5, 2.0);
+        MockHttpServletRequest request = request("/api/decks/1/export");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> req.startAsync());
+        assertThat(meterRegistry.get("flashcard.concurrency.inflight").gauge().value()).isEqualTo(1.0);
+
+        request.getAsyncContext().complete();
+        assertThat(meterRegistry.get("flashcard.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("1.2.3.4");
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.flashcard.backend.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef-test";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+    }
+
+    @Test
+    void validToken_returnsSubject() {
+        TokenCheck check = jwtUtils.checkJwtToken(token(SECRET, "alice", 60_000));
+
+        assertThat(check.isValid()).isTrue();
+        assertThat(check.subject()).isEqualTo("alice");
+    }
+
+    @Test
+    void garbage_isRejectedByShapeCheck() {
+        assertThat(jwtUtils.checkJwtToken("").status()).isEqualTo(TokenStatus.EMPTY);
+        assertThat(jwtUtils.checkJwtToken("not-a-token").status()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtils.checkJwtToken("a.b.c.d").status()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtils.checkJwtToken("a.b.c<script>").status()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtUtils.checkJwtToken("a".repeat(5000) + "..").status()).isEqualTo(TokenStatus.MALFORMED);
+    }
+
+    @Test
+    void expiredAndForeignTokens_areClassified() {
+        String expired = token(SECRET, "alice", -1_000);
+        String foreign = token("another-secret-that-is-long-enough-0123", "alice", 60_000);
+
+        assertThat(jwtUtils.checkJwtToken(expired).status()).isEqualTo(TokenStatus.EXPIRED);
+        assertThat(jwtUtils.checkJwtToken(foreign).status()).isEqualTo(TokenStatus.INVALID_SIGNATURE);
+        // Retries are answered from the rejection cache with the same classification
+        assertThat(jwtUtils.checkJwtToken(expired).status()).isEqualTo(TokenStatus.EXPIRED);
+        assertThat(jwtUtils.validateJwtToken(foreign)).isFalse();
+    }
+
+    @Test
+    void failedClaimChecks_areRejectedAsInvalid() {
+        long now = System.currentTimeMillis();
+        String premature = Jwts.builder()
+                .setSubject("alice")
+                .setNotBefore(new Date(now + 600_000))
+                .setExpiration(new Date(now + 1_200_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtUtils.checkJwtToken(premature).status()).isEqualTo(TokenStatus.INVALID);
+        assertThat(jwtUtils.validateJwtToken(premature)).isFalse();
+        // Not-before passes with time, so the rejection is not remembered
+        assertThat(jwtUtils.rejectedCacheSize()).isZero();
+    }
+
+    @Test
+    void rejectionCache_isBoundedAndKeepsRecentEntries() {
+        String recent = token("another-secret-that-is-long-enough-0123", "alice", 60_000);
+        jwtUtils.checkJwtToken(recent);
+        for (int i = 0; i < JwtUtils.REJECTED_CACHE_MAX_ENTRIES + 100; i++) {
+            jwtUtils.checkJwtToken(token(SECRET, "user-" + i, -1_000));
+            // Keep the first entry in use so it is not the least recently used one
+            jwtUtils.checkJwtToken(recent);
+        }
+
+        assertThat(jwtUtils.rejectedCacheSize()).isEqualTo(JwtUtils.REJECTED_CACHE_MAX_ENTRIES);
+        assertThat(jwtUtils.checkJwtToken(recent).status()).isEqualTo(TokenStatus.INVALID_SIGNATURE);
+    }
+
+    private static String token(String secret, String subject, long ttlMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date(now - 5_000))
+                .setExpiration(new Date(now + ttlMs))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
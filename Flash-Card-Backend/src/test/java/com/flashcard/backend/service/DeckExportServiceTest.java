@@ -0,0 +1,86 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.exception.CapacityExceededException;
+import com.flashcard.backend.exports.ExportFormat;
+import com.flashcard.backend.repository.CardExportRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeckExportServiceTest {
+
+    private static final Long USER = 7L;
+
+    private DeckExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DeckExportService(mock(PlatformTransactionManager.class), 1);
+        service.deckRepository = mock(DeckRepository.class);
+        service.cardExportRepository = mock(CardExportRepository.class);
+        Deck deck = Deck.of(USER, "Spanish", null);
+        deck.setId(3L);
+        when(service.deckRepository.findByIdAndUserId(3L, USER)).thenReturn(Optional.of(deck));
+    }
+
+    @Test
+    void fullExportSlots_are429WithRetryAfter() {
+        service.export(USER, 3L, ExportFormat.CSV, false);
+
+        assertThatThrownBy(() -> service.export(USER, 3L, ExportFormat.CSV, false))
+                .isInstanceOf(CapacityExceededException.class)
+                .extracting(e -> ((CapacityExceededException) e).getRetryAfterSeconds())
+                .isEqualTo(30);
+    }
+
+    @Test
+    void release_freesThePermitWhenTheBodyNeverRuns_once() {
+        DeckExportService.DeckExport abandoned = service.export(USER, 3L, ExportFormat.CSV, false);
+        abandoned.release();
+        abandoned.release();
+
+        assertThat(service.export(USER, 3L, ExportFormat.CSV, false)).isNotNull();
+        assertThatThrownBy(() -> service.export(USER, 3L, ExportFormat.CSV, false))
+                .isInstanceOf(CapacityExceededException.class);
+    }
+
+    @Test
+    void gzipBody_isCompleteAndAFailedClientWriteFreesThePermit() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(USER, 3L, ExportFormat.CSV, true).body().writeTo(out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isNotEmpty();
+        }
+
+        // The client goes away after the gzip header
+        OutputStream disconnected = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 10) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+        assertThatThrownBy(() -> service.export(USER, 3L, ExportFormat.CSV, true).body().writeTo(disconnected))
+                .isInstanceOf(IOException.class);
+        assertThat(service.export(USER, 3L, ExportFormat.CSV, true)).isNotNull();
+    }
+}
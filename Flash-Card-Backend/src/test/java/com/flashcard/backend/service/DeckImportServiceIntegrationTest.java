@@ -0,0 +1,87 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.PostgresIntegrationTest;
+import com.flashcard.backend.imports.ImportFormat;
+import com.flashcard.backend.imports.ImportJob;
+import com.flashcard.backend.payload.request.DeckRequest;
+import com.flashcard.backend.repository.DeckRepository;
+import com.flashcard.backend.repository.ImportJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeckImportServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    DeckImportService importService;
+
+    @Autowired
+    DeckService deckService;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    ImportJobRepository jobRepository;
+
+    @Test
+    void staleCheck_leavesQueuedJobsForTheirWorker() throws Exception {
+        Long userId = newUser().getId();
+        Long deckId = deck(userId);
+        ImportJob job = queuedJob(userId, deckId);
+
+        jobRepository.failStale(Instant.now().plusSeconds(60), "Import was interrupted");
+        Path file = spool("front,back\nhola,hello\nadios,goodbye\n");
+        importService.run(job, file);
+
+        ImportJob done = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(ImportJob.DONE);
+        assertThat(done.getCardsImported()).isEqualTo(2);
+        assertThat(deckRepository.findById(deckId).orElseThrow().getCardCount()).isEqualTo(2);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void run_skipsJobThatIsNoLongerQueued() throws Exception {
+        Long userId = newUser().getId();
+        Long deckId = deck(userId);
+        ImportJob job = queuedJob(userId, deckId);
+        ImportJob failed = jobRepository.findById(job.getId()).orElseThrow();
+        failed.setStatus(ImportJob.FAILED);
+        failed.setError("Import was interrupted");
+        jobRepository.save(failed);
+
+        Path file = spool("front,back\nhola,hello\n");
+        importService.run(job, file);
+
+        ImportJob after = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(ImportJob.FAILED);
+        assertThat(after.getCardsImported()).isZero();
+        assertThat(deckRepository.findById(deckId).orElseThrow().getCardCount()).isZero();
+        assertThat(file).doesNotExist();
+    }
+
+    private Long deck(Long userId) {
+        DeckRequest request = new DeckRequest();
+        request.setName("Imports");
+        return deckService.createDeck(userId, request).getId();
+    }
+
+    private ImportJob queuedJob(Long userId, Long deckId) {
+        ImportJob job = ImportJob.of(userId, deckId, ImportFormat.CSV, "cards.csv", 64);
+        job.setCreatedAt(Instant.now().minusSeconds(3600));
+        job.setUpdatedAt(job.getCreatedAt());
+        return jobRepository.save(job);
+    }
+
+    private static Path spool(String content) throws Exception {
+        Path file = Files.createTempFile("import-", ".tmp");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,84 @@
+package com.flashcard.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalStorageService();
+        ReflectionTestUtils.setField(storage, "rootDir", root.toString());
+        ReflectionTestUtils.setField(storage, "bucketName", "bucket");
+        ReflectionTestUtils.setField(storage, "publicUrl", "");
+        ReflectionTestUtils.setField(storage, "signingKey", "0123456789abcdef0123456789abcdef");
+        storage.init();
+    }
+
+    @Test
+    void upload_isContentAddressed_andReadableUntilDeleted() throws Exception {
+        byte[] data = "png-bytes".getBytes(StandardCharsets.UTF_8);
+
+        String first = storage.uploadProfilePicture(7L, data, "image/png", "abc123");
+        String second = storage.uploadProfilePicture(7L, data, "image/png", "abc123");
+
+        assertThat(first).isEqualTo(second).startsWith("bucket/").endsWith("/abc123.png");
+        assertThat(storage.resolveLocalFile(first)).isNotNull();
+        assertThat(storage.downloadImage(first)).isEqualTo(data);
+
+        storage.deleteObjects(List.of(first));
+
+        assertThat(storage.resolveLocalFile(first)).isNull();
+        assertThat(storage.downloadImage(first)).isNull();
+    }
+
+    @Test
+    void signedUrl_verifiesOnlyForSamePath() {
+        String url = storage.getSignedUrl("bucket/a/b.png");
+        String query = url.substring(url.indexOf('?') + 1);
+        long expires = Long.parseLong(query.substring("expires=".length(), query.indexOf('&')));
+        String sig = query.substring(query.indexOf("sig=") + 4);
+
+        assertThat(url).startsWith(LocalStorageService.URL_PREFIX + "bucket/a/b.png?");
+        assertThat(storage.verifySignature("bucket/a/b.png", expires, sig)).isTrue();
+        assertThat(storage.verifySignature("bucket/a/c.png", expires, sig)).isFalse();
+        assertThat(storage.verifySignature("bucket/a/b.png", 1L, sig)).isFalse();
+    }
+
+    @Test
+    void signedUrl_withoutConfiguredKeyUsesAProcessLocalOne() throws Exception {
+        LocalStorageService other = new LocalStorageService();
+        ReflectionTestUtils.setField(other, "rootDir", root.toString());
+        ReflectionTestUtils.setField(other, "bucketName", "bucket");
+        ReflectionTestUtils.setField(other, "publicUrl", "");
+        ReflectionTestUtils.setField(other, "signingKey", "");
+        other.init();
+
+        String url = other.getSignedUrl("bucket/a/b.png");
+        long expires = Long.parseLong(url.substring(url.indexOf("expires=") + 8, url.indexOf('&')));
+        String sig = url.substring(url.indexOf("sig=") + 4);
+
+        assertThat(other.verifySignature("bucket/a/b.png", expires, sig)).isTrue();
+        assertThat(storage.verifySignature("bucket/a/b.png", expires, sig)).isFalse();
+    }
+
+    @Test
+    void paths_cannotEscapeRoot() {
+        assertThatThrownBy(() -> storage.resolveLocalFile("../outside.png"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
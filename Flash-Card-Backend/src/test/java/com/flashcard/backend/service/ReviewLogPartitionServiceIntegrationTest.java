@@ -0,0 +1,172 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the maintenance job against the V10 schema. Months are relative to the current one, the
+ * same way the service computes them, and each test uses months the others leave alone.
+ */
+class ReviewLogPartitionServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    ReviewLogPartitionService partitionService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    DataSource dataSource;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = newUser().getId();
+    }
+
+    @Test
+    void maintain_createsDetachesAndArchivesWithoutLosingRows() {
+        YearMonth expired = current.minusMonths(14);
+        YearMonth leftover = current.minusMonths(20);
+        YearMonth missed = current.minusMonths(2);
+        YearMonth future = current.plusMonths(6);
+        // An expired month that still has a partition, and one a previous run detached but never archived
+        jdbc.execute("CREATE TABLE flashcard." + table(expired) + " PARTITION OF flashcard.review_log " +
+                ReviewLogPartitionService.bounds(expired));
+        jdbc.execute("CREATE TABLE flashcard." + table(leftover) +
+                " (LIKE flashcard.review_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        insert(expired, 3);
+        insert(missed, 4);
+        insert(future, 2);
+        insert(current, 5);
+        insert(current.minusMonths(30), 1);
+        jdbc.update("INSERT INTO flashcard." + table(leftover) + " (user_id, card_id, deck_id, idempotency_key, " +
+                "rating, reviewed_at, interval_days, due_at) VALUES (?, 1, 1, ?, 'GOOD', ?, 1, ?)",
+                userId, UUID.randomUUID().toString(), Timestamp.from(midMonth(leftover)), Timestamp.from(midMonth(leftover)));
+        // Months without a partition land in the default one
+        assertThat(count("review_log_default")).isEqualTo(7);
+
+        partitionService.maintain();
+
+        assertThat(isPartition(missed)).isTrue();
+        assertThat(isPartition(future)).isTrue();
+        assertThat(count(table(missed))).isEqualTo(4);
+        assertThat(count(table(future))).isEqualTo(2);
+        assertThat(count(table(current))).isEqualTo(5);
+        assertThat(count("review_log_default")).isZero();
+        assertThat(exists(expired)).isFalse();
+        assertThat(exists(leftover)).isFalse();
+        assertThat(count("review_log_archive")).isEqualTo(3 + 1 + 1);
+        assertThat(count("review_log") + count("review_log_archive")).isEqualTo(16);
+
+        // A second run has nothing left to do
+        partitionService.maintain();
+        assertThat(count("review_log")).isEqualTo(11);
+        assertThat(count("review_log_archive")).isEqualTo(5);
+    }
+
+    @Test
+    void maintain_skipsEveryStepWhileAnotherNodeHoldsTheLock() throws Exception {
+        YearMonth missed = current.minusMonths(4);
+        insert(missed, 2);
+
+        try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + ReviewLogPartitionService.MAINTENANCE_LOCK + ")");
+            try {
+                partitionService.maintain();
+
+                assertThat(exists(missed)).isFalse();
+                assertThat(count("review_log_default")).isEqualTo(2);
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + ReviewLogPartitionService.MAINTENANCE_LOCK + ")");
+            }
+        }
+
+        partitionService.maintain();
+        assertThat(isPartition(missed)).isTrue();
+        assertThat(count(table(missed))).isEqualTo(2);
+        assertThat(count("review_log_default")).isZero();
+    }
+
+    @Test
+    void maintain_givesUpOnLockTimeoutAndRollsTheStepBack() throws Exception {
+        YearMonth missed = current.minusMonths(5);
+        insert(missed, 3);
+        ReflectionTestUtils.setField(partitionService, "lockTimeout", "200ms");
+        try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+            other.setAutoCommit(false);
+            // A long-running read of the default partition, which ATTACH PARTITION has to wait for
+            statement.execute("LOCK TABLE flashcard.review_log_default IN ACCESS SHARE MODE");
+            try {
+                Instant started = Instant.now();
+                partitionService.maintain();
+
+                assertThat(Duration.between(started, Instant.now())).isLessThan(Duration.ofSeconds(10));
+            } finally {
+                other.rollback();
+            }
+        } finally {
+            ReflectionTestUtils.setField(partitionService, "lockTimeout", "5s");
+        }
+        // The half-built partition was rolled back with the rows still in the default partition
+        assertThat(exists(missed)).isFalse();
+        assertThat(count("review_log_default")).isEqualTo(3);
+
+        partitionService.maintain();
+        assertThat(isPartition(missed)).isTrue();
+        assertThat(count(table(missed))).isEqualTo(3);
+    }
+
+    private void insert(YearMonth month, int rows) {
+        for (int i = 0; i < rows; i++) {
+            Timestamp reviewedAt = Timestamp.from(midMonth(month).plusSeconds(i));
+            jdbc.update("INSERT INTO flashcard.review_log (user_id, card_id, deck_id, idempotency_key, rating, " +
+                    "reviewed_at, interval_days, due_at) VALUES (?, 1, 1, ?, 'GOOD', ?, 1, ?)",
+                    userId, UUID.randomUUID().toString(), reviewedAt, reviewedAt);
+        }
+    }
+
+    private long count(String table) {
+        Long rows = jdbc.queryForObject("SELECT count(*) FROM flashcard." + table + " WHERE user_id = ?",
+                Long.class, userId);
+        return rows == null ? 0 : rows;
+    }
+
+    private boolean exists(YearMonth month) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                "flashcard." + table(month)));
+    }
+
+    private boolean isPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT c.relispartition FROM pg_class c " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = 'flashcard' AND c.relname = ?",
+                Boolean.class, table(month)));
+    }
+
+    private static String table(YearMonth month) {
+        return ReviewLogPartitionService.tableName(month);
+    }
+
+    private static Instant midMonth(YearMonth month) {
+        return month.atDay(15).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,25 @@
+package com.flashcard.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewLogPartitionServiceTest {
+
+    @Test
+    void partitionNames_roundTripAndIgnoreOtherTables() {
+        assertThat(ReviewLogPartitionService.tableName(YearMonth.of(2026, 3))).isEqualTo("review_log_p202603");
+        assertThat(ReviewLogPartitionService.months(List.of(
+                "review_log_p202612", "review_log_p202601", "review_log_default", "review_log_p2026", "review_log_archive")))
+                .containsExactly(YearMonth.of(2026, 1), YearMonth.of(2026, 12));
+    }
+
+    @Test
+    void bounds_coverTheUtcMonth() {
+        assertThat(ReviewLogPartitionService.bounds(YearMonth.of(2026, 12)))
+                .isEqualTo("FOR VALUES FROM ('2026-12-01T00:00:00Z') TO ('2027-01-01T00:00:00Z')");
+    }
+}
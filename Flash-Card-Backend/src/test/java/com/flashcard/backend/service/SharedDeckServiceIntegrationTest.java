@@ -0,0 +1,91 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.PostgresIntegrationTest;
+import com.flashcard.backend.payload.request.CardRequest;
+import com.flashcard.backend.payload.request.DeckRequest;
+import com.flashcard.backend.payload.response.CardResponse;
+import com.flashcard.backend.payload.response.ReviewResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.scheduling.Rating;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedDeckServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    SharedDeckService sharedDeckService;
+
+    @Autowired
+    DeckService deckService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private Long subscriber;
+    private Long deckId;
+    private List<Long> cardIds;
+
+    @BeforeEach
+    void setUp() {
+        Long owner = newUser().getId();
+        subscriber = newUser().getId();
+        DeckRequest deck = new DeckRequest();
+        deck.setName("Shared");
+        deckId = deckService.createDeck(owner, deck).getId();
+        List<CardRequest> cards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CardRequest card = new CardRequest();
+            card.setFront("front " + i);
+            card.setBack("back " + i);
+            cards.add(card);
+        }
+        cardIds = deckService.addCards(owner, deckId, cards).stream().map(CardResponse::getId).sorted().toList();
+        sharedDeckService.setShared(owner, deckId, true);
+        sharedDeckService.subscribe(subscriber, deckId);
+    }
+
+    @Test
+    void review_outOfOrderDoesNotSkipLowerNewCards() {
+        sharedDeckService.review(subscriber, deckId, cardIds.get(2), Rating.GOOD, null);
+        assertThat(nextCardId()).isEqualTo(cardIds.get(0));
+
+        sharedDeckService.review(subscriber, deckId, cardIds.get(0), Rating.GOOD, null);
+        // The third card was already started, so the second is the next new one
+        assertThat(nextCardId()).isEqualTo(cardIds.get(1));
+
+        sharedDeckService.review(subscriber, deckId, cardIds.get(1), Rating.GOOD, null);
+        assertThat(nextCardId()).isEqualTo(cardIds.get(3));
+        assertThat(cursor()).isEqualTo(cardIds.get(2));
+    }
+
+    @Test
+    void review_retryWithTheSameKeyIsAppliedOnce() {
+        Long cardId = cardIds.get(0);
+
+        ReviewResponse first = sharedDeckService.review(subscriber, deckId, cardId, Rating.GOOD, "retry-1");
+        ReviewResponse retry = sharedDeckService.review(subscriber, deckId, cardId, Rating.GOOD, "retry-1");
+
+        assertThat(retry.getRepetitions()).isEqualTo(first.getRepetitions()).isEqualTo(1);
+        assertThat(retry.getIntervalDays()).isEqualTo(first.getIntervalDays());
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM flashcard.review_log WHERE user_id = ?",
+                Long.class, subscriber)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT sum(reviews) FROM flashcard.study_daily_stats WHERE user_id = ?",
+                Long.class, subscriber)).isEqualTo(1);
+    }
+
+    private Long nextCardId() {
+        return sharedDeckService.nextCard(subscriber, deckId).map(StudyCardResponse::getCardId).orElse(null);
+    }
+
+    private Long cursor() {
+        return jdbc.queryForObject("SELECT new_card_cursor FROM flashcard.deck_subscriptions " +
+                "WHERE user_id = ? AND deck_id = ?", Long.class, subscriber, deckId);
+    }
+}
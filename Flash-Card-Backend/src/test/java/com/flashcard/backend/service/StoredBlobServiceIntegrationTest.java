@@ -0,0 +1,177 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.PostgresIntegrationTest;
+import com.flashcard.backend.controller.UserController;
+import com.flashcard.backend.exception.CapacityExceededException;
+import com.flashcard.backend.payload.request.ProfileUpdateRequest;
+import com.flashcard.backend.repository.StorageCleanupTaskRepository;
+import com.flashcard.backend.repository.StoredBlobRepository;
+import com.flashcard.backend.storage.StorageCleanupTask;
+import com.flashcard.backend.storage.StoredBlob;
+import com.flashcard.backend.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StoredBlobServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    StoredBlobService blobService;
+
+    @Autowired
+    StoredBlobRepository blobRepository;
+
+    @Autowired
+    StorageCleanupTaskRepository taskRepository;
+
+    @Autowired
+    UserController userController;
+
+    @Autowired
+    StorageCleanupService cleanupService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void acquire_concurrentUploadsOfTheSameBytesShareOneBlob() throws Exception {
+        Long userId = newUser().getId();
+        StoredBlobService.HashedContent content = content();
+        int uploads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<String>> paths = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                // Different declared types give different object paths for the same content
+                String contentType = i % 2 == 0 ? "image/png" : "image/jpeg";
+                Callable<String> upload = () -> {
+                    start.await();
+                    return blobService.acquire(userId, content, contentType);
+                };
+                paths.add(executor.submit(upload));
+            }
+            start.countDown();
+            List<String> acquired = new ArrayList<>();
+            for (Future<String> path : paths) {
+                acquired.add(path.get());
+            }
+
+            StoredBlob blob = blobRepository.findByUserIdAndContentHash(userId, content.sha256()).orElseThrow();
+            assertThat(acquired).containsOnly(blob.getObjectPath());
+            assertThat(blob.getRefCount()).isEqualTo(uploads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void insertOrReference_sameContentUnderAnotherPathReferencesTheTrackedBlob() {
+        Long userId = newUser().getId();
+        String hash = content().sha256();
+
+        blobRepository.insertOrReference("profiles/a/" + hash + ".png", userId, hash, "image/png", 4);
+        blobRepository.insertOrReference("profiles/a/" + hash + ".jpg", userId, hash, "image/jpeg", 4);
+
+        StoredBlob blob = blobRepository.findByUserIdAndContentHash(userId, hash).orElseThrow();
+        assertThat(blob.getObjectPath()).endsWith(".png");
+        assertThat(blob.getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ignoresPathsOwnedBySomeoneElse() throws Exception {
+        Long owner = newUser().getId();
+        Long other = newUser().getId();
+        String path = blobService.acquire(owner, content(), "image/png");
+
+        blobService.release(other, path, StorageCleanupService.REASON_IMAGE_REPLACED);
+
+        assertThat(blobRepository.findById(path).orElseThrow().getRefCount()).isEqualTo(1);
+        assertThat(queued(path)).isFalse();
+
+        blobService.release(owner, path, StorageCleanupService.REASON_IMAGE_REPLACED);
+        assertThat(queued(path) || blobRepository.findById(path).isEmpty()).isTrue();
+    }
+
+    @Test
+    void updateProfile_releasesTheReplacedImage() throws Exception {
+        User user = newUser();
+        String path = blobService.acquire(user.getId(), content(), "image/png");
+        user.setImageUrl(path);
+        userRepository.save(user);
+
+        ProfileUpdateRequest request = new ProfileUpdateRequest();
+        request.setImageUrl("https://example.com/avatar.png");
+        userController.updateProfile(new UserDetailsImpl(user.getId(), user.getUsername(), user.getEmail(),
+                null, path, user.getPassword(), List.of()), request);
+
+        assertThat(queued(path) || blobRepository.findById(path).isEmpty()).isTrue();
+        assertThat(blobRepository.findById(path).map(StoredBlob::getRefCount).orElse(0)).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getImageUrl())
+                .isEqualTo("https://example.com/avatar.png");
+    }
+
+    @Test
+    void processBatch_deletesUnreferencedObjectsAndTheirRows() throws Exception {
+        Long userId = newUser().getId();
+        String released = blobService.acquire(userId, content(), "image/png");
+        String reused = blobService.acquire(userId, content(), "image/png");
+        blobService.release(userId, released, StorageCleanupService.REASON_IMAGE_REPLACED);
+        blobService.release(userId, reused, StorageCleanupService.REASON_IMAGE_REPLACED);
+        // Referenced again before the worker got to it
+        jdbc.update("UPDATE flashcard.stored_blobs SET ref_count = 1 WHERE object_path = ?", reused);
+
+        cleanupService.processDueTasks();
+
+        assertThat(blobRepository.findById(released)).isEmpty();
+        assertThat(queued(released)).isFalse();
+        assertThat(blobRepository.findById(reused).orElseThrow().getRefCount()).isEqualTo(1);
+        assertThat(queued(reused)).isFalse();
+    }
+
+    @Test
+    void acquire_refusesABlobWhileItsObjectIsBeingDeleted() throws Exception {
+        Long userId = newUser().getId();
+        StoredBlobService.HashedContent content = content();
+        String path = blobService.acquire(userId, content, "image/png");
+        jdbc.update("UPDATE flashcard.stored_blobs SET ref_count = ? WHERE object_path = ?",
+                StoredBlobRepository.DELETING, path);
+
+        assertThatThrownBy(() -> blobService.acquire(userId, content, "image/png"))
+                .isInstanceOf(CapacityExceededException.class);
+        assertThat(blobRepository.findById(path).orElseThrow().getRefCount()).isEqualTo(StoredBlobRepository.DELETING);
+        assertThat(queued(path)).isTrue();
+
+        // A failed delete hands the blob back
+        jdbc.update("UPDATE flashcard.stored_blobs SET ref_count = 0 WHERE object_path = ?", path);
+        assertThat(blobService.acquire(userId, content, "image/png")).isEqualTo(path);
+        assertThat(blobRepository.findById(path).orElseThrow().getRefCount()).isEqualTo(1);
+    }
+
+    private boolean queued(String path) {
+        return taskRepository.findAll().stream().map(StorageCleanupTask::getObjectPath).anyMatch(path::equals);
+    }
+
+    private StoredBlobService.HashedContent content() {
+        try {
+            return blobService.readAndHash(new ByteArrayInputStream(UUID.randomUUID().toString().getBytes()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
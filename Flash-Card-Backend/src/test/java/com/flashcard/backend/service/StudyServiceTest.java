@@ -0,0 +1,136 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.payload.request.ReviewEvent;
+import com.flashcard.backend.payload.response.ReviewBatchResponse;
+import com.flashcard.backend.payload.response.StudyCardResponse;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.ReviewLogRepository;
+import com.flashcard.backend.repository.StudyStatsRepository;
+import com.flashcard.backend.scheduling.CardContentCache;
+import com.flashcard.backend.scheduling.DueCardQueue;
+import com.flashcard.backend.scheduling.Rating;
+import com.flashcard.backend.scheduling.ReviewLogEntry;
+import com.flashcard.backend.scheduling.Sm2Scheduler;
+import com.flashcard.backend.stats.StudyStatsDelta;
+import com.flashcard.backend.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudyServiceTest {
+
+    private static final Long USER = 7L;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submitReviews_appliesInOrderAndSkipsRetries() {
+        Card card = Card.of(USER, 3L, "hola", "hello");
+        card.setId(42L);
+
+        StudyService service = new StudyService();
+        service.cardRepository = mock(CardRepository.class);
+        service.reviewLogRepository = mock(ReviewLogRepository.class);
+        service.cardContentCache = new CardContentCache(new SimpleMeterRegistry());
+        service.dueCardQueue = new DueCardQueue(service.cardRepository, service.cardContentCache, new SimpleMeterRegistry());
+        service.scheduler = new Sm2Scheduler();
+        service.changeSequence = mock(ChangeSequence.class);
+        service.studyStatsRepository = mock(StudyStatsRepository.class);
+        when(service.changeSequence.allocate(eq(USER), eq(2))).thenReturn(11L);
+        when(service.cardRepository.lockByUserIdAndIds(eq(USER), any())).thenReturn(List.of(card));
+        when(service.reviewLogRepository.findExistingKeys(eq(USER), any())).thenReturn(Set.of("k1"));
+
+        ReviewBatchResponse response = service.submitReviews(USER, List.of(
+                event("k1", 42L, Rating.GOOD),
+                event("k2", 42L, Rating.GOOD),
+                event("k3", 42L, Rating.GOOD),
+                event("k3", 42L, Rating.GOOD),
+                event("k4", 99L, Rating.AGAIN)));
+
+        assertThat(response.getResults()).extracting(ReviewBatchResponse.Result::getStatus).containsExactly(
+                ReviewBatchResponse.Status.DUPLICATE,
+                ReviewBatchResponse.Status.APPLIED,
+                ReviewBatchResponse.Status.APPLIED,
+                ReviewBatchResponse.Status.DUPLICATE,
+                ReviewBatchResponse.Status.CARD_NOT_FOUND);
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        // Two successful reviews in a row: the second one lands on the 6-day step
+        assertThat(card.getRepetitions()).isEqualTo(2);
+        assertThat(response.getResults().get(0).getSchedule().getIntervalDays()).isEqualTo(6);
+        assertThat(card.getChangeSeq()).isEqualTo(11);
+
+        ArgumentCaptor<List<ReviewLogEntry>> logged = ArgumentCaptor.forClass(List.class);
+        verify(service.reviewLogRepository).insert(logged.capture());
+        assertThat(logged.getValue()).extracting(ReviewLogEntry::idempotencyKey).containsExactly("k2", "k3");
+
+        // Both applied reviews land in one rollup row; only the first one met a new card
+        ArgumentCaptor<StudyStatsDelta> stats = ArgumentCaptor.forClass(StudyStatsDelta.class);
+        verify(service.studyStatsRepository).apply(eq(USER), stats.capture());
+        assertThat(stats.getValue().entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.deckId).isEqualTo(3L);
+            assertThat(entry.reviews()).isEqualTo(2);
+            assertThat(entry.correct()).isEqualTo(2);
+            assertThat(entry.cardsLearned()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void nextCard_isServedFromMemoryUntilItsTextChanges() {
+        Card card = Card.of(USER, 3L, "hola", "hello");
+        card.setId(42L);
+        card.setChangeSeq(5);
+        card.setDueAt(Instant.now().minusSeconds(60));
+
+        StudyService service = new StudyService();
+        service.cardRepository = mock(CardRepository.class);
+        service.cardContentCache = new CardContentCache(new SimpleMeterRegistry());
+        service.dueCardQueue = new DueCardQueue(service.cardRepository, service.cardContentCache, new SimpleMeterRegistry());
+        when(service.cardRepository.findDueUntil(eq(USER), any(), any(Limit.class))).thenReturn(List.of(card));
+
+        assertThat(service.nextCard(USER, null)).get().extracting(StudyCardResponse::getFront).isEqualTo("hola");
+        assertThat(service.nextCard(USER, null)).get().extracting(StudyCardResponse::getBack).isEqualTo("hello");
+        verify(service.cardRepository, never()).findByIdAndUserId(any(), any());
+
+        // An edit requeues the card at a new sequence along with its new text
+        card.setFront("buenos dias");
+        card.setChangeSeq(6);
+        service.dueCardQueue.upsert(USER, List.of(card));
+        assertThat(service.nextCard(USER, null)).get().extracting(StudyCardResponse::getFront).isEqualTo("buenos dias");
+        verify(service.cardRepository, never()).findByIdAndUserId(any(), any());
+        verify(service.cardRepository, times(1)).findDueUntil(eq(USER), any(), any(Limit.class));
+    }
+
+    @Test
+    void reviewTime_isClampedBetweenPreviousReviewAndNow() {
+        Instant now = Instant.parse("2026-01-02T00:00:00Z");
+        Instant last = Instant.parse("2026-01-01T00:00:00Z");
+
+        assertThat(StudyService.reviewTime(null, last, now)).isEqualTo(now);
+        assertThat(StudyService.reviewTime(now.plusSeconds(60), last, now)).isEqualTo(now);
+        assertThat(StudyService.reviewTime(last.minusSeconds(60), last, now)).isEqualTo(last);
+        assertThat(StudyService.reviewTime(last.plusSeconds(60), last, now)).isEqualTo(last.plusSeconds(60));
+    }
+
+    private static ReviewEvent event(String key, Long cardId, Rating rating) {
+        ReviewEvent event = new ReviewEvent();
+        event.setIdempotencyKey(key);
+        event.setCardId(cardId);
+        event.setRating(rating);
+        return event;
+    }
+}
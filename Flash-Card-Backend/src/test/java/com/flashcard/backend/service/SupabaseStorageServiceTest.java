@@ -0,0 +1,76 @@
+package com.flashcard.backend.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupabaseStorageServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger signCalls = new AtomicInteger();
+    private volatile String lastBody;
+
+    private SupabaseStorageService storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/storage/v1/object/sign/media", exchange -> {
+            signCalls.incrementAndGet();
+            lastBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] body = ("[{\"error\":null,\"path\":\"u/a.png\",\"signedURL\":\"/object/sign/media/u/a.png?token=1\"},"
+                    + "{\"error\":\"Either the object does not exist or you do not have access to it\",\"path\":\"u/gone.png\",\"signedURL\":null},"
+                    + "{\"error\":null,\"path\":\"u/b.mp3\",\"signedURL\":\"/object/sign/media/u/b.mp3?token=2\"}]")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        storage = new SupabaseStorageService();
+        ReflectionTestUtils.setField(storage, "supabaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(storage, "supabaseKey", "key");
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void signedUrls_areFetchedInOneCallAndCached() throws Exception {
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        Map<String, String> urls = storage.getSignedUrls(List.of(
+                "media/u/a.png", "https://avatars.example/x.png", "media/u/gone.png", "media/u/b.mp3", "media/u/a.png"));
+
+        assertThat(signCalls).hasValue(1);
+        assertThat(lastBody).contains("\"paths\":[\"u/a.png\",\"u/gone.png\",\"u/b.mp3\"]");
+        assertThat(urls.keySet()).containsExactly(
+                "media/u/a.png", "https://avatars.example/x.png", "media/u/gone.png", "media/u/b.mp3");
+        assertThat(urls)
+                .containsEntry("media/u/a.png", base + "/storage/v1/object/sign/media/u/a.png?token=1")
+                .containsEntry("https://avatars.example/x.png", "https://avatars.example/x.png")
+                .containsEntry("media/u/b.mp3", base + "/storage/v1/object/sign/media/u/b.mp3?token=2");
+        assertThat(urls.get("media/u/gone.png")).isNull();
+
+        // Served from the cache, single lookups included
+        assertThat(storage.getSignedUrl("media/u/b.mp3")).isEqualTo(urls.get("media/u/b.mp3"));
+        storage.getSignedUrls(List.of("media/u/a.png", "media/u/b.mp3"));
+        assertThat(signCalls).hasValue(1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.flashcard.backend.service;
+
+import com.flashcard.backend.PostgresIntegrationTest;
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.payload.request.SyncOperation;
+import com.flashcard.backend.payload.response.SyncPushResponse;
+import com.flashcard.backend.repository.CardRepository;
+import com.flashcard.backend.repository.DeckRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    SyncService syncService;
+
+    @Autowired
+    DeckRepository deckRepository;
+
+    @Autowired
+    CardRepository cardRepository;
+
+    @Test
+    void push_updateAfterCardCreatesInSamePushKeepsCountAndSequence() {
+        Long userId = newUser().getId();
+        List<SyncOperation> operations = new ArrayList<>();
+        operations.add(deckOp(SyncOperation.Type.CREATE_DECK, "c1", "Spanish"));
+        for (int i = 0; i < 5; i++) {
+            SyncOperation card = new SyncOperation();
+            card.setOp(SyncOperation.Type.CREATE_CARD);
+            card.setClientId("card-" + i);
+            card.setDeckClientId("c1");
+            card.setFront("front " + i);
+            card.setBack("back " + i);
+            operations.add(card);
+        }
+        operations.add(deckOp(SyncOperation.Type.UPDATE_DECK, "c1", "Spanish A1"));
+
+        SyncPushResponse response = syncService.push(userId, operations);
+
+        assertThat(response.getResults()).extracting(SyncPushResponse.Result::getStatus)
+                .containsOnly(SyncPushResponse.Status.APPLIED);
+        Long deckId = response.getResults().get(0).getId();
+        Deck deck = deckRepository.findByIdAndUserId(deckId, userId).orElseThrow();
+        long maxCardSeq = cardRepository.findAll().stream()
+                .filter(card -> card.getUserId().equals(userId))
+                .mapToLong(card -> card.getChangeSeq())
+                .max().orElseThrow();
+        assertThat(deck.getName()).isEqualTo("Spanish A1");
+        assertThat(deck.getCardCount()).isEqualTo(5);
+        assertThat(deck.getChangeSeq()).isGreaterThan(maxCardSeq);
+
+        // A device that saw the rename can edit on top of it without a conflict
+        SyncOperation rename = deckOp(SyncOperation.Type.UPDATE_DECK, null, "Spanish A2");
+        rename.setId(deckId);
+        rename.setBaseSeq(deck.getChangeSeq());
+        assertThat(syncService.push(userId, List.of(rename)).getResults())
+                .extracting(SyncPushResponse.Result::getStatus)
+                .containsExactly(SyncPushResponse.Status.APPLIED);
+        assertThat(deckRepository.findByIdAndUserId(deckId, userId).orElseThrow().getCardCount()).isEqualTo(5);
+    }
+
+    private static SyncOperation deckOp(SyncOperation.Type type, String clientId, String name) {
+        SyncOperation op = new SyncOperation();
+        op.setOp(type);
+        op.setClientId(clientId);
+        op.setName(name);
+        return op;
+    }
+}
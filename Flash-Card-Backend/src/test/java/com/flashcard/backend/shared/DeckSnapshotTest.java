@@ -0,0 +1,30 @@
+package com.flashcard.backend.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeckSnapshotTest {
+
+    private final DeckSnapshot snapshot = new DeckSnapshot(1L, 3, List.of(
+            new SharedCard(10L, "a", "1"),
+            new SharedCard(20L, "b", "2"),
+            new SharedCard(35L, "c", "3")));
+
+    @Test
+    void after_pagesByIdFromAnyCursor() {
+        assertThat(snapshot.after(0, 2)).extracting(SharedCard::id).containsExactly(10L, 20L);
+        assertThat(snapshot.after(10, 5)).extracting(SharedCard::id).containsExactly(20L, 35L);
+        assertThat(snapshot.after(21, 5)).extracting(SharedCard::id).containsExactly(35L);
+        assertThat(snapshot.after(35, 5)).isEmpty();
+    }
+
+    @Test
+    void find_matchesExactIdsOnly() {
+        assertThat(snapshot.find(20)).map(SharedCard::front).contains("b");
+        assertThat(snapshot.find(21)).isEmpty();
+        assertThat(snapshot.find(99)).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.flashcard.backend.shared;
+
+import com.flashcard.backend.deck.Deck;
+import com.flashcard.backend.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SharedDeckCacheTest {
+
+    private static final Long OWNER = 7L;
+
+    private CardRepository cardRepository;
+    private SharedDeckCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository = mock(CardRepository.class);
+        cache = new SharedDeckCache(cardRepository, new SimpleMeterRegistry());
+        // Room for two of the 1,128-byte decks below, not three
+        ReflectionTestUtils.setField(cache, "maxBytes", 2500L);
+        ReflectionTestUtils.setField(cache, "maxDeckBytes", 2000L);
+        cache.init();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedDecksByEstimatedSize() {
+        Deck a = deck(1L, "a".repeat(500));
+        Deck b = deck(2L, "b".repeat(500));
+        Deck c = deck(3L, "c".repeat(500));
+
+        cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+        cache.get(a);
+        cache.get(b);
+
+        verify(cardRepository, times(1)).findSharedCards(OWNER, 1L);
+        verify(cardRepository, times(2)).findSharedCards(OWNER, 2L);
+        verify(cardRepository, times(1)).findSharedCards(OWNER, 3L);
+    }
+
+    @Test
+    void skipsDecksAboveThePerDeckLimitWithoutLoadingThem() {
+        Deck big = deck(4L, "x".repeat(1000));
+
+        assertThat(cache.get(big)).isEmpty();
+        assertThat(cache.get(big)).isEmpty();
+
+        verify(cardRepository, times(1)).sumTextLength(OWNER, 4L);
+        verify(cardRepository, never()).findSharedCards(any(), eq(4L));
+    }
+
+    @Test
+    void estimate_countsTwoBytesPerCharacterPlusCardOverhead() {
+        assertThat(SharedDeckCache.estimateBytes(List.of(new SharedCard(1L, "hola", "hello"))))
+                .isEqualTo(18 + SharedDeckCache.CARD_OVERHEAD_BYTES);
+    }
+
+    private Deck deck(Long id, String front) {
+        Deck deck = Deck.of(OWNER, "Deck " + id, null);
+        deck.setId(id);
+        deck.setCardCount(1);
+        deck.setContentVersion(1);
+        when(cardRepository.sumTextLength(OWNER, id)).thenReturn((long) front.length());
+        when(cardRepository.findSharedCards(OWNER, id)).thenReturn(List.of(new SharedCard(id * 10, front, "")));
+        return deck;
+    }
+}
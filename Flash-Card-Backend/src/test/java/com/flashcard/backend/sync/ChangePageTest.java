@@ -0,0 +1,65 @@
+package com.flashcard.backend.sync;
+
+import com.flashcard.backend.deck.Card;
+import com.flashcard.backend.deck.Deck;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangePageTest {
+
+    private static final Long USER = 7L;
+
+    @Test
+    void fullPage_keepsLowestSequencesAcrossSources() {
+        // Each source was read with limit + 1 = 4 rows
+        List<Deck> decks = List.of(deck(1), deck(9), deck(10), deck(11));
+        List<Card> cards = List.of(card(2), card(3), card(12), card(13));
+        List<Tombstone> tombstones = List.of(tombstone(4), tombstone(14), tombstone(15), tombstone(16));
+
+        ChangePage page = ChangePage.cut(decks, cards, tombstones, 0, 3);
+
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.cursor()).isEqualTo(3);
+        assertThat(page.decks()).extracting(Deck::getChangeSeq).containsExactly(1L);
+        assertThat(page.cards()).extracting(Card::getChangeSeq).containsExactly(2L, 3L);
+        assertThat(page.tombstones()).isEmpty();
+    }
+
+    @Test
+    void lastPage_advancesCursorToNewestChange() {
+        ChangePage page = ChangePage.cut(List.of(deck(21)), List.of(card(23)), List.of(tombstone(22)), 20, 5);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.cursor()).isEqualTo(23);
+        assertThat(page.decks()).hasSize(1);
+        assertThat(page.cards()).hasSize(1);
+        assertThat(page.tombstones()).hasSize(1);
+    }
+
+    @Test
+    void noChanges_keepsCursor() {
+        ChangePage page = ChangePage.cut(List.of(), List.of(), List.of(), 42, 5);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.cursor()).isEqualTo(42);
+    }
+
+    private static Deck deck(long seq) {
+        Deck deck = Deck.of(USER, "deck " + seq, null);
+        deck.setChangeSeq(seq);
+        return deck;
+    }
+
+    private static Card card(long seq) {
+        Card card = Card.of(USER, 1L, "front", "back");
+        card.setChangeSeq(seq);
+        return card;
+    }
+
+    private static Tombstone tombstone(long seq) {
+        return Tombstone.of(USER, Tombstone.CARD, seq, seq);
+    }
+}
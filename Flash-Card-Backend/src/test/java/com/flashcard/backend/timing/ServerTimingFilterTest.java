@@ -0,0 +1,76 @@
+package com.flashcard.backend.timing;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingFilterTest {
+
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ServerTimingFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(filter, "bufferBytes", 64);
+    }
+
+    @Test
+    void sampledRequest_getsBreakdownAfterTheBodyIsWritten() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, resp) -> {
+            for (int i = 0; i < 3; i++) {
+                RequestTiming.stop("db", RequestTiming.start());
+            }
+            long ser = RequestTiming.start();
+            resp.getOutputStream().write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+            resp.getOutputStream().flush();
+            RequestTiming.stop("ser", ser);
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/me"), response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+        assertThat(response.getHeader(ServerTimingResponse.HEADER))
+                .startsWith("db;dur=")
+                .contains(";desc=\"3x\"", "ser;dur=", "filter;dur=", "total;dur=");
+        assertThat(RequestTiming.start()).isZero();
+    }
+
+    @Test
+    void largeBody_commitsWithPartialTimingsAndIsWrittenIntact() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = new byte[1000];
+        FilterChain chain = (req, resp) -> {
+            RequestTiming.stop("supabase-download", RequestTiming.start());
+            resp.getOutputStream().write(body, 0, 10);
+            resp.getOutputStream().write(body, 10, 990);
+            RequestTiming.stop("late", RequestTiming.start());
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/profile/image/view"), response, chain);
+
+        assertThat(response.getContentAsByteArray()).hasSize(1000);
+        assertThat(response.getHeader(ServerTimingResponse.HEADER))
+                .contains("supabase-download;dur=")
+                .doesNotContain("late");
+    }
+
+    @Test
+    void unsampledRequest_isNotTimed() throws Exception {
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user/me"), response,
+                (req, resp) -> assertThat(RequestTiming.start()).isZero());
+
+        assertThat(response.getHeader(ServerTimingResponse.HEADER)).isNull();
+    }
+}